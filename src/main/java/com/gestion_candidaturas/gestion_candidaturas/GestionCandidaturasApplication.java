@@ -2,8 +2,10 @@ package com.gestion_candidaturas.gestion_candidaturas;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GestionCandidaturasApplication {
 
 	public static void main(String[] args) {
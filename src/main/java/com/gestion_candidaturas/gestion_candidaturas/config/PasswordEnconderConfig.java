@@ -1,11 +1,15 @@
 package com.gestion_candidaturas.gestion_candidaturas.config;
 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 /**
  * Configuración de codificador de contraseñas.
  * Separada para evitar dependencia circular.
@@ -13,14 +17,24 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordEnconderConfig {
 
+    // Identificador del algoritmo usado como prefijo de los nuevos hashes ("{bcrypt}...")
+    private static final String BCRYPT_ID = "bcrypt";
+
     /**
      * Proporciona un codificador de contraseñas para la aplicación.
-     * Utiliza BCrypt para una encriptación segura.
+     * Utiliza BCrypt con un coste configurable a través de un DelegatingPasswordEncoder, de modo que
+     * los hashes existentes sin prefijo siguen verificándose y se regeneran con el coste actual
+     * en el siguiente inicio de sesión correcto.
      *
+     * @param strength Coste (log2 de rondas) de BCrypt
      * @return Codificador de contraseñas
      */
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.bcrypt-strength:10}") int strength){
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        // Hashes heredados sin prefijo "{bcrypt}"
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
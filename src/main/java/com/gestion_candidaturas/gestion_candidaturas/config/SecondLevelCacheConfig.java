@@ -0,0 +1,94 @@
+package com.gestion_candidaturas.gestion_candidaturas.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.Reclutador;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración de la caché de segundo nivel de Hibernate para los datos de referencia que cambian poco:
+ * empresas, reclutadores y los reclutadores de cada empresa.
+ *
+ * Se usa JCache con Caffeine, en memoria del propio proceso. Cada región tiene un tamaño máximo y un tiempo
+ * de vida: la memoria queda acotada y un cambio hecho desde otro nodo se ve, como mucho, al expirar la entrada.
+ * Las regiones se crean aquí y Hibernate no arranca si falta alguna, en lugar de crearla sin límites.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Las marcas de tiempo de actualización son una por tabla: el límite solo evita un crecimiento anómalo
+    private static final long TIMESTAMPS_MAX_SIZE = 1_000;
+
+    /**
+     * Crea el gestor de cachés con las regiones de Hibernate y sus límites.
+     *
+     * @param empresasMaxSize Número máximo de empresas en caché
+     * @param empresasTtlSeconds Tiempo de vida de cada empresa en segundos
+     * @param reclutadoresMaxSize Número máximo de reclutadores en caché
+     * @param reclutadoresTtlSeconds Tiempo de vida de cada reclutador en segundos
+     * @param porEmpresaMaxSize Número máximo de listados de reclutadores por empresa en caché
+     * @param porEmpresaTtlSeconds Tiempo de vida de cada listado en segundos
+     * @return Gestor de cachés para Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.empresas.max-size:10000}") long empresasMaxSize,
+            @Value("${app.cache.empresas.ttl-seconds:600}") long empresasTtlSeconds,
+            @Value("${app.cache.reclutadores.max-size:50000}") long reclutadoresMaxSize,
+            @Value("${app.cache.reclutadores.ttl-seconds:600}") long reclutadoresTtlSeconds,
+            @Value("${app.cache.reclutadores-por-empresa.max-size:10000}") long porEmpresaMaxSize,
+            @Value("${app.cache.reclutadores-por-empresa.ttl-seconds:300}") long porEmpresaTtlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Un URI propio por contexto: dos contextos de Spring en la misma JVM (pruebas) no comparten regiones
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(Empresa.CACHE_REGION, region(empresasMaxSize, empresasTtlSeconds));
+        cacheManager.createCache(Reclutador.CACHE_REGION, region(reclutadoresMaxSize, reclutadoresTtlSeconds));
+        cacheManager.createCache(Reclutador.CACHE_REGION_POR_EMPRESA, region(porEmpresaMaxSize, porEmpresaTtlSeconds));
+        // Regiones por defecto de la caché de consultas. Las marcas de tiempo no expiran: si desaparecieran
+        // antes que los resultados que invalidan, se devolverían resultados obsoletos
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(porEmpresaMaxSize, porEmpresaTtlSeconds));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(TIMESTAMPS_MAX_SIZE, 0));
+        return cacheManager;
+    }
+
+    /**
+     * Indica a Hibernate el gestor de cachés que debe usar y que falle si una región no está configurada.
+     *
+     * @param hibernateCacheManager Gestor de cachés con las regiones creadas
+     * @return Personalizador de las propiedades de Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,63 @@
+package com.gestion_candidaturas.gestion_candidaturas.config;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.Reclutador;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Métricas de la caché de segundo nivel por región (aciertos, fallos, escrituras y tasa de aciertos),
+ * a partir de las estadísticas de Hibernate.
+ *
+ * @see SecondLevelCacheConfig
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Obtiene las métricas de cada región de la caché de segundo nivel.
+     *
+     * @return Mapa con las métricas por región
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        List<String> regiones = Arrays.asList(statistics.getSecondLevelCacheRegionNames());
+        for (String region : List.of(Empresa.CACHE_REGION, Reclutador.CACHE_REGION)) {
+            if (regiones.contains(region)) {
+                stats.put(region, region(statistics.getDomainDataRegionStatistics(region)));
+            }
+        }
+        // La región de una consulta se crea al ejecutarla por primera vez
+        stats.put(Reclutador.CACHE_REGION_POR_EMPRESA,
+                region(statistics.getQueryRegionStatistics(Reclutador.CACHE_REGION_POR_EMPRESA)));
+        return stats;
+    }
+
+    private static Map<String, Object> region(CacheRegionStatistics region) {
+        long hits = region != null ? region.getHitCount() : 0;
+        long misses = region != null ? region.getMissCount() : 0;
+        long total = hits + misses;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("puts", region != null ? region.getPutCount() : 0);
+        stats.put("hitRatio", total > 0 ? (double) hits / total : 0.0);
+        return stats;
+    }
+}
@@ -1,7 +1,10 @@
 package com.gestion_candidaturas.gestion_candidaturas.config;
 
 import com.gestion_candidaturas.gestion_candidaturas.security.JwtAuthenticationFilter;
+import com.gestion_candidaturas.gestion_candidaturas.security.RateLimitFilter;
+import com.gestion_candidaturas.gestion_candidaturas.security.ThrottledAuthenticationProvider;
 import com.gestion_candidaturas.gestion_candidaturas.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,14 +39,18 @@ public class SecurityConfig {
 
    // private final UserService userService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final PasswordEncoder passwordEncoder;
 
     /**
      * Constructor para inyección de dependencias.
      * @param jwtAuthenticationFilter Filtro de autenticación JWT
+     * @param rateLimitFilter Filtro de limitación de tasa por usuario o IP
      */
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, PasswordEncoder passwordEncoder){
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+                          PasswordEncoder passwordEncoder){
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -68,11 +75,13 @@ public class SecurityConfig {
                 // Configurar reglas de autorización
                 .authorizeHttpRequests(auth -> auth
                         // Endpoints públicos (no requieren sutenticación)
-                        .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                        .requestMatchers("/api/auth/login", "/api/auth/register", "/api/auth/refresh").permitAll()
                         // Todos los demas endpoints requieren autenticación
                         .anyRequest().authenticated())
                 // Agregar filtro de JWT antes del filtro de autenticación de usuario/contraseña
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Limitar la tasa una vez conocido el usuario, antes de llegar a los controladores
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .build();
     }
 
@@ -87,6 +96,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000")); // Origen del frontend
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Retry-After", "RateLimit-Limit", "RateLimit-Remaining",
+                "RateLimit-Reset", "RateLimit-Policy"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -96,15 +107,29 @@ public class SecurityConfig {
 
     /**
      * Configura el proveedor de autenticación.
+     * La verificación BCrypt se ejecuta en un ejecutor acotado para que una ráfaga de inicios de sesión
+     * no deje sin hilos al resto de endpoints. Tras un inicio de sesión correcto, los hashes con un
+     * coste inferior al configurado se regeneran automáticamente a través de UserService.
+     *
      * @param userService Servicio de usuarios inyectado como parámetro para evitar dependencia circular
+     * @param threads Hilos dedicados a verificar contraseñas (0 = número de procesadores)
+     * @param queueCapacity Verificaciones en espera antes de rechazar con 429
+     * @param timeoutMillis Tiempo máximo de espera de una verificación
      * @return Proveedor de autenticación configurado con el servicio de usuarios y el codificador de contraseñas
      */
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(UserService userService){
+    public ThrottledAuthenticationProvider authenticationProvider(
+            UserService userService,
+            @Value("${app.security.login.threads:0}") int threads,
+            @Value("${app.security.login.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.login.timeout-ms:5000}") long timeoutMillis){
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
+        authProvider.setUserDetailsPasswordService(userService);
         authProvider.setPasswordEncoder(passwordEncoder);
-        return authProvider;
+
+        int verifierThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThrottledAuthenticationProvider(authProvider, verifierThreads, queueCapacity, timeoutMillis);
     }
 
     /**
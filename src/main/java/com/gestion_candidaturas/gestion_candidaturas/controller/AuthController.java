@@ -1,11 +1,17 @@
 package com.gestion_candidaturas.gestion_candidaturas.controller;
 
 import com.gestion_candidaturas.gestion_candidaturas.dto.AuthRequest;
+import com.gestion_candidaturas.gestion_candidaturas.dto.RefreshRequest;
 import com.gestion_candidaturas.gestion_candidaturas.dto.RegisterRequest;
+import com.gestion_candidaturas.gestion_candidaturas.error.DuplicateResourceException;
 import com.gestion_candidaturas.gestion_candidaturas.model.User;
 import com.gestion_candidaturas.gestion_candidaturas.security.JwtUtil;
+import com.gestion_candidaturas.gestion_candidaturas.security.LoginThrottledException;
+import com.gestion_candidaturas.gestion_candidaturas.service.RefreshTokenService;
 import com.gestion_candidaturas.gestion_candidaturas.service.UserService;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -31,6 +37,7 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Constructor para inyección de dependencias.
@@ -38,13 +45,16 @@ public class AuthController {
      * @param authenticationManager Gestor de autenticación de Spring Security
      * @param userService Servicio para operaciones con usuarios
      * @param jwtUtil Utilidad para operaciones con JWT
+     * @param refreshTokenService Servicio para la emisión y rotación de refresh tokens
      */
     public AuthController(AuthenticationManager authenticationManager,
                           UserService userService,
-                          JwtUtil jwtUtil) {
+                          JwtUtil jwtUtil,
+                          RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -73,18 +83,26 @@ public class AuthController {
             // Obtener el usuario autenticado
             User user = userService.getUserByUsername(authRequest.getUsername());
 
-            // Generar token JWT
+            // Generar token JWT y refresh token
             String jwt = jwtUtil.generateToken(user);
+            String refreshToken = refreshTokenService.issue(user);
 
             // Contruir respuesta
             Map<String, Object> response = new HashMap<>();
             response.put("token", jwt);
+            response.put("refreshToken", refreshToken);
+            response.put("expiresIn", jwtUtil.getTokenValidity() / 1000);
             response.put("id", user.getId());
             response.put("username", user.getUsername());
             response.put("email", user.getEmail());
             response.put("role", user.getRole().name());
 
             return ResponseEntity.ok(response);
+        } catch (LoginThrottledException e) {
+            // Verificación de contraseñas saturada: rechazar rápido sin ocupar más CPU
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", "Demasiados inicios de sesión, inténtelo de nuevo más tarde"));
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Credenciales inválidas"));
@@ -92,6 +110,35 @@ public class AuthController {
         }
     }
 
+    /**
+     * Endpoint para renovar el token de acceso sin volver a enviar las credenciales.
+     * El refresh token se rota en cada uso: el anterior deja de ser válido y, si se reutiliza,
+     * se revoca toda la cadena de tokens derivada de ese inicio de sesión.
+     *
+     * @param refreshRequest Refresh token obtenido en el login o en la renovación anterior
+     * @return Nuevo token JWT y nuevo refresh token
+     *
+     * @see RF-10: Autenticación mediante JWT
+     * @see RNF-11: Uso de JWT para seguridad en la comunicación
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest refreshRequest) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+
+            // Construir respuesta
+            Map<String, Object> response = new HashMap<>();
+            response.put("token", jwtUtil.generateToken(rotation.user()));
+            response.put("refreshToken", rotation.refreshToken());
+            response.put("expiresIn", jwtUtil.getTokenValidity() / 1000);
+
+            return ResponseEntity.ok(response);
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Refresh token inválido o expirado"));
+        }
+    }
+
     /**
      * Endpoint para registrar un nuevo usuario.
      *
@@ -102,21 +149,7 @@ public class AuthController {
      */
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
-        // Verificar si el nombre de usuario ya existe
-        if (userService.existsByUsername(registerRequest.getUsername())) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", "El nombre de usuario ya está en uso"));
-                    //.body("Error: El nombre de usuario ya está en uso");
-        }
-
-        // Verificar si el email ya existe
-        if (userService.existsByEmail(registerRequest.getEmail())) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", "el email ya está en uso"));
-                    //.body("Error: El email ya está en uso");
-        }
-
-        // Registrar el nuevo usuario
+        // Registrar el nuevo usuario con un único INSERT; la unicidad la garantiza la BD
         try {
             User newUser = userService.register(
                     registerRequest.getUsername(),
@@ -132,6 +165,10 @@ public class AuthController {
             response.put("role", newUser.getRole().name());
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }catch (DuplicateResourceException e){
+            // El nombre de usuario o el email ya están en uso
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
         }catch (Exception e){
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error al registrar el usuario: " + e.getMessage());
@@ -148,8 +185,8 @@ public class AuthController {
     @GetMapping("/me")
     public ResponseEntity<?> getCurretUser() {
        try {
-           // Obtener el usuario actual
-           User currentUser = userService.getCurrentUser();
+           // Obtener el usuario actual con todos sus datos
+           User currentUser = userService.getCurrentUserProfile();
 
            // Construir respuesta
            Map<String, Object> response = new HashMap<>();
@@ -166,14 +203,32 @@ public class AuthController {
 
     /**
      * Endpoint para cerrar sesión.
-     * Invalida el token JWT limpiando el contexto de seguridad.
+     * Revoca el token JWT en el servidor hasta su expiración, revoca el refresh token si se envía
+     * y limpia el contexto de seguridad.
      *
+     * @param authorizationHeader Encabezado de autorización con el token a revocar
+     * @param refreshRequest Refresh token a revocar (opcional)
      * @return Mensaje de confirmación
      *
      * @see RF-10: Cierre de sesión seguro
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(){
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+                                    @RequestBody(required = false) RefreshRequest refreshRequest){
+        // Revocar el refresh token para que no pueda obtener nuevos tokens de acceso
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        }
+
+        // Revocar el token para que no pueda reutilizarse
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            try {
+                jwtUtil.revokeToken(authorizationHeader.substring(7));
+            } catch (JwtException e) {
+                // Un token inválido o ya revocado no necesita revocarse
+            }
+        }
+
         // Limpiar el contexto de seguridad
         SecurityContextHolder.clearContext();
 
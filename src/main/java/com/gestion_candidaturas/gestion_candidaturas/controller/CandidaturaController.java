@@ -1,20 +1,42 @@
 package com.gestion_candidaturas.gestion_candidaturas.controller;
 
+import com.gestion_candidaturas.gestion_candidaturas.dto.CambioEstadoMasivoDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CambioEstadoMasivoResultado;
 import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadisticasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaImportResultado;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
 import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
 import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
 import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
 import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaExportService;
+import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaImportService;
 import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaService;
 import com.gestion_candidaturas.gestion_candidaturas.service.EmpresaService;
+import com.gestion_candidaturas.gestion_candidaturas.service.FormatoExportacion;
 import com.gestion_candidaturas.gestion_candidaturas.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -35,51 +57,102 @@ public class CandidaturaController {
     private final CandidaturaService candidaturaService;
     private final UserService userService;
     private final EmpresaService empresaService;
+    private final CandidaturaExportService exportService;
+    private final CandidaturaImportService importService;
 
     /**
      * Constructor para inyección de dependencias.
      *
      * @param candidaturaService Servicio para operaciones con candidaturas
      * @param userService Servicio para operaciones con usuarios
+     * @param exportService Servicio de exportación de candidaturas
+     * @param importService Servicio de importación de candidaturas
      */
     public CandidaturaController(CandidaturaService candidaturaService, UserService userService
-    , EmpresaService empresaService) {
+    , EmpresaService empresaService, CandidaturaExportService exportService
+    , CandidaturaImportService importService) {
         this.candidaturaService = candidaturaService;
         this.userService = userService;
         this.empresaService = empresaService;
+        this.exportService = exportService;
+        this.importService = importService;
     }
 
     /**
-     * Obtiene todas las candidaturas del usuario autenticado.
+     * Obtiene las candidaturas del usuario autenticado, paginadas por cursor y ordenadas
+     * de la más reciente a la más antigua. Cada elemento es un resumen con los datos del listado.
+     * Con unpaged=true devuelve la lista completa de entidades, como antes de la paginación.
      *
-     * @return Lista de candidaturas del usuario
+     * @param cursor Cursor "next" devuelto por la página anterior (opcional)
+     * @param limit Tamaño de página (opcional, acotado al máximo configurado)
+     * @param unpaged Devuelve la lista completa sin paginar (compatibilidad con clientes existentes)
+     * @return Página de candidaturas del usuario, o la lista completa si unpaged=true
      *
      * @see RF-03: Visualización de candidaturas
      */
     @GetMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<Candidatura>> getCandidaturas() {
+    public ResponseEntity<?> getCandidaturas(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(defaultValue = "false") boolean unpaged) {
         // Obtener el usuario actual
         User currentUser = userService.getCurrentUser();
 
-        // Obtener candidaturas del usuario
-        List<Candidatura> candidaturas = candidaturaService.findByUserId(currentUser.getId());
-        return ResponseEntity.ok(candidaturas);
+        // Compatibilidad: lista completa sin paginar
+        if (unpaged) {
+            List<Candidatura> candidaturas = candidaturaService.findByUserId(currentUser.getId());
+            return ResponseEntity.ok(candidaturas);
+        }
+
+        // Obtener la página de candidaturas del usuario
+        CursorPage<CandidaturaResumen> page = candidaturaService.findPageByUserId(currentUser.getId(), cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     /**
-     * Obtiene todas las candidaturas del sistema (solo administradores).
+     * Obtiene las candidaturas de todos los usuarios (solo administradores), filtradas, paginadas por cursor
+     * y ordenadas de la más reciente a la más antigua.
+     * Con stream=true devuelve un array JSON con todas las candidaturas del filtro, escrito elemento a
+     * elemento a medida que se leen de la base de datos, de modo que la memoria usada no depende del
+     * número de candidaturas.
      *
-     * @return Lista completa de candidaturas
+     * @param estado Estado de la candidatura (opcional)
+     * @param empresa Nombre de la empresa (opcional)
+     * @param fechaDesde Fecha inicial para filtrar (opcional)
+     * @param fechaHasta Fecha final para filtrar (opcional)
+     * @param q Texto de búsqueda general en cargo o notas (opcional)
+     * @param userId Usuario propietario (opcional)
+     * @param cursor Cursor "next" devuelto por la página anterior (opcional)
+     * @param limit Tamaño de página (opcional, acotado al máximo configurado)
+     * @param stream Devuelve todas las candidaturas del filtro como un array JSON en streaming
+     * @return Página de candidaturas, o el array completo en streaming si stream=true
      *
      * @see RF-03: Visualización de candidaturas (administradores)
      * @see RF-11: Control de acceso basado en roles
      */
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'ROOT')")
-    public ResponseEntity<List<Candidatura>> getAllCandidaturas() {
-        List<Candidatura> candidaturas = candidaturaService.findAll();
-        return ResponseEntity.ok(candidaturas);
+    public ResponseEntity<?> getAllCandidaturas(
+            @RequestParam(required = false) EstadoCandidatura estado,
+            @RequestParam(required = false) String empresa,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date fechaDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date fechaHasta,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean stream) {
+        FiltroCandidaturasDTO filtro = new FiltroCandidaturasDTO(estado, empresa, fechaDesde, fechaHasta, q, userId);
+
+        if (stream) {
+            StreamingResponseBody body = out -> exportService.exportarTodas(filtro, FormatoExportacion.JSON, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
+
+        CursorPage<CandidaturaExportRow> page = candidaturaService.findPage(filtro, cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     /**
@@ -96,23 +169,105 @@ public class CandidaturaController {
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ROOT')")
     public ResponseEntity<Candidatura> getCandidaturaById(@PathVariable UUID id) {
-        // Buscar la candidatura
-        Optional<Candidatura> candidatura = candidaturaService.findById(id);
+        // Obtener el usuario actual
+        User currentUser = userService.getCurrentUser();
+        boolean admin = esAdmin(currentUser);
 
-        if (candidatura.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+        // Buscar la candidatura con la condición de propietario, salvo para administradores
+        Optional<Candidatura> candidatura = admin
+                ? candidaturaService.findById(id)
+                : candidaturaService.findByIdAndUserId(id, currentUser.getId());
 
-        // Obtener el usuario actual
+        return candidatura.map(ResponseEntity::ok).orElseGet(() -> sinAcceso(id, admin));
+    }
+
+    /**
+     * Obtiene las estadísticas de las candidaturas del usuario autenticado para el panel:
+     * número de candidaturas por estado, por mes y por empresa.
+     *
+     * @return Estadísticas del usuario
+     *
+     * @see RF-03: Visualización de candidaturas
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CandidaturaEstadisticasDTO> getEstadisticas() {
         User currentUser = userService.getCurrentUser();
+        return ResponseEntity.ok(candidaturaService.getEstadisticas(currentUser.getId()));
+    }
 
-        // Verificar permisos de acceso
-        if (candidatura.get().getUser().getId().equals(currentUser.getId()) ||
-                currentUser.hasRole("ADMIN") || currentUser.hasRole("ROOT")) {
-            return ResponseEntity.ok(candidatura.get());
-        } else {
+    /**
+     * Exporta todas las candidaturas del usuario autenticado como descarga (NDJSON o CSV).
+     * Las filas se escriben en la respuesta a medida que se leen de la base de datos, en un hilo
+     * asíncrono, sin cargar el listado completo en memoria.
+     *
+     * @param format Formato de salida: ndjson (por defecto), json o csv
+     * @return Cuerpo de la descarga, o 400 si el formato no es válido
+     *
+     * @see RF-03: Visualización de candidaturas
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<StreamingResponseBody> exportCandidaturas(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        Optional<FormatoExportacion> formato = FormatoExportacion.from(format);
+        if (formato.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // El usuario se resuelve aquí: el cuerpo se escribe fuera del hilo de la petición
+        UUID userId = userService.getCurrentUser().getId();
+        return descarga(formato.get(), "candidaturas",
+                out -> exportService.exportarDeUsuario(userId, formato.get(), out));
+    }
+
+    /**
+     * Exporta las candidaturas de todos los usuarios (solo administradores).
+     *
+     * @param format Formato de salida: ndjson (por defecto), json o csv
+     * @return Cuerpo de la descarga, o 400 si el formato no es válido
+     *
+     * @see RF-03: Visualización de candidaturas (administradores)
+     * @see RF-11: Control de acceso basado en roles
+     */
+    @GetMapping("/export/all")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ROOT')")
+    public ResponseEntity<StreamingResponseBody> exportAllCandidaturas(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        Optional<FormatoExportacion> formato = FormatoExportacion.from(format);
+        if (formato.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        FiltroCandidaturasDTO todas = new FiltroCandidaturasDTO(null, null, null, null, null, null);
+        return descarga(formato.get(), "candidaturas-todas",
+                out -> exportService.exportarTodas(todas, formato.get(), out));
+    }
+
+    private static boolean esAdmin(User user) {
+        return user.hasRole("ADMIN") || user.hasRole("ROOT");
+    }
+
+    /**
+     * Respuesta cuando una operación con la condición de propietario no ha encontrado la candidatura.
+     * Solo entonces se consulta su existencia (por clave primaria, sin cargarla) para distinguir entre
+     * ajena (403) e inexistente (404).
+     */
+    private <T> ResponseEntity<T> sinAcceso(UUID id, boolean admin) {
+        if (!admin && candidaturaService.existsById(id)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+        return ResponseEntity.notFound().build();
+    }
+
+    private static ResponseEntity<StreamingResponseBody> descarga(FormatoExportacion formato, String nombre,
+                                                                  StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(nombre + "." + formato.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
     }
 
     /**
@@ -149,6 +304,37 @@ public class CandidaturaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(nuevaCandidatura);
     }
 
+    /**
+     * Importa candidaturas del usuario autenticado desde un CSV con cabecera (text/csv) o un array
+     * JSON (application/json). El cuerpo se lee a medida que se insertan las filas, por lotes.
+     * Las filas con errores se omiten y se informan en la respuesta.
+     *
+     * @param contentTypeHeader Tipo de contenido del cuerpo
+     * @param body Contenido a importar
+     * @return Resultado de la importación
+     * @throws IOException si falla la lectura del cuerpo
+     *
+     * @see RF-01: Registro de candidaturas
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CandidaturaImportResultado> importCandidaturas(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentTypeHeader,
+            InputStream body) throws IOException {
+        User currentUser = userService.getCurrentUser();
+        MediaType contentType = MediaType.parseMediaType(contentTypeHeader);
+
+        CandidaturaImportResultado resultado;
+        if (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            resultado = importService.importarJson(currentUser.getId(), body);
+        } else {
+            Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+            resultado = importService.importarCsv(currentUser.getId(),
+                    new BufferedReader(new InputStreamReader(body, charset)));
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
     /**
      * Actualiza una candidatura existente.
      * Los usuarios normales solo pueden actualizar sus propias candidaturas.
@@ -165,77 +351,105 @@ public class CandidaturaController {
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ROOT')")
     public ResponseEntity<Candidatura> updateCandidatura(@PathVariable UUID id,
                                                          @Valid @RequestBody CandidaturaDTO candidaturaDTO) {
-        // Buscar la candidatura existente
-        Optional<Candidatura> candidaturaExistente = candidaturaService.findById(id);
+        // Obtener el usuario actual
+        User currentUser = userService.getCurrentUser();
+        boolean admin = esAdmin(currentUser);
+
+        // Buscar la candidatura existente con la condición de propietario, salvo para administradores
+        Optional<Candidatura> candidaturaExistente = admin
+                ? candidaturaService.findById(id)
+                : candidaturaService.findByIdAndUserId(id, currentUser.getId());
 
         if (candidaturaExistente.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            return sinAcceso(id, admin);
         }
 
-        // Obtener el usuario actual
-        User currentUser = userService.getCurrentUser();
-
-        // Verificar permisos de modificación
-        if (candidaturaExistente.get().getUser().getId().equals(currentUser.getId()) ||
-                currentUser.hasRole("ADMIN") || currentUser.hasRole("ROOT")) {
-
-            // Buscar la empresa por ID
-            Optional<Empresa> empresaOpt = empresaService.findById(candidaturaDTO.getEmpresaId());
-            if(empresaOpt.isEmpty()){
-                return ResponseEntity.badRequest().build();
-            }
-
-            // Actualizar la candidatura existente con los datos del DTO
-            Candidatura candidatura = candidaturaExistente.get();
-            candidatura.setEmpresa(empresaOpt.get());
-            candidatura.setCargo(candidaturaDTO.getCargo());
-            candidatura.setFecha(candidaturaDTO.getFecha());
-            candidatura.setEstado(candidaturaDTO.getEstado());
-            candidatura.setNotas(candidaturaDTO.getNotas());
-
-            // Guardar cambios
-            Candidatura candidaturaActualizada = candidaturaService.save(candidatura);
-            return ResponseEntity.ok(candidaturaActualizada);
-        } else {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        // Buscar la empresa por ID
+        Optional<Empresa> empresaOpt = empresaService.findById(candidaturaDTO.getEmpresaId());
+        if(empresaOpt.isEmpty()){
+            return ResponseEntity.badRequest().build();
         }
+
+        // Actualizar la candidatura existente con los datos del DTO
+        Candidatura candidatura = candidaturaExistente.get();
+        candidatura.setEmpresa(empresaOpt.get());
+        candidatura.setCargo(candidaturaDTO.getCargo());
+        candidatura.setFecha(candidaturaDTO.getFecha());
+        candidatura.setEstado(candidaturaDTO.getEstado());
+        candidatura.setNotas(candidaturaDTO.getNotas());
+
+        // Guardar cambios
+        Candidatura candidaturaActualizada = candidaturaService.save(candidatura);
+        return ResponseEntity.ok(candidaturaActualizada);
     }
 
     /**
      * Actualiza solo el estado de una candidatura existente.
-     * Es una operación parcial (PATCH) que modifica únicamente el campo estado.
+     * Es una operación parcial (PATCH) que modifica únicamente el campo estado con un UPDATE que incluye
+     * la condición de propietario, sin cargar la candidatura ni sus relaciones.
      *
      * @param id ID de la candidatura
      * @param estado Nuevo estado a asignar
-     * @return La candidatura con el estado actualizado, 404 si no existe, 403 si no tiene permisos
+     * @return El ID y el nuevo estado, 404 si no existe, 403 si no tiene permisos
      *
      * @see RF-02: Actualización del estado de candidaturas
      * @see RF-11: Control de acceso basado en roles
      */
     @PatchMapping("/{id}/estado")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ROOT')")
-    public ResponseEntity<Candidatura> updateEstado(@PathVariable UUID id,
-                                                    @RequestParam EstadoCandidatura estado) {
-        // Buscar la candidatura existente
-        Optional<Candidatura> candidaturaExistente = candidaturaService.findById(id);
+    public ResponseEntity<CandidaturaEstadoDTO> updateEstado(@PathVariable UUID id,
+                                                             @RequestParam EstadoCandidatura estado) {
+        // Obtener el usuario actual
+        User currentUser = userService.getCurrentUser();
+        boolean admin = esAdmin(currentUser);
 
-        if (candidaturaExistente.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        // Los administradores pueden modificar cualquier candidatura; el resto, solo las suyas
+        Optional<CandidaturaEstadoDTO> actualizada =
+                candidaturaService.updateEstado(id, admin ? null : currentUser.getId(), estado);
+        return actualizada.map(ResponseEntity::ok).orElseGet(() -> sinAcceso(id, admin));
+    }
+
+    /**
+     * Cambia el estado de varias candidaturas del usuario autenticado, indicadas por ID o por filtro,
+     * con una sola sentencia UPDATE que incluye la condición de propietario.
+     * Los IDs de candidaturas de otros usuarios se ignoran.
+     *
+     * @param cambio Nuevo estado e IDs o filtro (exactamente uno de los dos)
+     * @return IDs de las candidaturas que han cambiado de estado, o 400 si la solicitud no es válida
+     *
+     * @see RF-02: Actualización del estado de candidaturas
+     */
+    @PatchMapping("/estado")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CambioEstadoMasivoResultado> updateEstadoMasivo(@Valid @RequestBody CambioEstadoMasivoDTO cambio) {
+        if (!cambio.tieneUnCriterio()) {
+            return ResponseEntity.badRequest().build();
         }
 
-        // Obtener el usuario actual
         User currentUser = userService.getCurrentUser();
+        List<UUID> actualizadas = candidaturaService.updateEstadoMasivo(currentUser.getId(), cambio);
+        return ResponseEntity.ok(new CambioEstadoMasivoResultado(cambio.estado(), actualizadas));
+    }
 
-        // Verificar permisos de modificación
-        if (candidaturaExistente.get().getUser().getId().equals(currentUser.getId()) ||
-                currentUser.hasRole("ADMIN") || currentUser.hasRole("ROOT")) {
-
-            // Actualizar solo el estado
-            Candidatura candidaturaActualizada = candidaturaService.updateEstado(id, estado);
-            return ResponseEntity.ok(candidaturaActualizada);
-        } else {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    /**
+     * Cambia el estado de varias candidaturas de cualquier usuario, indicadas por ID o por filtro
+     * (solo administradores). El filtro admite además el usuario propietario.
+     *
+     * @param cambio Nuevo estado e IDs o filtro (exactamente uno de los dos)
+     * @return IDs de las candidaturas que han cambiado de estado, o 400 si la solicitud no es válida
+     *
+     * @see RF-02: Actualización del estado de candidaturas
+     * @see RF-11: Control de acceso basado en roles
+     */
+    @PatchMapping("/admin/estado")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ROOT')")
+    public ResponseEntity<CambioEstadoMasivoResultado> updateEstadoMasivoAdmin(@Valid @RequestBody CambioEstadoMasivoDTO cambio) {
+        if (!cambio.tieneUnCriterio()) {
+            return ResponseEntity.badRequest().build();
         }
+
+        List<UUID> actualizadas = candidaturaService.updateEstadoMasivoAdmin(cambio);
+        return ResponseEntity.ok(new CambioEstadoMasivoResultado(cambio.estado(), actualizadas));
     }
 
     /**
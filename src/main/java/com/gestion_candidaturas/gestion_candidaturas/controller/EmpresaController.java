@@ -1,6 +1,8 @@
 package com.gestion_candidaturas.gestion_candidaturas.controller;
 
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
 import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaSugerencia;
 import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaWithUsersDTO;
 import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
 import com.gestion_candidaturas.gestion_candidaturas.service.EmpresaService;
@@ -58,17 +60,25 @@ public class EmpresaController {
      * Endpoint especializado para administradores que necesitan ver todas las empresas
      * junto con información de los usuarios que tienen candidaturas asociadas a ellas.
      * Proporciona una visión completa de qué usuarios están aplicando a qué empresas.
+     * Las empresas se devuelven paginadas por cursor y ordenadas por ID.
      *
-     * @return Lista de empresas con información de usuarios asociados
+     * @param cursor Cursor "next" devuelto por la página anterior (opcional)
+     * @param limit Tamaño de página (opcional, acotado al máximo configurado)
+     * @param minUsers Número mínimo de usuarios distintos con candidaturas en la empresa (opcional)
+     * @return Página de empresas con información de usuarios asociados
      *
      * @see RF-08: Gestión de empresas (extensión para administradores)
      * @see RF-11: Control de acceso basado en roles (ADMIN y ROOT tienen acceso a información extendida)
      */
     @GetMapping("/with-users")
     @PreAuthorize("hasAnyRole('ADMIN', 'ROOT')")
-    public ResponseEntity<List<EmpresaWithUsersDTO>> getAllEmpresasWithUsers() {
-        // Obtenemos todas las empresas con información de usuarios asociados
-        List<EmpresaWithUsersDTO> empresasWithUsers = empresaService.findAllWithAssociatedUsers();
+    public ResponseEntity<CursorPage<EmpresaWithUsersDTO>> getAllEmpresasWithUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minUsers) {
+        // Obtenemos una página de empresas con información de usuarios asociados
+        CursorPage<EmpresaWithUsersDTO> empresasWithUsers =
+                empresaService.findPageWithAssociatedUsers(cursor, limit, minUsers);
         return ResponseEntity.ok(empresasWithUsers);
     }
 
@@ -208,4 +218,21 @@ public class EmpresaController {
         List<Empresa> empresas = empresaService.findByNombreContaining(nombre);
         return ResponseEntity.ok(empresas);
     }
+
+    /**
+     * Sugiere empresas mientras se escribe en el selector de empresas.
+     * Tolera acentos, mayúsculas y erratas, y se resuelve en memoria sin consultar la base de datos.
+     *
+     * @param q Texto escrito por el usuario
+     * @param limit Número máximo de sugerencias (opcional)
+     * @return Empresas sugeridas, de mejor a peor coincidencia y, a igual coincidencia, las más usadas primero
+     *
+     * @see RF-08: Búsqueda de empresas
+     */
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ROOT')")
+    public ResponseEntity<List<EmpresaSugerencia>> sugerir(@RequestParam String q,
+                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(empresaService.sugerir(q, limit));
+    }
 }
@@ -0,0 +1,67 @@
+package com.gestion_candidaturas.gestion_candidaturas.controller;
+
+import com.gestion_candidaturas.gestion_candidaturas.config.SecondLevelCacheStats;
+import com.gestion_candidaturas.gestion_candidaturas.security.RateLimitFilter;
+import com.gestion_candidaturas.gestion_candidaturas.security.ThrottledAuthenticationProvider;
+import com.gestion_candidaturas.gestion_candidaturas.security.TokenDenylist;
+import com.gestion_candidaturas.gestion_candidaturas.security.UserPrincipalCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controlador REST que expone métricas internas de la aplicación (solo administradores).
+ *
+ * @see RF-11: Control de acceso basado en roles
+ */
+@RestController
+@RequestMapping("/api/admin/metrics")
+public class MetricsController {
+
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenDenylist tokenDenylist;
+    private final ThrottledAuthenticationProvider authenticationProvider;
+    private final RateLimitFilter rateLimitFilter;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param userPrincipalCache Caché de usuarios autenticados
+     * @param tokenDenylist Lista de tokens revocados
+     * @param authenticationProvider Proveedor de autenticación con ejecutor acotado
+     * @param rateLimitFilter Filtro de limitación de tasa
+     * @param secondLevelCacheStats Métricas de la caché de segundo nivel de Hibernate
+     */
+    public MetricsController(UserPrincipalCache userPrincipalCache, TokenDenylist tokenDenylist,
+                             ThrottledAuthenticationProvider authenticationProvider,
+                             RateLimitFilter rateLimitFilter, SecondLevelCacheStats secondLevelCacheStats) {
+        this.userPrincipalCache = userPrincipalCache;
+        this.tokenDenylist = tokenDenylist;
+        this.authenticationProvider = authenticationProvider;
+        this.rateLimitFilter = rateLimitFilter;
+        this.secondLevelCacheStats = secondLevelCacheStats;
+    }
+
+    /**
+     * Obtiene las métricas de las cachés y contadores internos.
+     *
+     * @return Mapa con las métricas agrupadas por componente
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'ROOT')")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("userCache", userPrincipalCache.getStats());
+        metrics.put("tokenDenylist", tokenDenylist.getStats());
+        metrics.put("login", authenticationProvider.getStats());
+        metrics.put("rateLimit", rateLimitFilter.getStats());
+        metrics.put("secondLevelCache", secondLevelCacheStats.getStats());
+        return ResponseEntity.ok(metrics);
+    }
+}
@@ -90,8 +90,8 @@ public class PreguntaController {
         // Obtener el usuario actual
         User currentUser = userService.getCurrentUser();
 
-        // Buscar la candidatura por ID
-        Optional<Candidatura> candidaturaOpt = candidaturaService.findById(preguntaDTO.getCandidaturaId());
+        // Buscar la candidatura por ID (entre las del usuario, salvo para administradores)
+        Optional<Candidatura> candidaturaOpt = buscarCandidatura(preguntaDTO.getCandidaturaId(), currentUser);
         if (candidaturaOpt.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
@@ -123,41 +123,33 @@ public class PreguntaController {
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ROOT')")
     public ResponseEntity<Pregunta> updatePregunta(@PathVariable UUID id,
                                                    @Valid @RequestBody PreguntaDTO preguntaDTO) {
-        // Buscar la pregunta existente
-        Optional<Pregunta> preguntaExistente = preguntaService.findById(id);
+        // Obtener el usuario actual
+        User currentUser = userService.getCurrentUser();
+        boolean admin = esAdmin(currentUser);
+
+        // Buscar la pregunta existente con la condición de propietario, salvo para administradores
+        Optional<Pregunta> preguntaExistente = admin
+                ? preguntaService.findById(id)
+                : preguntaService.findByIdAndUserId(id, currentUser.getId());
 
         if (preguntaExistente.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            return sinAcceso(id, admin);
         }
 
-        // Obtener el usuario actual
-        User currentUser = userService.getCurrentUser();
-
-        // Verificar permisos de modificación
-        if (preguntaExistente.get().getUsuario().getId().equals(currentUser.getId()) ||
-                currentUser.hasRole("ADMIN") || currentUser.hasRole("ROOT")) {
-
-            // Buscar la candidatura por ID
-            Optional<Candidatura> candidaturaOpt = candidaturaService.findById(preguntaDTO.getCandidaturaId());
-            if (candidaturaOpt.isEmpty()) {
-                return ResponseEntity.badRequest().build();
-            }
-
-            // Actualizar la pregunta
-            Pregunta pregunta = preguntaExistente.get();
-            pregunta.setPregunta(preguntaDTO.getPregunta());
-            pregunta.setCandidatura(candidaturaOpt.get());
-
-            // Preservar la información que no debería cambiar
-            pregunta.setId(id);
-            pregunta.setUsuario(preguntaExistente.get().getUsuario());
-
-            // Guardar cambios
-            Pregunta preguntaActualizada = preguntaService.save(pregunta);
-            return ResponseEntity.ok(preguntaActualizada);
-        } else {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        // Buscar la candidatura por ID (entre las del usuario, salvo para administradores)
+        Optional<Candidatura> candidaturaOpt = buscarCandidatura(preguntaDTO.getCandidaturaId(), currentUser);
+        if (candidaturaOpt.isEmpty()) {
+            return ResponseEntity.badRequest().build();
         }
+
+        // Actualizar la pregunta; el usuario y el ID no cambian
+        Pregunta pregunta = preguntaExistente.get();
+        pregunta.setPregunta(preguntaDTO.getPregunta());
+        pregunta.setCandidatura(candidaturaOpt.get());
+
+        // Guardar cambios
+        Pregunta preguntaActualizada = preguntaService.save(pregunta);
+        return ResponseEntity.ok(preguntaActualizada);
     }
 
     /**
@@ -174,25 +166,35 @@ public class PreguntaController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ROOT')")
     public ResponseEntity<Void> deletePregunta(@PathVariable UUID id) {
-        // Buscar la pregunta existente
-        Optional<Pregunta> preguntaExistente = preguntaService.findById(id);
+        // Obtener el usuario actual
+        User currentUser = userService.getCurrentUser();
+        boolean admin = esAdmin(currentUser);
 
-        if (preguntaExistente.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        // Un único DELETE con la condición de propietario, salvo para administradores
+        if (preguntaService.deleteById(id, admin ? null : currentUser.getId())) {
+            return ResponseEntity.noContent().build();
         }
+        return sinAcceso(id, admin);
+    }
 
-        // Obtener el usuario actual
-        User currentUser = userService.getCurrentUser();
+    private static boolean esAdmin(User user) {
+        return user.hasRole("ADMIN") || user.hasRole("ROOT");
+    }
 
-        // Verificar permisos de eliminación
-        if (preguntaExistente.get().getUsuario().getId().equals(currentUser.getId()) ||
-                currentUser.hasRole("ADMIN") || currentUser.hasRole("ROOT")) {
+    private Optional<Candidatura> buscarCandidatura(UUID candidaturaId, User user) {
+        return esAdmin(user)
+                ? candidaturaService.findById(candidaturaId)
+                : candidaturaService.findByIdAndUserId(candidaturaId, user.getId());
+    }
 
-            // Eliminar la pregunta
-            preguntaService.deleteById(id);
-            return ResponseEntity.noContent().build();
-        } else {
+    /**
+     * Respuesta cuando una operación con la condición de propietario no ha encontrado la pregunta:
+     * 403 si existe pero es de otro usuario, 404 si no existe.
+     */
+    private <T> ResponseEntity<T> sinAcceso(UUID id, boolean admin) {
+        if (!admin && preguntaService.existsById(id)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+        return ResponseEntity.notFound().build();
     }
 }
@@ -4,6 +4,7 @@ package com.gestion_candidaturas.gestion_candidaturas.controller;
 import com.gestion_candidaturas.gestion_candidaturas.dto.ReclutadorDTO;
 import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
 import com.gestion_candidaturas.gestion_candidaturas.model.Reclutador;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
 import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaService;
 import com.gestion_candidaturas.gestion_candidaturas.service.EmpresaService;
 import com.gestion_candidaturas.gestion_candidaturas.service.ReclutadorService;
@@ -265,7 +266,7 @@ public class ReclutadorController {
      *
      * @param reclutadorId ID del reclutador
      * @param candidaturaId ID de la candidatura
-     * @return 200 si se asoció correctamente, 404 si alguna entidad no existe
+     * @return 200 si se asoció correctamente, 404 si alguna entidad no existe, 403 si la candidatura es de otro usuario
      *
      * @see RF-05: Relacionar reclutadores con candidaturas
      */
@@ -273,6 +274,9 @@ public class ReclutadorController {
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ROOT')")
     public ResponseEntity<Void> asociarACandidatura(@PathVariable UUID reclutadorId,
                                                     @PathVariable UUID candidaturaId) {
+        if (!puedeModificarCandidatura(candidaturaId)) {
+            return sinAcceso(candidaturaId);
+        }
         boolean asociado = reclutadorService.asociarACandidatura(reclutadorId, candidaturaId);
         return asociado ? ResponseEntity.ok().build() :
                 ResponseEntity.notFound().build();
@@ -283,7 +287,8 @@ public class ReclutadorController {
      *
      * @param reclutadorId ID del reclutador
      * @param candidaturaId ID de la candidatura
-     * @return 200 si se desasoció correctamente, 404 si alguna entidad no existe
+     * @return 200 si se desasoció correctamente, 404 si alguna entidad no existe, 403 si la candidatura es de
+     * otro usuario
      *
      * @see RF-05: Desasociar reclutadores de candidaturas
      */
@@ -291,8 +296,31 @@ public class ReclutadorController {
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ROOT')")
     public ResponseEntity<Void> desasociarDeCandidatura(@PathVariable UUID reclutadorId,
                                                         @PathVariable UUID candidaturaId) {
+        if (!puedeModificarCandidatura(candidaturaId)) {
+            return sinAcceso(candidaturaId);
+        }
         boolean desasociado = reclutadorService.desasociarDeCandidatura(reclutadorId, candidaturaId);
         return desasociado ? ResponseEntity.ok().build() :
                 ResponseEntity.notFound().build();
     }
+
+    /**
+     * Los administradores pueden modificar cualquier candidatura; el resto, solo las suyas.
+     * La propiedad se comprueba con una consulta de existencia, sin cargar la candidatura.
+     */
+    private boolean puedeModificarCandidatura(UUID candidaturaId) {
+        User currentUser = userService.getCurrentUser();
+        return currentUser.hasRole("ADMIN") || currentUser.hasRole("ROOT")
+                || candidaturaService.isOwner(candidaturaId, currentUser.getId());
+    }
+
+    /**
+     * Respuesta cuando la candidatura no es del usuario: 403 si existe y es ajena, 404 si no existe.
+     */
+    private ResponseEntity<Void> sinAcceso(UUID candidaturaId) {
+        if (candidaturaService.existsById(candidaturaId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.notFound().build();
+    }
 }
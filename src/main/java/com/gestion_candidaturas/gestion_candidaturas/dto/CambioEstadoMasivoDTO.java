@@ -0,0 +1,31 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Solicitud de cambio de estado de varias candidaturas, indicadas por ID o por filtro (uno de los dos).
+ *
+ * @param estado Nuevo estado
+ * @param ids IDs de las candidaturas
+ * @param filtro Filtro de las candidaturas
+ *
+ * @see RF-02: Permitir actualizar el estado de una candidatura
+ */
+public record CambioEstadoMasivoDTO(
+        @NotNull(message = "El estado es obligatorio")
+        EstadoCandidatura estado,
+        List<UUID> ids,
+        FiltroCandidaturasDTO filtro
+) {
+
+    /**
+     * @return true si se indica exactamente uno de los dos criterios (IDs o filtro)
+     */
+    public boolean tieneUnCriterio() {
+        return (ids != null) != (filtro != null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de un cambio de estado masivo.
+ *
+ * @param estado Estado aplicado
+ * @param actualizadas IDs de las candidaturas que han cambiado de estado (las que ya lo tenían no se incluyen)
+ *
+ * @see RF-02: Permitir actualizar el estado de una candidatura
+ */
+public record CambioEstadoMasivoResultado(EstadoCandidatura estado, List<UUID> actualizadas) {
+}
@@ -0,0 +1,35 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Estadísticas de las candidaturas de un usuario para el panel.
+ *
+ * @param total Número total de candidaturas
+ * @param porEstado Candidaturas por estado (todos los estados, incluidos los que no tienen candidaturas)
+ * @param porMes Candidaturas por mes de aplicación (yyyy-MM), en orden cronológico
+ * @param porEmpresa Candidaturas por empresa, de mayor a menor
+ *
+ * @see RF-03: Visualización de candidaturas
+ */
+public record CandidaturaEstadisticasDTO(
+        long total,
+        Map<EstadoCandidatura, Long> porEstado,
+        Map<String, Long> porMes,
+        List<PorEmpresa> porEmpresa
+) {
+
+    /**
+     * Número de candidaturas en una empresa.
+     *
+     * @param empresaId ID de la empresa
+     * @param empresaNombre Nombre de la empresa
+     * @param total Número de candidaturas
+     */
+    public record PorEmpresa(UUID empresaId, String empresaNombre, long total) {
+    }
+}
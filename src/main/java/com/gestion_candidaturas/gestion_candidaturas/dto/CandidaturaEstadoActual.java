@@ -0,0 +1,17 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.UUID;
+
+/**
+ * Estado de una candidatura antes de un cambio de estado, leído sin cargar la entidad.
+ *
+ * @param id ID de la candidatura
+ * @param userId ID del usuario propietario
+ * @param estado Estado actual (puede ser null)
+ *
+ * @see RF-02: Permitir actualizar el estado de una candidatura
+ */
+public record CandidaturaEstadoActual(UUID id, UUID userId, EstadoCandidatura estado) {
+}
@@ -0,0 +1,16 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.UUID;
+
+/**
+ * Estado de una candidatura tras cambiarlo.
+ *
+ * @param id ID de la candidatura
+ * @param estado Estado actual
+ *
+ * @see RF-02: Permitir actualizar el estado de una candidatura
+ */
+public record CandidaturaEstadoDTO(UUID id, EstadoCandidatura estado) {
+}
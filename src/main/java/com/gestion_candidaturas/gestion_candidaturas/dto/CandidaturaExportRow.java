@@ -0,0 +1,34 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Fila de la exportación de candidaturas y del listado de administradores.
+ * Se construye directamente en la consulta, de modo que ni la exportación ni el listado cargan entidades
+ * gestionadas y el contexto de persistencia no crece con el número de filas.
+ *
+ * @param id ID de la candidatura
+ * @param usuario Nombre del usuario propietario
+ * @param cargo Puesto o cargo al que se aplica
+ * @param fecha Fecha de aplicación
+ * @param estado Estado actual de la candidatura
+ * @param empresaId ID de la empresa
+ * @param empresa Nombre de la empresa
+ * @param notas Notas de la candidatura
+ *
+ * @see RF-03: Visualización de candidaturas
+ */
+public record CandidaturaExportRow(
+        UUID id,
+        String usuario,
+        String cargo,
+        Date fecha,
+        EstadoCandidatura estado,
+        UUID empresaId,
+        String empresa,
+        String notas
+) {
+}
@@ -0,0 +1,33 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación de candidaturas.
+ * Las filas con errores se omiten sin interrumpir la importación del resto.
+ *
+ * @param procesadas Número de filas leídas
+ * @param importadas Número de candidaturas creadas
+ * @param empresasCreadas Número de empresas creadas por no existir ninguna con ese nombre
+ * @param errores Errores por fila (como máximo el límite configurado)
+ * @param erroresOmitidos Número de errores que no se incluyen en la lista por superar el límite
+ *
+ * @see RF-01: Permitir registrar candidaturas
+ */
+public record CandidaturaImportResultado(
+        long procesadas,
+        long importadas,
+        long empresasCreadas,
+        List<ErrorFila> errores,
+        long erroresOmitidos
+) {
+
+    /**
+     * Error de una fila de la importación.
+     *
+     * @param fila Número de fila de datos, empezando en 1 (sin contar la cabecera CSV)
+     * @param mensaje Descripción del error
+     */
+    public record ErrorFila(long fila, String mensaje) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+/**
+ * Fila de una importación de candidaturas (CSV o JSON).
+ * Todos los campos se reciben como texto para poder informar de los valores incorrectos fila a fila
+ * sin rechazar el fichero completo.
+ *
+ * @param cargo Puesto o cargo al que se aplica (opcional)
+ * @param fecha Fecha de aplicación, "yyyy-MM-dd" o fecha y hora ISO-8601 (opcional)
+ * @param estado Nombre del estado, sin distinguir mayúsculas (opcional)
+ * @param empresa Nombre de la empresa; se crea si no existe (obligatorio)
+ * @param notas Notas de la candidatura (opcional)
+ *
+ * @see RF-01: Permitir registrar candidaturas
+ */
+public record CandidaturaImportRow(
+        String cargo,
+        String fecha,
+        String estado,
+        String empresa,
+        String notas
+) {
+}
@@ -0,0 +1,32 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Proyección de solo lectura de una candidatura para las vistas de listado.
+ * Se construye directamente en la consulta (expresión constructora JPQL), por lo que no
+ * carga entidades gestionadas ni sus relaciones con usuario, empresa y reclutadores.
+ *
+ * @param id ID de la candidatura
+ * @param cargo Puesto o cargo al que se aplica
+ * @param fecha Fecha de aplicación
+ * @param estado Estado actual de la candidatura
+ * @param empresaId ID de la empresa
+ * @param empresaNombre Nombre de la empresa
+ * @param numReclutadores Número de reclutadores asociados
+ *
+ * @see RF-03: Visualización de candidaturas
+ */
+public record CandidaturaResumen(
+        UUID id,
+        String cargo,
+        Date fecha,
+        EstadoCandidatura estado,
+        UUID empresaId,
+        String empresaNombre,
+        int numReclutadores
+) {
+}
@@ -0,0 +1,24 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Valores agregados en las estadísticas tal y como están almacenados antes de modificar una candidatura,
+ * leídos sin cargar la entidad.
+ *
+ * @param estado Estado almacenado (puede ser null)
+ * @param fecha Fecha almacenada (puede ser null)
+ * @param empresaId ID de la empresa almacenada
+ *
+ * @see RF-02: Permitir actualizar el estado de una candidatura
+ */
+public record CandidaturaValoresActuales(EstadoCandidatura estado, Date fecha, UUID empresaId) {
+
+    public Candidatura.ValoresAgregados toValoresAgregados() {
+        return new Candidatura.ValoresAgregados(estado, fecha, empresaId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import java.util.List;
+
+/**
+ * DTO que representa una página de resultados con paginación por cursor (keyset).
+ *
+ * @param <T> Tipo de los elementos de la página
+ */
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    /**
+     * Cursor opaco para solicitar la página siguiente; null si no hay más resultados.
+     */
+    private String next;
+
+    // Constructor por defecto
+    public CursorPage() {
+    }
+
+    // Constructor con todos los campos
+    public CursorPage(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,20 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import java.util.UUID;
+
+/**
+ * Empresa sugerida al escribir en el selector de empresas.
+ * También es la proyección con la que se carga el índice de nombres (expresión constructora JPQL).
+ *
+ * @param id ID de la empresa
+ * @param nombre Nombre de la empresa
+ * @param usos Número de candidaturas de la empresa
+ *
+ * @see RF-08: Búsqueda de empresas
+ */
+public record EmpresaSugerencia(
+        UUID id,
+        String nombre,
+        long usos
+) {
+}
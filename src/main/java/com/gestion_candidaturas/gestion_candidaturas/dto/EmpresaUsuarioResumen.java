@@ -0,0 +1,22 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import java.util.UUID;
+
+/**
+ * Proyección con el número de candidaturas de un usuario en una empresa.
+ * Se construye en la consulta agrupada por (empresa, usuario), sin cargar entidades.
+ *
+ * @param empresaId ID de la empresa
+ * @param userId ID del usuario
+ * @param username Nombre de usuario
+ * @param numeroCandidaturas Número de candidaturas del usuario en la empresa
+ *
+ * @see RF-08: Gestión de empresas (extensión para administradores)
+ */
+public record EmpresaUsuarioResumen(
+        UUID empresaId,
+        UUID userId,
+        String username,
+        long numeroCandidaturas
+) {
+}
@@ -1,5 +1,6 @@
 package com.gestion_candidaturas.gestion_candidaturas.dto;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -41,6 +42,11 @@ public class EmpresaWithUsersDTO {
     public EmpresaWithUsersDTO() {
     }
 
+    // Constructor de la consulta paginada: los usuarios asociados se añaden después
+    public EmpresaWithUsersDTO(UUID id, String nombre, String correo, String telefono) {
+        this(id, nombre, correo, telefono, new ArrayList<>());
+    }
+
     public EmpresaWithUsersDTO(UUID id, String nombre, String correo, String telefono, List<UserResumenDTO> usuariosAsociados) {
         this.id = id;
         this.nombre = nombre;
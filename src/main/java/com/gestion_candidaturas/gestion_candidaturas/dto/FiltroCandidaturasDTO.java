@@ -0,0 +1,28 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Filtros de candidaturas para las operaciones masivas, con el mismo significado que los de la búsqueda.
+ *
+ * @param estado Estado de la candidatura (opcional)
+ * @param empresaNombre Nombre o parte del nombre de la empresa (opcional)
+ * @param fechaDesde Fecha mínima de aplicación, incluida (opcional)
+ * @param fechaHasta Último día de aplicación, incluido completo (opcional)
+ * @param q Texto a buscar en cargo o notas (opcional)
+ * @param userId Usuario propietario (opcional; solo lo tienen en cuenta las operaciones de administradores)
+ *
+ * @see RF-03: Permitir buscar y filtrar candidaturas por diversos criterios
+ */
+public record FiltroCandidaturasDTO(
+        EstadoCandidatura estado,
+        String empresaNombre,
+        Date fechaDesde,
+        Date fechaHasta,
+        String q,
+        UUID userId
+) {
+}
@@ -0,0 +1,29 @@
+package com.gestion_candidaturas.gestion_candidaturas.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO para recibir solicitudes de renovación del token de acceso.
+ */
+public class RefreshRequest {
+
+    @NotBlank(message = "El refresh token es obligatorio")
+    private String refreshToken;
+
+    // Constructor por defecto
+    public RefreshRequest() {
+    }
+
+    // Constructor con todos los campos
+    public RefreshRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,10 @@
+package com.gestion_candidaturas.gestion_candidaturas.error;
+
+/**
+ * Excepción lanzada cuando una operación masiva afecta a más filas de las permitidas.
+ */
+public class BulkLimitExceededException extends RuntimeException{
+    public BulkLimitExceededException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.gestion_candidaturas.gestion_candidaturas.error;
+
+/**
+ * Excepción lanzada cuando una inserción viola una restricción de unicidad.
+ * Indica el campo duplicado para poder devolver el mismo mensaje que antes daban
+ * las comprobaciones previas de existencia.
+ */
+public class DuplicateResourceException extends RuntimeException{
+
+    private final String field;
+
+    public DuplicateResourceException(String field, String message){
+        super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
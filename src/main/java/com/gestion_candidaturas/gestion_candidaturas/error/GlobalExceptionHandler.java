@@ -54,6 +54,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursor(InvalidCursorException ex) {
+        ApiError apiError = ApiError.of("INVALID_CURSOR", ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiError> handleInvalidImport(InvalidImportException ex) {
+        ApiError apiError = ApiError.of("INVALID_IMPORT", ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BulkLimitExceededException.class)
+    public ResponseEntity<ApiError> handleBulkLimitExceeded(BulkLimitExceededException ex) {
+        ApiError apiError = ApiError.of("BULK_LIMIT_EXCEEDED", ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleAllUncaughtException(Exception ex, WebRequest request) {
         ApiError apiError = ApiError.of("INTERNAL_ERROR", "Ha ocurrido un error interno");
@@ -0,0 +1,10 @@
+package com.gestion_candidaturas.gestion_candidaturas.error;
+
+/**
+ * Excepción lanzada cuando el cursor de paginación recibido no es válido.
+ */
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException(String message){
+        super(message);
+    }
+}
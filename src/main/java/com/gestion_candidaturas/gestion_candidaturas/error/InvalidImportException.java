@@ -0,0 +1,11 @@
+package com.gestion_candidaturas.gestion_candidaturas.error;
+
+/**
+ * Excepción lanzada cuando el fichero de importación no se puede interpretar
+ * (formato incorrecto, cabecera incompleta o demasiadas filas).
+ */
+public class InvalidImportException extends RuntimeException{
+    public InvalidImportException(String message){
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.gestion_candidaturas.gestion_candidaturas.model;
 
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import org.hibernate.annotations.UuidGenerator;
@@ -20,9 +21,36 @@ import java.util.UUID;
  * @see RF-05: Relacionar reclutadores con candidaturas.
  */
 @Entity
-@Table(name = "candidaturas")
+@NamedEntityGraph(name = Candidatura.GRAPH_LISTADO, attributeNodes = {
+        @NamedAttributeNode("empresa"),
+        @NamedAttributeNode("reclutadores")
+})
+@NamedEntityGraph(name = Candidatura.GRAPH_BUSQUEDA, attributeNodes = @NamedAttributeNode("reclutadores"))
+@Table(name = "candidaturas", indexes = {
+        // Índice para el listado paginado por cursor de cada usuario (fecha DESC, id DESC)
+        // y para la búsqueda por rango de fechas
+        @Index(name = "idx_candidaturas_user_fecha_id", columnList = "user_id, fecha DESC, id DESC"),
+        // Índice para la búsqueda por estado, opcionalmente acotada por fecha
+        @Index(name = "idx_candidaturas_user_estado_fecha", columnList = "user_id, estado, fecha"),
+        // Índice para el listado paginado de administradores, sin filtrar por usuario
+        @Index(name = "idx_candidaturas_fecha_id", columnList = "fecha DESC, id DESC"),
+        // Índice para contar los usuarios con candidaturas en cada empresa
+        @Index(name = "idx_candidaturas_empresa_user", columnList = "empresa_id, user_id")
+})
 public class Candidatura {
 
+    /**
+     * Grafo de carga para devolver candidaturas serializadas: trae la empresa y los reclutadores
+     * en la misma consulta, evitando una carga perezosa de candidatura_reclutador por cada fila.
+     */
+    public static final String GRAPH_LISTADO = "Candidatura.listado";
+
+    /**
+     * Grafo de carga para la búsqueda: solo los reclutadores, para no unir la tabla de empresas
+     * cuando no se filtra por ella.
+     */
+    public static final String GRAPH_BUSQUEDA = "Candidatura.busqueda";
+
     /**
      * Identificador único de la candidatura.
      */
@@ -82,11 +110,23 @@ public class Candidatura {
     @JoinTable(
             name = "candidatura_reclutador",
             joinColumns = @JoinColumn(name = "candidatura_id"),
-            inverseJoinColumns = @JoinColumn(name = "reclutador_id")
+            inverseJoinColumns = @JoinColumn(name = "reclutador_id"),
+            // La clave primaria (candidatura_id, reclutador_id) no sirve para ir del reclutador a sus candidaturas
+            indexes = @Index(name = "idx_candidatura_reclutador_reverse", columnList = "reclutador_id, candidatura_id")
     )
     @JsonManagedReference("candidatura-reclutadores")
     private Set<Reclutador> reclutadores = new HashSet<>();
 
+    /**
+     * Valores persistidos de los campos agregados en las estadísticas (estado, fecha y empresa),
+     * capturados al cargar la candidatura o al registrar sus cambios en las estadísticas. Permiten calcular el cambio que aplica una
+     * actualización aunque la entidad ya se haya modificado en memoria.
+     * Es null para las candidaturas nuevas.
+     */
+    @Transient
+    @JsonIgnore
+    private ValoresAgregados valoresPersistidos;
+
     public Candidatura() {
     }
 
@@ -110,6 +150,54 @@ public class Candidatura {
         this.reclutadores = reclutadores;
     }
 
+    /**
+     * Captura los valores agregados tal y como están en la base de datos.
+     * Se invoca al cargar la entidad y después de registrar cada cambio en las estadísticas.
+     */
+    @PostLoad
+    public void recordarValoresPersistidos() {
+        this.valoresPersistidos = getValoresAgregados();
+    }
+
+    /**
+     * Obtiene los valores agregados actuales (en memoria).
+     *
+     * @return Estado, fecha y empresa actuales
+     */
+    @JsonIgnore
+    public ValoresAgregados getValoresAgregados() {
+        return new ValoresAgregados(estado, fecha, empresa != null ? empresa.getId() : null);
+    }
+
+    /**
+     * Obtiene los valores agregados tal y como están en la base de datos.
+     *
+     * @return Estado, fecha y empresa persistidos, o null si la candidatura es nueva
+     */
+    @JsonIgnore
+    public ValoresAgregados getValoresPersistidos() {
+        return valoresPersistidos;
+    }
+
+    /**
+     * Sustituye los valores persistidos por los leídos de la fila bloqueada antes de guardar.
+     *
+     * @param valoresPersistidos Estado, fecha y empresa almacenados
+     */
+    public void setValoresPersistidos(ValoresAgregados valoresPersistidos) {
+        this.valoresPersistidos = valoresPersistidos;
+    }
+
+    /**
+     * Campos de la candidatura que se agregan en las estadísticas del usuario.
+     *
+     * @param estado Estado de la candidatura
+     * @param fecha Fecha de aplicación
+     * @param empresaId ID de la empresa
+     */
+    public record ValoresAgregados(EstadoCandidatura estado, Date fecha, UUID empresaId) {
+    }
+
     public UUID getId() {
         return id;
     }
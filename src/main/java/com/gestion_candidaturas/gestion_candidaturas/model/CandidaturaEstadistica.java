@@ -0,0 +1,118 @@
+package com.gestion_candidaturas.gestion_candidaturas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Contador agregado de candidaturas de un usuario para una dimensión (estado, mes o empresa).
+ * Se mantiene en la misma transacción que las altas, cambios y bajas de candidaturas, de modo que
+ * las estadísticas del panel se leen sin recorrer las candidaturas.
+ *
+ * @see RF-03: Visualización de candidaturas
+ */
+@Entity
+@Table(name = "candidatura_estadisticas")
+public class CandidaturaEstadistica {
+
+    /**
+     * Clave compuesta: usuario, dimensión y valor de la dimensión.
+     */
+    @EmbeddedId
+    private Clave id;
+
+    /**
+     * Número de candidaturas del usuario con ese valor.
+     */
+    @Column(nullable = false)
+    private long total;
+
+    public CandidaturaEstadistica() {
+    }
+
+    public CandidaturaEstadistica(Clave id, long total) {
+        this.id = id;
+        this.total = total;
+    }
+
+    public Clave getId() {
+        return id;
+    }
+
+    public void setId(Clave id) {
+        this.id = id;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * Dimensiones por las que se agregan las candidaturas.
+     */
+    public enum Dimension {
+        /** Valor: nombre del estado. */
+        ESTADO,
+        /** Valor: mes de la fecha de aplicación en UTC (yyyy-MM). */
+        MES,
+        /** Valor: ID de la empresa. */
+        EMPRESA
+    }
+
+    /**
+     * Clave compuesta del contador.
+     */
+    @Embeddable
+    public static class Clave implements Serializable {
+
+        @Column(name = "user_id", nullable = false)
+        private UUID userId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private Dimension dimension;
+
+        @Column(nullable = false, length = 64)
+        private String valor;
+
+        public Clave() {
+        }
+
+        public Clave(UUID userId, Dimension dimension, String valor) {
+            this.userId = userId;
+            this.dimension = dimension;
+            this.valor = valor;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public Dimension getDimension() {
+            return dimension;
+        }
+
+        public String getValor() {
+            return valor;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave clave)) return false;
+            return Objects.equals(userId, clave.userId) && dimension == clave.dimension
+                    && Objects.equals(valor, clave.valor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, dimension, valor);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.gestion_candidaturas.gestion_candidaturas.model;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
@@ -21,8 +23,16 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "empresas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Empresa.CACHE_REGION)
 public class Empresa {
 
+    /**
+     * Región de la caché de segundo nivel: las empresas se leen en casi cada alta o modificación
+     * de candidaturas y reclutadores, y cambian muy poco.
+     */
+    public static final String CACHE_REGION = "empresas";
+
     /**
      * Identificador único de la empresa.
      */
@@ -13,7 +13,10 @@ import java.util.UUID;
  */
 
 @Entity
-@Table(name = "preguntas")
+@Table(name = "preguntas", indexes = {
+        // Preguntas de una candidatura
+        @Index(name = "idx_preguntas_candidatura", columnList = "candidatura_id")
+})
 public class Pregunta {
 
     /**
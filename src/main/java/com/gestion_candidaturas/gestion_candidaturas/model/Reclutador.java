@@ -2,6 +2,8 @@ package com.gestion_candidaturas.gestion_candidaturas.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.util.HashSet;
@@ -14,9 +16,24 @@ import java.util.UUID;
  * @see RF-05: Permitir guardar nombres y enlaces a perfiles de LinkedIn de los reclutadores.
  */
 @Entity
-@Table(name = "reclutadores")
+@Table(name = "reclutadores", indexes = {
+        // Reclutadores de una empresa y búsqueda por nombre dentro de ella
+        @Index(name = "idx_reclutadores_empresa_nombre", columnList = "empresa_id, nombre")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Reclutador.CACHE_REGION)
 public class Reclutador {
 
+    /**
+     * Región de la caché de segundo nivel de los reclutadores.
+     */
+    public static final String CACHE_REGION = "reclutadores";
+
+    /**
+     * Región de la caché de consultas con los reclutadores de cada empresa.
+     */
+    public static final String CACHE_REGION_POR_EMPRESA = "reclutadores-por-empresa";
+
     /**
      * Identificador único del reclutador.
      */
@@ -0,0 +1,140 @@
+package com.gestion_candidaturas.gestion_candidaturas.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad que representa un refresh token emitido a un usuario.
+ * Solo se almacena el hash SHA-256 del token, nunca el valor original.
+ * Los tokens de una misma cadena de rotación comparten familia: si se reutiliza un token ya
+ * rotado, se revoca la familia completa.
+ *
+ * @see RF-10: Autenticación mediante JWT
+ * @see RNF-11: Seguridad mediante JWT
+ */
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = "token_hash")
+}, indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    /**
+     * Identificador único del refresh token.
+     */
+    @Id
+    @GeneratedValue
+    @UuidGenerator
+    private UUID id;
+
+    /**
+     * Hash SHA-256 (hexadecimal) del token entregado al cliente.
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    /**
+     * Usuario propietario del token.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    /**
+     * Familia de rotación a la que pertenece el token.
+     */
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    /**
+     * Fecha de expiración del token.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Indica si el token ya se ha canjeado por uno nuevo.
+     */
+    @Column(nullable = false)
+    private boolean used = false;
+
+    /**
+     * Indica si el token ha sido revocado (cierre de sesión o reutilización detectada).
+     */
+    @Column(nullable = false)
+    private boolean revoked = false;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String tokenHash, User user, UUID familyId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public UUID getFamilyId() {
+        return familyId;
+    }
+
+    public void setFamilyId(UUID familyId) {
+        this.familyId = familyId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isUsed() {
+        return used;
+    }
+
+    public void setUsed(boolean used) {
+        this.used = used;
+    }
+
+    public boolean isRevoked() {
+        return revoked;
+    }
+
+    public void setRevoked(boolean revoked) {
+        this.revoked = revoked;
+    }
+}
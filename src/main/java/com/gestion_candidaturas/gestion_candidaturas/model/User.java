@@ -21,9 +21,18 @@ import java.util.UUID;
  * @see RF-11: Control de acceso basado en roles.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
 public class User implements UserDetails {
 
+    /**
+     * Nombres de las restricciones de unicidad, usados para identificar el campo duplicado al registrar.
+     */
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     /**
      * Identificador único del usuario.
      */
@@ -36,7 +45,7 @@ public class User implements UserDetails {
      * Nombre de usuario para autenticación.
      * @see RF-10: Credenciales de usuario para acceso al sistema.
      */
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
     /**
@@ -51,7 +60,7 @@ public class User implements UserDetails {
      * Correo electrónico del usuario.
      * @see RF-10: Información básica del usuario.
      */
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     /**
@@ -67,6 +76,14 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private boolean activo = true;
 
+    /**
+     * Versión de los tokens del usuario. Se incrementa cuando cambia el rol o el estado activo,
+     * invalidando los tokens emitidos con una versión anterior.
+     * @see RNF-11: Seguridad mediante JWT
+     */
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
 
     /**
      * Fecha de creación del registro.
@@ -167,6 +184,10 @@ public class User implements UserDetails {
     }
 
     public void setRole(Role role) {
+        // Un cambio de rol obliga a volver a iniciar sesión
+        if (this.role != null && this.role != role) {
+            this.tokenVersion++;
+        }
         this.role = role;
     }
 
@@ -183,9 +204,21 @@ public class User implements UserDetails {
     }
 
     public void setActivo(boolean activo) {
+        // Un cambio de estado obliga a volver a iniciar sesión
+        if (this.activo != activo) {
+            this.tokenVersion++;
+        }
         this.activo = activo;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public LocalDateTime getFechaCreacion() {
         return fechaCreacion;
     }
@@ -0,0 +1,56 @@
+package com.gestion_candidaturas.gestion_candidaturas.repository;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.CandidaturaEstadistica;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CandidaturaEstadisticaRepository
+        extends JpaRepository<CandidaturaEstadistica, CandidaturaEstadistica.Clave> {
+
+    /**
+     * Valor con el que se agregan las candidaturas sin estado o sin fecha.
+     */
+    String SIN_VALOR = "-";
+
+    // Contadores de un usuario con al menos una candidatura (lectura por clave primaria)
+    @Query("SELECT e FROM CandidaturaEstadistica e WHERE e.id.userId = :userId AND e.total > 0")
+    List<CandidaturaEstadistica> findByUserId(@Param("userId") UUID userId);
+
+    // Sumar (o restar) al contador en una sola sentencia atómica, creándolo si no existe
+    @Modifying
+    @Query(value = "INSERT INTO candidatura_estadisticas (user_id, dimension, valor, total) " +
+            "VALUES (:userId, :dimension, :valor, :delta) " +
+            "ON DUPLICATE KEY UPDATE total = total + :delta", nativeQuery = true)
+    int increment(@Param("userId") UUID userId,
+                  @Param("dimension") String dimension,
+                  @Param("valor") String valor,
+                  @Param("delta") long delta);
+
+    // Reconstrucción completa: vaciar y recalcular los contadores desde las candidaturas
+    @Modifying
+    @Query(value = "DELETE FROM candidatura_estadisticas", nativeQuery = true)
+    int deleteAllCounters();
+
+    @Modifying
+    @Query(value = "INSERT INTO candidatura_estadisticas (user_id, dimension, valor, total) " +
+            "SELECT user_id, 'ESTADO', COALESCE(estado, '" + SIN_VALOR + "'), COUNT(*) " +
+            "FROM candidaturas GROUP BY user_id, estado", nativeQuery = true)
+    int rebuildByEstado();
+
+    @Modifying
+    @Query(value = "INSERT INTO candidatura_estadisticas (user_id, dimension, valor, total) " +
+            "SELECT user_id, 'MES', COALESCE(DATE_FORMAT(fecha, '%Y-%m'), '" + SIN_VALOR + "'), COUNT(*) " +
+            "FROM candidaturas GROUP BY user_id, DATE_FORMAT(fecha, '%Y-%m')", nativeQuery = true)
+    int rebuildByMes();
+
+    @Modifying
+    @Query(value = "INSERT INTO candidatura_estadisticas (user_id, dimension, valor, total) " +
+            "SELECT user_id, 'EMPRESA', BIN_TO_UUID(empresa_id), COUNT(*) " +
+            "FROM candidaturas GROUP BY user_id, empresa_id", nativeQuery = true)
+    int rebuildByEmpresa();
+}
@@ -1,76 +1,230 @@
 package com.gestion_candidaturas.gestion_candidaturas.repository;
 
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoActual;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaValoresActuales;
 import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
 import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repositorio que gestiona las operaciones de acceso a datos de candidaturas en la base de datos.
  * Extiende JpaRepository para heredar métodos CRUD básicos para la entidad Candidatura.
  */
-public interface CandidaturaRepository extends JpaRepository<Candidatura, UUID> {
+public interface CandidaturaRepository extends JpaRepository<Candidatura, UUID>,
+        JpaSpecificationExecutor<Candidatura>, CandidaturaRepositoryCustom {
+
+    /**
+     * Expresión constructora y FROM compartidos por las consultas del listado.
+     * SIZE se traduce en un subconteo correlacionado sobre candidatura_reclutador, que solo se
+     * evalúa para las filas devueltas.
+     */
+    String RESUMEN_SELECT = "new com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen(" +
+            "c.id, c.cargo, c.fecha, c.estado, e.id, e.nombre, SIZE(c.reclutadores)) " +
+            "FROM Candidatura c JOIN c.empresa e";
 
     /**
      * Busca todas las candidaturas pertenecientes a un usuario específico.
      * Las ordena por fecha de aplicación de más reciente a más antigua.
+     * Carga la empresa y los reclutadores con la misma consulta (grafo Candidatura.listado).
      *
      * @param userId ID del usuario propietario de las candidaturas
      * @return Lista de candidaturas del usuario ordenadas por fecha descendente
      */
+    @EntityGraph(Candidatura.GRAPH_LISTADO)
     List<Candidatura> findByUserIdOrderByFechaDesc(UUID userId);
 
     /**
-     * Método avanzado que realiza una búsqueda de candidaturas con múltiples criterios opcionales.
-     * Utiliza una consulta JPQL con las siguientes características:
-     * - Cada parámetro es opcional (puede ser nulo)
-     * - Si un parámetro es nulo, esa condición se ignora en la búsqueda
-     * - Busca coincidencias parciales en texto usando LIKE con comodines
-     * - Las búsquedas de texto son case-insensitive (ignoran mayúsculas/minúsculas)
-     * - Siempre filtra por el usuario propietario (userId) para mantener la seguridad
+     * Busca una candidatura de un usuario por su ID. El propietario forma parte del WHERE, de modo que una
+     * candidatura ajena no se hidrata: la consulta por clave primaria simplemente no devuelve filas.
+     *
+     * @param id ID de la candidatura
+     * @param userId ID del usuario propietario
+     * @return La candidatura, o vacío si no existe o es de otro usuario
+     */
+    Optional<Candidatura> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Comprueba si una candidatura pertenece a un usuario con una consulta de existencia por clave primaria,
+     * sin cargar la entidad.
+     *
+     * @param id ID de la candidatura
+     * @param userId ID del usuario propietario
+     * @return true si existe y es del usuario
+     */
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Obtiene la primera página del listado de candidaturas de un usuario ordenadas por (fecha DESC, id DESC).
+     * Devuelve proyecciones con solo las columnas del listado: un único SELECT con JOIN a la empresa
+     * y un conteo de reclutadores, sin hidratar entidades. La consulta recorre el índice compuesto
+     * (user_id, fecha, id) y se detiene al alcanzar el límite.
+     * En MySQL los valores nulos de fecha quedan al final en orden descendente.
+     *
+     * @param userId ID del usuario propietario
+     * @param limit Número máximo de resultados
+     * @return Primera página del listado
+     */
+    @Query("SELECT " + RESUMEN_SELECT + " WHERE c.user.id = :userId ORDER BY c.fecha DESC, c.id DESC")
+    List<CandidaturaResumen> findFirstPageByUserId(@Param("userId") UUID userId, Limit limit);
+
+    /**
+     * Obtiene la página siguiente a una candidatura con fecha (paginación keyset).
+     * El coste no depende del número de páginas anteriores: no se usa OFFSET.
+     *
+     * @param userId ID del usuario propietario
+     * @param fecha Fecha de la última candidatura de la página anterior
+     * @param id ID de la última candidatura de la página anterior
+     * @param limit Número máximo de resultados
+     * @return Página siguiente del listado
+     */
+    @Query("SELECT " + RESUMEN_SELECT + " WHERE c.user.id = :userId AND " +
+            "(c.fecha < :fecha OR (c.fecha = :fecha AND c.id < :id) OR c.fecha IS NULL) " +
+            "ORDER BY c.fecha DESC, c.id DESC")
+    List<CandidaturaResumen> findPageByUserIdAfter(@Param("userId") UUID userId,
+                                                   @Param("fecha") Date fecha,
+                                                   @Param("id") UUID id,
+                                                   Limit limit);
+
+    /**
+     * Obtiene la página siguiente a una candidatura sin fecha (las últimas del listado).
+     *
+     * @param userId ID del usuario propietario
+     * @param id ID de la última candidatura de la página anterior
+     * @param limit Número máximo de resultados
+     * @return Página siguiente del listado
+     */
+    @Query("SELECT " + RESUMEN_SELECT + " WHERE c.user.id = :userId AND c.fecha IS NULL AND c.id < :id " +
+            "ORDER BY c.id DESC")
+    List<CandidaturaResumen> findUndatedPageByUserIdAfter(@Param("userId") UUID userId,
+                                                          @Param("id") UUID id,
+                                                          Limit limit);
+
+    /**
+     * Ejecuta una búsqueda dinámica construida con {@link CandidaturaSpecifications}.
+     * Carga los reclutadores con la misma consulta (grafo Candidatura.busqueda); la empresa no se une
+     * salvo que se filtre por ella y se resuelve por lotes.
+     *
+     * @param spec Especificación con los filtros informados
+     * @param sort Orden de los resultados
+     * @return Lista de candidaturas que cumplen los filtros
+     */
+    @Override
+    @EntityGraph(Candidatura.GRAPH_BUSQUEDA)
+    List<Candidatura> findAll(Specification<Candidatura> spec, Sort sort);
+
+    /**
+     * Expresión constructora y FROM compartidos por las consultas de exportación.
+     */
+    String EXPORT_SELECT = "SELECT new com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow(" +
+            "c.id, u.username, c.cargo, c.fecha, c.estado, e.id, e.nombre, c.notas) " +
+            "FROM Candidatura c JOIN c.user u JOIN c.empresa e";
+
+    /**
+     * Tamaño de lote JDBC de las exportaciones. Integer.MIN_VALUE hace que el driver de MySQL
+     * entregue las filas una a una desde el socket en lugar de leer el resultado completo en memoria.
+     */
+    String EXPORT_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    /**
+     * Recorre las candidaturas de un usuario para exportarlas, de la más reciente a la más antigua.
+     * Devuelve proyecciones no gestionadas leídas con un cursor de solo avance, de modo que ni el
+     * contexto de persistencia ni el resultado JDBC crecen con el número de filas.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @param userId ID del usuario propietario
+     * @return Flujo de filas de exportación
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE))
+    @Query(EXPORT_SELECT + " WHERE c.user.id = :userId ORDER BY c.fecha DESC, c.id DESC")
+    Stream<CandidaturaExportRow> streamExportByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Expresión constructora y FROM compartidos por las lecturas del estado previas a un cambio.
+     */
+    String ESTADO_ACTUAL_SELECT = "SELECT new com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoActual(" +
+            "c.id, c.user.id, c.estado) FROM Candidatura c";
+
+    /**
+     * Lee y bloquea (SELECT ... FOR UPDATE) el estado de una candidatura de un usuario, por clave primaria
+     * y sin unir otras tablas ni cargar la entidad.
+     *
+     * @param id ID de la candidatura
+     * @param userId ID del usuario propietario
+     * @return Estado actual, o vacío si no existe o es de otro usuario
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(ESTADO_ACTUAL_SELECT + " WHERE c.id = :id AND c.user.id = :userId")
+    Optional<CandidaturaEstadoActual> lockEstadoByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    /**
+     * Lee y bloquea (SELECT ... FOR UPDATE) los valores agregados almacenados de una candidatura antes
+     * de guardar sus cambios, sin cargar la entidad.
+     * La consulta no vuelca el contexto de persistencia: si la entidad ya está modificada en memoria,
+     * se leen los valores anteriores al cambio y no los propios cambios pendientes.
+     *
+     * @param id ID de la candidatura
+     * @return Valores almacenados, o vacío si no existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    @Query("SELECT new com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaValoresActuales(" +
+            "c.estado, c.fecha, c.empresa.id) FROM Candidatura c WHERE c.id = :id")
+    Optional<CandidaturaValoresActuales> lockValoresById(@Param("id") UUID id);
+
+    /**
+     * Lee y bloquea el estado de una candidatura de cualquier usuario (administradores).
+     *
+     * @param id ID de la candidatura
+     * @return Estado actual, o vacío si no existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(ESTADO_ACTUAL_SELECT + " WHERE c.id = :id")
+    Optional<CandidaturaEstadoActual> lockEstadoById(@Param("id") UUID id);
+
+    /**
+     * Cambia el estado de varias candidaturas de un usuario en una sola sentencia.
+     * La condición de propietario forma parte del UPDATE: los IDs de otros usuarios no se modifican.
      *
-     * @param estado Estado de la candidatura (PENDIENTE, ENTREVISTA, etc.) - Opcional
-     * @param empresaNombre Nombre o parte del nombre de la empresa - Opcional
-     * @param fechaDesde Fecha mínima de aplicación - Opcional
-     * @param fechaHasta Fecha máxima de aplicación - Opcional
-     * @param q Texto general para buscar en cargo o notas - Opcional
-     * @param userId ID del usuario propietario (obligatorio por seguridad)
-     * @return Lista de candidaturas que cumplen todos los criterios especificados
-     */
-    //    @Query("SELECT c FROM Candidatura c WHERE " +
-//            "(:estado IS NULL OR c.estado = :estado) AND " +
-//            "(:empresaNombre IS NULL OR LOWER(c.empresa.nombre) LIKE LOWER(CONCAT('%', :empresaNombre, '%'))) AND " +
-//            "(:fechaDesde IS NULL OR c.fecha >= :fechaDesde) AND " +
-//            "(:fechaHasta IS NULL OR c.fecha <= :fechaHasta) AND " +
-//            "(:q IS NULL OR LOWER(c.cargo) LIKE LOWER(CONCAT('%', :q, '%')) OR LOWER(c.notas) LIKE LOWER(CONCAT('%', :q, '%'))) AND " +
-//            "c.user.id = :userId " +
-//            "ORDER BY c.fecha DESC")
-    @Query("SELECT c FROM Candidatura c WHERE " +
-            // Si estado es null, esta condición se ignora; si no, filtra por ese estado exacto
-            "(:estado IS NULL OR c.estado = :estado) AND " +
-            // Si empresaNombre es null, esta condición se ignora; si no, busca coincidencias parciales
-            "(:empresaNombre IS NULL OR LOWER(c.empresa.nombre) LIKE LOWER(CONCAT('%', :empresaNombre, '%'))) AND " +
-            // Si fechaDesde es null, esta condición se ignora; si no, filtra candidaturas posteriores a esa fecha
-            "(:fechaDesde IS NULL OR c.fecha >= :fechaDesde) AND " +
-            // Si fechaHasta es null, esta condición se ignora; si no, filtra candidaturas anteriores a esa fecha
-            "(:fechaHasta IS NULL OR c.fecha <= :fechaHasta) AND " +
-            // Si q es null, esta condición se ignora; si no, busca en cargo o notas
-            "(:q IS NULL OR LOWER(c.cargo) LIKE LOWER(CONCAT('%', :q, '%')) OR LOWER(c.notas) LIKE LOWER(CONCAT('%', :q, '%'))) AND " +
-            // Siempre filtra por el usuario propietario para mantener seguridad
-            "c.user.id = :userId " +
-            "ORDER BY c.fecha DESC")
-    List<Candidatura> buscarCandidaturas(
-            @Param("estado")EstadoCandidatura estado,
-            @Param("empresaNombre") String espresaNombre,
-            @Param("fechaDesde")Date fechaDesde,
-            @Param("fechaHasta") Date fechaHasta,
-            @Param("q") String q,
-            @Param("userId") UUID userId
-            );
+     * @param userId ID del usuario propietario
+     * @param ids IDs de las candidaturas
+     * @param estado Nuevo estado
+     * @return Número de candidaturas actualizadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Candidatura c SET c.estado = :estado WHERE c.user.id = :userId AND c.id IN :ids")
+    int updateEstadoDeUsuario(@Param("userId") UUID userId,
+                              @Param("ids") Collection<UUID> ids,
+                              @Param("estado") EstadoCandidatura estado);
 
+    /**
+     * Cambia el estado de varias candidaturas de cualquier usuario en una sola sentencia (administradores).
+     *
+     * @param ids IDs de las candidaturas
+     * @param estado Nuevo estado
+     * @return Número de candidaturas actualizadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Candidatura c SET c.estado = :estado WHERE c.id IN :ids")
+    int updateEstado(@Param("ids") Collection<UUID> ids, @Param("estado") EstadoCandidatura estado);
 }
@@ -0,0 +1,52 @@
+package com.gestion_candidaturas.gestion_candidaturas.repository;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoActual;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de candidaturas que no se pueden expresar como métodos derivados o con @Query.
+ */
+public interface CandidaturaRepositoryCustom {
+
+    /**
+     * Bloquea (SELECT ... FOR UPDATE) las candidaturas de la especificación que cambiarían al pasar a un estado
+     * y devuelve su estado actual, sin cargar entidades. El bloqueo se mantiene hasta el final de la transacción,
+     * de modo que el UPDATE posterior afecta exactamente a estas filas y las estadísticas se ajustan con sus
+     * estados anteriores.
+     *
+     * @param spec Candidaturas a considerar
+     * @param estado Nuevo estado; se excluyen las que ya lo tienen
+     * @param limit Número máximo de filas
+     * @return ID, propietario y estado actual de cada candidatura que cambiará
+     */
+    List<CandidaturaEstadoActual> lockEstadosParaCambio(Specification<Candidatura> spec, EstadoCandidatura estado,
+                                                        int limit);
+
+    /**
+     * Recupera una página del listado de candidaturas ordenado por (fecha DESC, id DESC) como proyecciones,
+     * sin cargar entidades. La posición de la página se indica en la propia especificación
+     * (ver {@link CandidaturaSpecifications#despuesDe}).
+     *
+     * @param spec Filtros y posición del listado
+     * @param limit Número máximo de filas
+     * @return Filas del listado
+     */
+    List<CandidaturaExportRow> findListado(Specification<Candidatura> spec, int limit);
+
+    /**
+     * Recorre el listado de candidaturas ordenado por (fecha DESC, id DESC) fila a fila.
+     * Como las proyecciones no son entidades gestionadas y el controlador de MySQL recibe el resultado en
+     * streaming, la memoria usada no depende del número de filas. El flujo debe cerrarse y consumirse
+     * dentro de una transacción.
+     *
+     * @param spec Filtros del listado
+     * @return Flujo de filas del listado
+     */
+    Stream<CandidaturaExportRow> streamListado(Specification<Candidatura> spec);
+}
@@ -0,0 +1,90 @@
+package com.gestion_candidaturas.gestion_candidaturas.repository;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoActual;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de las consultas personalizadas de candidaturas.
+ */
+public class CandidaturaRepositoryCustomImpl implements CandidaturaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CandidaturaEstadoActual> lockEstadosParaCambio(Specification<Candidatura> spec,
+                                                               EstadoCandidatura estado, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CandidaturaEstadoActual> query = cb.createQuery(CandidaturaEstadoActual.class);
+        Root<Candidatura> root = query.from(Candidatura.class);
+
+        Predicate cambia = cb.or(cb.notEqual(root.get("estado"), estado), cb.isNull(root.get("estado")));
+        Predicate filtro = spec.toPredicate(root, query, cb);
+        query.select(cb.construct(CandidaturaEstadoActual.class,
+                        root.get("id"), root.get("user").get("id"), root.get("estado")))
+                .where(filtro != null ? cb.and(filtro, cambia) : cambia);
+
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<CandidaturaExportRow> findListado(Specification<Candidatura> spec, int limit) {
+        return entityManager.createQuery(listado(spec))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<CandidaturaExportRow> streamListado(Specification<Candidatura> spec) {
+        // Integer.MIN_VALUE hace que Connector/J entregue las filas una a una en lugar de cargar el resultado
+        return entityManager.createQuery(listado(spec))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream();
+    }
+
+    /**
+     * Construye la consulta del listado con la misma proyección que la exportación.
+     * Si el filtro ya une la empresa (búsqueda por nombre), se reutiliza esa unión en lugar de añadir otra.
+     */
+    @SuppressWarnings("unchecked")
+    private CriteriaQuery<CandidaturaExportRow> listado(Specification<Candidatura> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CandidaturaExportRow> query = cb.createQuery(CandidaturaExportRow.class);
+        Root<Candidatura> root = query.from(Candidatura.class);
+
+        Predicate filtro = spec.toPredicate(root, query, cb);
+        Join<Candidatura, Empresa> empresa = root.getJoins().stream()
+                .filter(join -> "empresa".equals(join.getAttribute().getName()))
+                .map(join -> (Join<Candidatura, Empresa>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("empresa"));
+
+        query.select(cb.construct(CandidaturaExportRow.class,
+                        root.get("id"), root.join("user").get("username"), root.get("cargo"), root.get("fecha"),
+                        root.get("estado"), empresa.get("id"), empresa.get("nombre"), root.get("notas")))
+                .orderBy(cb.desc(root.get("fecha")), cb.desc(root.get("id")));
+        if (filtro != null) {
+            query.where(filtro);
+        }
+        return query;
+    }
+}
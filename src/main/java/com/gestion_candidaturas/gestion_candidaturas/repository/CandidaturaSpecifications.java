@@ -0,0 +1,210 @@
+package com.gestion_candidaturas.gestion_candidaturas.repository;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Especificaciones para la búsqueda dinámica de candidaturas.
+ *
+ * A diferencia de una consulta única con condiciones "(:p IS NULL OR ...)", solo se generan los
+ * predicados de los filtros informados, de modo que el optimizador ve una consulta concreta:
+ * - El usuario y el estado son igualdades y la fecha es un rango semiabierto sobre la columna sin
+ *   transformar, por lo que recorren los índices (user_id, fecha) y (user_id, estado, fecha).
+ * - La tabla de empresas solo se une cuando se filtra por su nombre.
+ * - Los filtros de texto (LIKE con comodín inicial) se aplican sobre las filas ya acotadas por el índice.
+ *
+ * @see RF-03: Permitir buscar y filtrar candidaturas por diversos criterios
+ */
+public final class CandidaturaSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CandidaturaSpecifications() {
+    }
+
+    /**
+     * Construye la búsqueda combinando únicamente los filtros no nulos.
+     *
+     * @param estado Estado de la candidatura (opcional)
+     * @param empresaNombre Nombre o parte del nombre de la empresa (opcional)
+     * @param fechaDesde Fecha mínima de aplicación, incluida (opcional)
+     * @param fechaHasta Último día de aplicación, incluido completo (opcional)
+     * @param q Texto a buscar en cargo o notas (opcional)
+     * @param userId ID del usuario propietario (obligatorio)
+     * @return Especificación con los predicados de los filtros informados
+     */
+    public static Specification<Candidatura> busqueda(EstadoCandidatura estado, String empresaNombre,
+                                                      Date fechaDesde, Date fechaHasta, String q,
+                                                      UUID userId) {
+        List<Specification<Candidatura>> specs = new ArrayList<>();
+        specs.add(delUsuario(userId));
+        specs.addAll(filtros(estado, empresaNombre, fechaDesde, fechaHasta, q));
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Construye los filtros de la búsqueda sin restringir el usuario, para operaciones de administradores.
+     *
+     * @param filtro Filtros informados (el usuario es opcional)
+     * @return Especificación con los predicados de los filtros informados
+     */
+    public static Specification<Candidatura> filtro(FiltroCandidaturasDTO filtro) {
+        List<Specification<Candidatura>> specs = new ArrayList<>();
+        if (filtro.userId() != null) {
+            specs.add(delUsuario(filtro.userId()));
+        }
+        specs.addAll(filtros(filtro.estado(), filtro.empresaNombre(), filtro.fechaDesde(), filtro.fechaHasta(),
+                filtro.q()));
+        return Specification.allOf(specs);
+    }
+
+    private static List<Specification<Candidatura>> filtros(EstadoCandidatura estado, String empresaNombre,
+                                                            Date fechaDesde, Date fechaHasta, String q) {
+        List<Specification<Candidatura>> specs = new ArrayList<>();
+        if (estado != null) {
+            specs.add(conEstado(estado));
+        }
+        if (fechaDesde != null) {
+            specs.add(fechaDesde(fechaDesde));
+        }
+        if (fechaHasta != null) {
+            specs.add(fechaHasta(fechaHasta));
+        }
+        if (hasText(empresaNombre)) {
+            specs.add(empresaNombreContiene(empresaNombre));
+        }
+        if (hasText(q)) {
+            specs.add(textoContiene(q));
+        }
+        return specs;
+    }
+
+    /**
+     * Filtra por el usuario propietario.
+     *
+     * @param userId ID del usuario propietario
+     * @return Especificación "user_id = ?"
+     */
+    public static Specification<Candidatura> delUsuario(UUID userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    /**
+     * Filtra por una lista de IDs.
+     *
+     * @param ids IDs de las candidaturas
+     * @return Especificación "id IN (...)"
+     */
+    public static Specification<Candidatura> conIds(Collection<UUID> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Filtra las candidaturas posteriores a una posición del listado ordenado por (fecha DESC, id DESC).
+     * Las candidaturas sin fecha van al final del orden, como en MySQL, por lo que siguen a cualquier fecha.
+     *
+     * @param fecha Fecha de la última candidatura devuelta (null si no tenía fecha)
+     * @param id ID de la última candidatura devuelta
+     * @return Especificación "(fecha, id) &lt; (?, ?)" en el orden del listado
+     */
+    public static Specification<Candidatura> despuesDe(Date fecha, UUID id) {
+        return (root, query, cb) -> {
+            if (fecha == null) {
+                return cb.and(cb.isNull(root.get("fecha")), cb.lessThan(root.get("id"), id));
+            }
+            return cb.or(
+                    cb.lessThan(root.get("fecha"), fecha),
+                    cb.and(cb.equal(root.get("fecha"), fecha), cb.lessThan(root.get("id"), id)),
+                    cb.isNull(root.get("fecha")));
+        };
+    }
+
+    /**
+     * Filtra por estado exacto.
+     *
+     * @param estado Estado de la candidatura
+     * @return Especificación "estado = ?"
+     */
+    public static Specification<Candidatura> conEstado(EstadoCandidatura estado) {
+        return (root, query, cb) -> cb.equal(root.get("estado"), estado);
+    }
+
+    /**
+     * Filtra las candidaturas aplicadas a partir de una fecha (incluida).
+     *
+     * @param desde Fecha mínima de aplicación
+     * @return Especificación "fecha >= ?"
+     */
+    public static Specification<Candidatura> fechaDesde(Date desde) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("fecha"), desde);
+    }
+
+    /**
+     * Filtra las candidaturas aplicadas hasta un día (incluido completo).
+     * Se expresa como "fecha &lt; día siguiente" para que el rango siga siendo indexable
+     * sin truncar la columna.
+     *
+     * @param hasta Último día de aplicación
+     * @return Especificación "fecha &lt; ?"
+     */
+    public static Specification<Candidatura> fechaHasta(Date hasta) {
+        Date limite = Date.from(hasta.toInstant().plus(1, ChronoUnit.DAYS));
+        return (root, query, cb) -> cb.lessThan(root.get("fecha"), limite);
+    }
+
+    /**
+     * Filtra por coincidencia parcial en el nombre de la empresa, sin distinguir mayúsculas.
+     * Es el único filtro que une la tabla de empresas.
+     *
+     * @param nombre Nombre o parte del nombre de la empresa
+     * @return Especificación "LOWER(e.nombre) LIKE ?"
+     */
+    public static Specification<Candidatura> empresaNombreContiene(String nombre) {
+        return (root, query, cb) -> {
+            Join<Candidatura, Empresa> empresa = root.join("empresa");
+            return cb.like(cb.lower(empresa.get("nombre")), contiene(nombre), LIKE_ESCAPE);
+        };
+    }
+
+    /**
+     * Filtra por coincidencia parcial en el cargo o en las notas, sin distinguir mayúsculas.
+     *
+     * @param q Texto a buscar
+     * @return Especificación "LOWER(cargo) LIKE ? OR LOWER(notas) LIKE ?"
+     */
+    public static Specification<Candidatura> textoContiene(String q) {
+        return (root, query, cb) -> {
+            String pattern = contiene(q);
+            return cb.or(
+                    cb.like(cb.lower(root.get("cargo")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("notas")), pattern, LIKE_ESCAPE));
+        };
+    }
+
+    /**
+     * Construye el patrón "%texto%" en minúsculas, escapando los comodines introducidos por el usuario.
+     */
+    private static String contiene(String texto) {
+        String escaped = texto.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
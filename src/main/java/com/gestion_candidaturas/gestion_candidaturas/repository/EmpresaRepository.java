@@ -1,13 +1,19 @@
 package com.gestion_candidaturas.gestion_candidaturas.repository;
 
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaSugerencia;
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaUsuarioResumen;
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaWithUsersDTO;
 import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface EmpresaRepository extends JpaRepository<Empresa, UUID> {
 
@@ -34,13 +40,64 @@ public interface EmpresaRepository extends JpaRepository<Empresa, UUID> {
     Optional<Empresa> findByNombreIgnoreCase(String nombre);
 
     /**
-     * Consulta compleja que obtiene información resumida de usuarios que tienen candidaturas
-     * asociadas a una empresa específica, junto con el conteo de candidaturas por usuario.
+     * Busca la primera empresa con ese nombre exacto, ignorando mayúsculas/minúsculas.
+     * A diferencia de {@link #findByNombreIgnoreCase(String)}, no falla si hay nombres duplicados.
      *
-     * @param empresaId ID de la empresa
-     * @return Lista de arrays de objetos donde cada array contiene [id_usuario, username, contador_candidaturas]
+     * @param nombre Nombre exacto de la empresa a buscar
+     * @return Optional con la empresa si existe, Optional vacío si no
+     */
+    Optional<Empresa> findFirstByNombreIgnoreCase(String nombre);
+
+    /**
+     * Obtiene el nombre y el número de candidaturas de todas las empresas, para cargar el índice de sugerencias.
+     * Se construye en la consulta, sin cargar entidades.
+     *
+     * @return Lista de empresas con su número de candidaturas
+     */
+    @Query("SELECT new com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaSugerencia(e.id, e.nombre, COUNT(c)) " +
+            "FROM Empresa e LEFT JOIN e.candidaturas c GROUP BY e.id, e.nombre")
+    List<EmpresaSugerencia> findSugerencias();
+
+    String WITH_USERS_SELECT = "SELECT new com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaWithUsersDTO(" +
+            "e.id, e.nombre, e.correo, e.telefono) FROM Empresa e LEFT JOIN e.candidaturas c";
+
+    String WITH_USERS_GROUP = " GROUP BY e.id, e.nombre, e.correo, e.telefono " +
+            "HAVING COUNT(DISTINCT c.user.id) >= :minUsers ORDER BY e.id";
+
+    /**
+     * Obtiene la primera página de empresas ordenadas por ID con al menos un número de usuarios distintos
+     * con candidaturas en ellas. Los usuarios asociados se cargan aparte con {@link #streamUsuariosByEmpresaIds}.
+     *
+     * @param minUsers Número mínimo de usuarios distintos (0 para incluir todas las empresas)
+     * @param limit Número máximo de resultados
+     * @return Primera página de empresas, sin usuarios asociados
+     */
+    @Query(WITH_USERS_SELECT + WITH_USERS_GROUP)
+    List<EmpresaWithUsersDTO> findFirstPageWithUsers(@Param("minUsers") long minUsers, Limit limit);
+
+    /**
+     * Obtiene la página de empresas siguiente a un ID, con el mismo orden y filtro que
+     * {@link #findFirstPageWithUsers}.
+     *
+     * @param id ID de la última empresa devuelta
+     * @param minUsers Número mínimo de usuarios distintos (0 para incluir todas las empresas)
+     * @param limit Número máximo de resultados
+     * @return Página siguiente de empresas, sin usuarios asociados
+     */
+    @Query(WITH_USERS_SELECT + " WHERE e.id > :id" + WITH_USERS_GROUP)
+    List<EmpresaWithUsersDTO> findPageWithUsersAfter(@Param("id") UUID id, @Param("minUsers") long minUsers,
+                                                     Limit limit);
+
+    /**
+     * Recorre, en una única consulta agrupada por (empresa, usuario), los usuarios con candidaturas en un
+     * conjunto de empresas junto con su número de candidaturas en cada una.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @param empresaIds IDs de las empresas
+     * @return Flujo de filas (empresa, usuario, número de candidaturas)
      */
-    @Query("SELECT u.id, u.username, COUNT(c) FROM User u JOIN Candidatura c ON u.id = c.user.id " +
-            "WHERE c.empresa.id = :empresaId GROUP BY u.id, u.username")
-    List<Object[]> findUsersByEmpresaId(@Param("empresaId") UUID empresaId);
+    @Query("SELECT new com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaUsuarioResumen(" +
+            "c.empresa.id, u.id, u.username, COUNT(c)) FROM Candidatura c JOIN c.user u " +
+            "WHERE c.empresa.id IN :empresaIds GROUP BY c.empresa.id, u.id, u.username ORDER BY u.username")
+    Stream<EmpresaUsuarioResumen> streamUsuariosByEmpresaIds(@Param("empresaIds") Collection<UUID> empresaIds);
 }
@@ -2,10 +2,12 @@ package com.gestion_candidaturas.gestion_candidaturas.repository;
 
 import com.gestion_candidaturas.gestion_candidaturas.model.Pregunta;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface PreguntaRepository extends JpaRepository<Pregunta, UUID> {
@@ -40,4 +42,35 @@ public interface PreguntaRepository extends JpaRepository<Pregunta, UUID> {
      */
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Pregunta p Where p.id = :preguntaId AND p.usuario.id = :usuarioId")
     boolean isPreguntaOwner(@Param("preguntaId") UUID preguntaId, @Param("usuarioId") UUID usuarioId);
+
+    /**
+     * Busca una pregunta de un usuario por su ID. Una pregunta ajena no se hidrata: la consulta por clave
+     * primaria incluye el propietario y no devuelve filas.
+     *
+     * @param id ID de la pregunta
+     * @param usuarioId ID del usuario propietario
+     * @return La pregunta, o vacío si no existe o es de otro usuario
+     */
+    Optional<Pregunta> findByIdAndUsuarioId(UUID id, UUID usuarioId);
+
+    /**
+     * Elimina una pregunta con un único DELETE por clave primaria, sin cargarla antes.
+     *
+     * @param id ID de la pregunta
+     * @return Número de preguntas eliminadas (0 o 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Pregunta p WHERE p.id = :id")
+    int deletePregunta(@Param("id") UUID id);
+
+    /**
+     * Elimina una pregunta solo si pertenece al usuario, con un único DELETE que incluye el propietario.
+     *
+     * @param id ID de la pregunta
+     * @param usuarioId ID del usuario propietario
+     * @return Número de preguntas eliminadas (0 si no existe o es de otro usuario)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Pregunta p WHERE p.id = :id AND p.usuario.id = :usuarioId")
+    int deletePreguntaDeUsuario(@Param("id") UUID id, @Param("usuarioId") UUID usuarioId);
 }
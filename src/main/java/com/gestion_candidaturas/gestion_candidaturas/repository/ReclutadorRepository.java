@@ -1,7 +1,12 @@
 package com.gestion_candidaturas.gestion_candidaturas.repository;
 
 import com.gestion_candidaturas.gestion_candidaturas.model.Reclutador;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,7 +14,19 @@ import java.util.UUID;
 
 public interface ReclutadorRepository extends JpaRepository<Reclutador, UUID> {
 
-    // Obtener todos los reclutadores de una empresa específica
+    /**
+     * Obtiene todos los reclutadores de una empresa específica.
+     * El resultado se guarda en la caché de consultas y los reclutadores en la de entidades, de modo que
+     * una lectura repetida no accede a la base de datos. Hibernate invalida los resultados cuando cambia
+     * la tabla de reclutadores.
+     *
+     * @param empresaId ID de la empresa
+     * @return Reclutadores de la empresa
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Reclutador.CACHE_REGION_POR_EMPRESA)
+    })
     List<Reclutador> findByEmpresaId(UUID empresaId);
 
     // Verificar si existe un reclutador con ese nombre en esa empresa
@@ -23,4 +40,16 @@ public interface ReclutadorRepository extends JpaRepository<Reclutador, UUID> {
      * @return Optional con el reclutador si existe, Optional vacío si no
      */
     Optional<Reclutador> findByNombreAndEmpresaId(String nombre, UUID empresaId);
+
+    /**
+     * Comprueba si un reclutador está asociado a alguna candidatura de un usuario con una única consulta
+     * de existencia, sin cargar el reclutador ni sus candidaturas.
+     *
+     * @param id ID del reclutador
+     * @param userId ID del usuario
+     * @return true si el reclutador existe y está asociado a alguna candidatura del usuario
+     */
+    @Query("SELECT COUNT(c) > 0 FROM Candidatura c JOIN c.reclutadores r " +
+            "WHERE r.id = :id AND c.user.id = :userId")
+    boolean isAsociadoACandidaturaDeUsuario(@Param("id") UUID id, @Param("userId") UUID userId);
 }
@@ -2,6 +2,9 @@ package com.gestion_candidaturas.gestion_candidaturas.repository;
 
 import com.gestion_candidaturas.gestion_candidaturas.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +19,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     // verificar si existe un usuario con ese email
     boolean existsByEmail(String email);
+
+    // Versión vigente de los tokens de un usuario, sin cargar la entidad
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") UUID id);
+
+    // Actualizar solo el hash de la contraseña, sin cargar la entidad
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,58 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Principal ligero construido únicamente a partir de los claims del token JWT.
+ * Se utiliza en el modo de autenticación sin estado para no acceder a la base de datos.
+ *
+ * @param id ID del usuario
+ * @param username Nombre de usuario
+ * @param role Rol del usuario
+ * @see RNF-11: Seguridad mediante JWT
+ */
+public record AuthenticatedUser(UUID id, String username, Role role) implements AuthenticatedPrincipal {
+
+    /**
+     * Construye el principal a partir de un token verificado.
+     *
+     * @param parsedToken Token verificado con los claims compactos
+     * @return Principal ligero del usuario
+     */
+    public static AuthenticatedUser from(ParsedToken parsedToken) {
+        return new AuthenticatedUser(parsedToken.userId(), parsedToken.subject(),
+                Role.valueOf(parsedToken.role()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /**
+     * Obtiene las autoridades del usuario derivadas de su rol.
+     *
+     * @return Autoridades con el prefijo "ROLE_" usado por Spring Security
+     */
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singleton(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    /**
+     * Convierte el principal en una entidad User no gestionada que solo contiene ID, username y rol.
+     * Es suficiente para asociar entidades al usuario y comprobar permisos sin consultar la BD.
+     *
+     * @return Usuario con los datos disponibles en el token
+     */
+    public User toUser() {
+        return new User(id, username, null, null, role);
+    }
+}
@@ -57,22 +57,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Extraer el token (quitar el prefijo "Bearer ")
                 String jwt = authorizationHeader.substring(7);
 
-                // Extraer el nombre de usuario del token
-                String username= jwtUtil.extractUsername(jwt);
+                // Verificar el token una sola vez (firma, expiración y revocación) y extraer su contenido
+                ParsedToken parsedToken = jwtUtil.parseToken(jwt);
+                String username = parsedToken.subject();
 
                 // Verificar si el nombre de usuario válido y no hay autenticación previa
                 if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Cargar detalles del usuario
-                    UserDetails userDetails = userService.loadUserByUsername(username);
+                    UsernamePasswordAuthenticationToken authentication = null;
 
-                    // Validar el token
-                    if(jwtUtil.validateToken(jwt, userDetails)){
-                        // Crear token de autenticación
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails, null, userDetails.getAuthorities()
-                                );
+                    if (jwtUtil.isStatelessMode() && parsedToken.hasCompactClaims()) {
+                        // Modo sin estado: el principal se construye con los claims, sin cargar el usuario
+                        if (userService.isTokenVersionCurrent(parsedToken.userId(), parsedToken.tokenVersion())) {
+                            AuthenticatedUser principal = AuthenticatedUser.from(parsedToken);
+                            authentication = new UsernamePasswordAuthenticationToken(
+                                    principal, null, principal.getAuthorities()
+                            );
+                        }
+                    } else {
+                        // Cargar detalles del usuario
+                        UserDetails userDetails = userService.loadUserByUsername(username);
 
+                        // Validar el token
+                        if(jwtUtil.validateToken(parsedToken, userDetails)){
+                            // Crear token de autenticación
+                            authentication = new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities()
+                            );
+                        }
+                    }
+
+                    if (authentication != null) {
                         // Establecer detalles de la solicitud
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
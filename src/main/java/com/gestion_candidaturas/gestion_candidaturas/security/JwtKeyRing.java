@@ -0,0 +1,404 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Anillo de claves de firma JWT respaldado por un keystore PKCS12 en disco.
+ * Permite que todos los nodos de un clúster validen los tokens emitidos por cualquiera de ellos
+ * y que los tokens sobrevivan a los reinicios.
+ *
+ * Cada clave se identifica por su alias, que viaja como cabecera "kid" en los tokens.
+ * Una clave nueva solo verifica tokens hasta que ha transcurrido un intervalo de recarga completo,
+ * de modo que todos los nodos la conocen antes de que alguno empiece a firmar con ella.
+ * En modo HS512 el nodo con la rotación activada genera las claves nuevas y retira las anteriores
+ * tras un periodo de gracia. En modo ES256 los pares de claves se crean con keytool y un
+ * nodo cuyo keystore solo contiene certificados puede verificar tokens pero no emitirlos.
+ *
+ * Si no se configura la ruta del keystore, se usa una clave HS512 en memoria válida solo para un nodo.
+ * Si se configura, el keystore debe existir: no se genera uno por nodo, ya que cada nodo firmaría
+ * con una clave que los demás desconocen.
+ *
+ * @see RNF-11: Seguridad mediante JWT
+ */
+@Component
+public class JwtKeyRing {
+
+    // Prefijo de los alias generados; incluye el instante de creación de la clave
+    private static final String GENERATED_ALIAS_PREFIX = "k-";
+
+    private final SignatureAlgorithm algorithm;
+    private final Path keystorePath;
+    private final char[] password;
+    private final boolean rotationEnabled;
+    private final Duration rotationPeriod;
+    private final Duration gracePeriod;
+    private final Duration promotionDelay;
+
+    // Vista inmutable de las claves; se sustituye completa al recargar o rotar
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), null, null);
+
+    /**
+     * Constructor para inyección de la configuración.
+     *
+     * @param algorithm Algoritmo de firma (HS512 o ES256)
+     * @param keystorePath Ruta del keystore PKCS12 (vacía para usar una clave en memoria de un solo nodo)
+     * @param password Contraseña del keystore y de sus entradas
+     * @param rotationEnabled Si este nodo rota las claves HS512 (solo uno debe hacerlo en un clúster)
+     * @param rotationPeriodDays Antigüedad máxima de la clave activa en días
+     * @param graceHours Horas durante las que una clave sustituida sigue validando tokens
+     * @param checkIntervalMs Intervalo de recarga del keystore; una clave nueva no firma hasta que ha transcurrido
+     */
+    @Autowired
+    public JwtKeyRing(@Value("${app.security.jwt.algorithm:HS512}") String algorithm,
+                      @Value("${app.security.jwt.keystore.path:}") String keystorePath,
+                      @Value("${app.security.jwt.keystore.password:changeit}") String password,
+                      @Value("${app.security.jwt.rotation.enabled:false}") boolean rotationEnabled,
+                      @Value("${app.security.jwt.rotation.period-days:30}") long rotationPeriodDays,
+                      @Value("${app.security.jwt.rotation.grace-hours:24}") long graceHours,
+                      @Value("${app.security.jwt.rotation.check-interval-ms:3600000}") long checkIntervalMs) {
+        this(SignatureAlgorithm.forName(algorithm), keystorePath.isBlank() ? null : Path.of(keystorePath),
+                password.toCharArray(), rotationEnabled, Duration.ofDays(rotationPeriodDays),
+                Duration.ofHours(graceHours), Duration.ofMillis(checkIntervalMs));
+    }
+
+    private JwtKeyRing(SignatureAlgorithm algorithm, Path keystorePath, char[] password, boolean rotationEnabled,
+                       Duration rotationPeriod, Duration gracePeriod, Duration promotionDelay) {
+        if (algorithm != SignatureAlgorithm.HS512 && algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalArgumentException("Algoritmo de firma no soportado: " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.keystorePath = keystorePath;
+        this.password = password;
+        this.rotationEnabled = rotationEnabled;
+        this.rotationPeriod = rotationPeriod;
+        this.gracePeriod = gracePeriod;
+        this.promotionDelay = promotionDelay;
+    }
+
+    /**
+     * Crea un anillo HS512 solo en memoria, con una única clave aleatoria.
+     * Útil para pruebas; los tokens no sobreviven al proceso.
+     *
+     * @return Anillo de claves efímero
+     */
+    public static JwtKeyRing ephemeral() {
+        JwtKeyRing keyRing = new JwtKeyRing(SignatureAlgorithm.HS512, null, new char[0],
+                false, Duration.ofDays(30), Duration.ZERO, Duration.ZERO);
+        String kid = newAlias(System.currentTimeMillis());
+        SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+        keyRing.snapshot = new Snapshot(Map.of(kid, key), kid, key);
+        return keyRing;
+    }
+
+    /**
+     * Carga el keystore al arrancar. Sin ruta configurada genera una clave HS512 en memoria; con ruta,
+     * falla si el keystore no existe o no contiene claves del algoritmo configurado.
+     *
+     * @throws IllegalStateException si el keystore configurado no existe o no contiene claves utilizables
+     */
+    @PostConstruct
+    public synchronized void init() {
+        KeyStore keyStore = loadKeyStore();
+        if (keystorePath == null) {
+            if (algorithm != SignatureAlgorithm.HS512) {
+                throw new IllegalStateException("El algoritmo " + algorithm
+                        + " requiere configurar app.security.jwt.keystore.path");
+            }
+            addGeneratedKey(keyStore);
+        }
+        snapshot = buildSnapshot(keyStore);
+        if (snapshot.verificationKeys().isEmpty()) {
+            throw new IllegalStateException("El keystore " + keystorePath + " no existe o no contiene claves "
+                    + algorithm + ". Créelo una sola vez y compártalo entre todos los nodos con: " + keytoolCommand());
+        }
+    }
+
+    /**
+     * Recarga el keystore para incorporar las claves rotadas por otros nodos y, si este nodo
+     * tiene la rotación activada, genera una nueva clave y retira las que superan la gracia.
+     * La clave generada se publica solo para verificación; empieza a firmar en una recarga posterior.
+     */
+    @Scheduled(fixedDelayString = "${app.security.jwt.rotation.check-interval-ms:3600000}",
+            initialDelayString = "${app.security.jwt.rotation.check-interval-ms:3600000}")
+    public synchronized void rotateIfNeeded() {
+        if (keystorePath == null) {
+            return;
+        }
+        KeyStore keyStore = loadKeyStore();
+        if (rotationEnabled && algorithm == SignatureAlgorithm.HS512) {
+            long now = System.currentTimeMillis();
+            List<String> aliases = signingAliasesByAge(keyStore);
+            String newestAlias = aliases.isEmpty() ? null : aliases.get(aliases.size() - 1);
+            boolean changed = false;
+            if (newestAlias == null || now - creationTime(keyStore, newestAlias) >= rotationPeriod.toMillis()) {
+                addGeneratedKey(keyStore);
+                changed = true;
+            }
+            changed |= removeRetiredKeys(keyStore, now);
+            if (changed) {
+                storeKeyStore(keyStore);
+            }
+        }
+        snapshot = buildSnapshot(keyStore);
+    }
+
+    /**
+     * Obtiene la clave de verificación asociada a un identificador de clave.
+     *
+     * @param kid Identificador de la clave (cabecera "kid" del token)
+     * @return Clave de verificación
+     * @throws JwtException si el token no indica clave o la clave es desconocida
+     */
+    public Key getVerificationKey(String kid) {
+        if (kid == null) {
+            throw new JwtException("El token no indica la clave de firma");
+        }
+        Key key = snapshot.verificationKeys().get(kid);
+        if (key == null) {
+            throw new JwtException("Clave de firma desconocida: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Obtiene la clave activa con la que se firman los nuevos tokens.
+     *
+     * @return Clave de firma con su identificador
+     * @throws IllegalStateException si este nodo solo puede verificar tokens
+     */
+    public SigningKey getSigningKey() {
+        Snapshot current = snapshot;
+        if (current.signingKey() == null) {
+            throw new IllegalStateException("Este nodo no dispone de una clave de firma " + algorithm);
+        }
+        return new SigningKey(current.activeKid(), current.signingKey());
+    }
+
+    /**
+     * Obtiene el algoritmo de firma configurado.
+     *
+     * @return Algoritmo de firma
+     */
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    private KeyStore loadKeyStore() {
+        try {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            if (keystorePath != null && Files.exists(keystorePath)) {
+                try (InputStream in = Files.newInputStream(keystorePath)) {
+                    keyStore.load(in, password);
+                }
+            } else {
+                keyStore.load(null, password);
+            }
+            return keyStore;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo cargar el keystore JWT " + keystorePath, e);
+        }
+    }
+
+    private void storeKeyStore(KeyStore keyStore) {
+        if (keystorePath == null) {
+            return;
+        }
+        try {
+            Path parent = keystorePath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            // Escribir en un fichero temporal y reemplazar de forma atómica
+            Path temp = Files.createTempFile(parent, "jwt-keys", ".tmp");
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // Sistema de ficheros sin permisos POSIX
+            }
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                keyStore.store(out, password);
+            }
+            Files.move(temp, keystorePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo guardar el keystore JWT " + keystorePath, e);
+        }
+    }
+
+    private void addGeneratedKey(KeyStore keyStore) {
+        try {
+            keyStore.setEntry(newAlias(System.currentTimeMillis()),
+                    new KeyStore.SecretKeyEntry(Keys.secretKeyFor(SignatureAlgorithm.HS512)),
+                    new KeyStore.PasswordProtection(password));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo generar una nueva clave JWT", e);
+        }
+    }
+
+    /**
+     * Elimina las claves cuya sucesora lleva firmando más tiempo que el periodo de gracia.
+     */
+    private boolean removeRetiredKeys(KeyStore keyStore, long now) {
+        List<String> aliases = signingAliasesByAge(keyStore);
+        boolean removed = false;
+        try {
+            for (int i = 0; i < aliases.size() - 1; i++) {
+                long successorSigning = creationTime(keyStore, aliases.get(i + 1)) + promotionDelay.toMillis();
+                if (now - successorSigning >= gracePeriod.toMillis()) {
+                    keyStore.deleteEntry(aliases.get(i));
+                    removed = true;
+                }
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudieron retirar las claves JWT caducadas", e);
+        }
+        return removed;
+    }
+
+    private Snapshot buildSnapshot(KeyStore keyStore) {
+        try {
+            Map<String, Key> verificationKeys = new HashMap<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                Key key = verificationKey(keyStore, alias);
+                if (key != null) {
+                    verificationKeys.put(alias, key);
+                }
+            }
+            String activeKid = findSigningAlias(keyStore);
+            Key signingKey = activeKid != null ? keyStore.getKey(activeKid, password) : null;
+            return new Snapshot(Map.copyOf(verificationKeys), activeKid, signingKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudieron leer las claves JWT", e);
+        }
+    }
+
+    /**
+     * Obtiene la clave pública o secreta que verifica las firmas de una entrada,
+     * o null si la entrada no corresponde al algoritmo configurado.
+     */
+    private Key verificationKey(KeyStore keyStore, String alias) throws GeneralSecurityException {
+        if (algorithm == SignatureAlgorithm.HS512) {
+            return keyStore.isKeyEntry(alias) && keyStore.getKey(alias, password) instanceof SecretKey secret
+                    ? secret : null;
+        }
+        Certificate certificate = keyStore.getCertificate(alias);
+        return certificate != null && "EC".equals(certificate.getPublicKey().getAlgorithm())
+                ? certificate.getPublicKey() : null;
+    }
+
+    /**
+     * Obtiene el alias con el que se firma: la clave más reciente que ya ha sido visible para todos
+     * los nodos durante un intervalo de recarga, o la más antigua si ninguna lo ha sido todavía.
+     */
+    private String findSigningAlias(KeyStore keyStore) {
+        List<String> aliases = signingAliasesByAge(keyStore);
+        if (aliases.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        for (int i = aliases.size() - 1; i > 0; i--) {
+            if (now - creationTime(keyStore, aliases.get(i)) >= promotionDelay.toMillis()) {
+                return aliases.get(i);
+            }
+        }
+        return aliases.get(0);
+    }
+
+    private String keytoolCommand() {
+        return algorithm == SignatureAlgorithm.HS512
+                ? "keytool -genseckey -keyalg HmacSHA512 -keysize 512 -storetype PKCS12 -keystore " + keystorePath
+                : "keytool -genkeypair -keyalg EC -groupname secp256r1 -sigalg SHA256withECDSA -storetype PKCS12"
+                        + " -keystore " + keystorePath;
+    }
+
+    /**
+     * Obtiene los alias que pueden firmar con el algoritmo configurado, del más antiguo al más reciente.
+     */
+    private List<String> signingAliasesByAge(KeyStore keyStore) {
+        try {
+            List<String> aliases = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (!keyStore.isKeyEntry(alias)) {
+                    continue;
+                }
+                Key key = keyStore.getKey(alias, password);
+                boolean matches = algorithm == SignatureAlgorithm.HS512
+                        ? key instanceof SecretKey
+                        : key instanceof PrivateKey && "EC".equals(key.getAlgorithm());
+                if (matches) {
+                    aliases.add(alias);
+                }
+            }
+            aliases.sort(Comparator.comparingLong(alias -> creationTime(keyStore, alias)));
+            return aliases;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudieron leer las claves JWT", e);
+        }
+    }
+
+    /**
+     * Obtiene el instante de creación de una clave. Para los alias generados se lee del propio alias,
+     * ya que PKCS12 no conserva de forma fiable la fecha de creación de las entradas.
+     */
+    private static long creationTime(KeyStore keyStore, String alias) {
+        if (alias.startsWith(GENERATED_ALIAS_PREFIX)) {
+            String[] parts = alias.split("-");
+            if (parts.length >= 2) {
+                try {
+                    return Long.parseLong(parts[1]);
+                } catch (NumberFormatException e) {
+                    // Alias con el prefijo pero sin marca de tiempo: usar la fecha del keystore
+                }
+            }
+        }
+        try {
+            Date created = keyStore.getCreationDate(alias);
+            return created != null ? created.getTime() : 0;
+        } catch (GeneralSecurityException e) {
+            return 0;
+        }
+    }
+
+    private static String newAlias(long createdAt) {
+        return GENERATED_ALIAS_PREFIX + createdAt + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Clave de firma activa junto con su identificador.
+     *
+     * @param kid Identificador de la clave
+     * @param key Clave de firma
+     */
+    public record SigningKey(String kid, Key key) {
+    }
+
+    private record Snapshot(Map<String, Key> verificationKeys, String activeKid, Key signingKey) {
+    }
+}
@@ -1,16 +1,27 @@
 package com.gestion_candidaturas.gestion_candidaturas.security;
 
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -22,11 +33,109 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    // Tiempo de validez del token en milisegundos (24 horas)
-    private static final long TOKEN_VALIDITY = 24 * 60 * 60 * 1000;
+    // Tiempo de validez por defecto de los tokens de acceso en milisegundos (15 minutos)
+    private static final long DEFAULT_TOKEN_VALIDITY = 15 * 60 * 1000;
 
-    // Clave secreta para firmar los tokens
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+    // Nombres de los claims compactos usados por el modo sin estado
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+    private static final String CLAIM_EPOCH = "ep";
+
+    // Anillo de claves de firma persistente y rotable
+    private final JwtKeyRing keyRing;
+
+    // Tokens revocados explícitamente (cierre de sesión)
+    private final TokenDenylist denylist;
+
+    // Parser construido una sola vez; resuelve la clave de verificación por "kid" en O(1)
+    private final JwtParser jwtParser;
+
+    // Si es true, el filtro construye el principal a partir de los claims sin acceder a la BD
+    private final boolean statelessMode;
+
+    // Época global: los tokens emitidos con una época anterior se rechazan
+    private final long epoch;
+
+    // Validez de los tokens de acceso; se renuevan mediante /api/auth/refresh
+    private final long tokenValidity;
+
+    /**
+     * Constructor con la configuración por defecto (modo con estado, época 0) y un anillo
+     * de claves en memoria.
+     */
+    public JwtUtil() {
+        this(false, 0);
+    }
+
+    /**
+     * Constructor con un anillo de claves en memoria.
+     *
+     * @param statelessMode Activa la autenticación sin estado a partir de los claims del token
+     * @param epoch Época global; incrementarla obliga a todos los usuarios a volver a iniciar sesión
+     */
+    public JwtUtil(boolean statelessMode, long epoch) {
+        this(JwtKeyRing.ephemeral(), statelessMode, epoch);
+    }
+
+    /**
+     * Constructor con un anillo de claves dado y una lista de revocación propia.
+     *
+     * @param keyRing Anillo de claves de firma
+     * @param statelessMode Activa la autenticación sin estado a partir de los claims del token
+     * @param epoch Época global; incrementarla obliga a todos los usuarios a volver a iniciar sesión
+     */
+    public JwtUtil(JwtKeyRing keyRing, boolean statelessMode, long epoch) {
+        this(keyRing, new TokenDenylist(), statelessMode, epoch, DEFAULT_TOKEN_VALIDITY);
+    }
+
+    /**
+     * Constructor para inyección de dependencias y de la configuración.
+     *
+     * @param keyRing Anillo de claves de firma
+     * @param denylist Lista de tokens revocados
+     * @param statelessMode Activa la autenticación sin estado a partir de los claims del token
+     * @param epoch Época global; incrementarla obliga a todos los usuarios a volver a iniciar sesión
+     * @param tokenValidity Validez de los tokens de acceso en milisegundos
+     */
+    @Autowired
+    public JwtUtil(JwtKeyRing keyRing,
+                   TokenDenylist denylist,
+                   @Value("${app.security.jwt.stateless:false}") boolean statelessMode,
+                   @Value("${app.security.jwt.epoch:0}") long epoch,
+                   @Value("${app.security.jwt.access-token-validity-ms:900000}") long tokenValidity) {
+        this.keyRing = keyRing;
+        this.denylist = denylist;
+        this.statelessMode = statelessMode;
+        this.epoch = epoch;
+        this.tokenValidity = tokenValidity;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyRing.getVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Indica si la autenticación sin estado está activada.
+     *
+     * @return true si el principal se construye a partir de los claims del token
+     */
+    public boolean isStatelessMode() {
+        return statelessMode;
+    }
+
+    /**
+     * Obtiene el tiempo de validez de los tokens emitidos.
+     *
+     * @return Validez en milisegundos
+     */
+    public long getTokenValidity() {
+        return tokenValidity;
+    }
 
     /**
      * Genera un token JWT para un usuario.
@@ -36,9 +145,23 @@ public class JwtUtil {
      */
     public String generateToken(UserDetails userDetails){
         Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_EPOCH, epoch);
+
+        // Claims compactos: ID, rol y versión del usuario
+        User user = userDetails instanceof User candidate
+                && candidate.getId() != null && candidate.getRole() != null ? candidate : null;
+        if (user != null) {
+            claims.put(CLAIM_USER_ID, user.getId().toString());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        }
 
-        // Agregar información de roles en los claims
-        claims.put("authorities", userDetails.getAuthorities());
+        // En el modo sin estado las autoridades se derivan del rol
+        if (!statelessMode || user == null) {
+            claims.put("authorities", userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList());
+        }
 
         return createToken(claims, userDetails.getUsername());
     }
@@ -52,14 +175,18 @@ public class JwtUtil {
      */
     private String createToken(Map<String, Object> claims, String subject){
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + TOKEN_VALIDITY);
+        Date expiryDate = new Date(now.getTime() + tokenValidity);
+
+        JwtKeyRing.SigningKey signingKey = keyRing.getSigningKey();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(key)
+                .signWith(signingKey.key(), keyRing.getAlgorithm())
                 .compact();
     }
 
@@ -102,24 +229,86 @@ public class JwtUtil {
      * @return Todos los claims contenidos en el token
      */
     private Claims extractAllClaims(String token){
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(key)
-                .build()
+        Claims claims = jwtParser
                 .parseClaimsJws(token)
                 .getBody();
+
+        // Rechazar tokens emitidos antes de la época vigente
+        Number tokenEpoch = claims.get(CLAIM_EPOCH, Number.class);
+        if ((tokenEpoch != null ? tokenEpoch.longValue() : 0) < epoch) {
+            throw new JwtException("Token emitido en una época anterior");
+        }
+
+        // Rechazar tokens revocados; el filtro de Bloom evita cualquier búsqueda en el caso habitual
+        if (denylist.isRevoked(claims.getId())) {
+            throw new JwtException("Token revocado");
+        }
+        return claims;
     }
 
     /**
-     * Verifica si el token ha expirado.
+     * Verifica la firma y la expiración del token una única vez y devuelve su contenido.
+     * Es el método que debe usarse en el camino caliente de cada solicitud.
      *
      * @param token Token JWT
-     * @return true si el token ha expirado, false en caso contrario
+     * @return Token verificado con su subject, expiración, autoridades e ID
+     * @throws JwtException si el token es inválido, está mal formado o ha expirado
+     */
+    public ParsedToken parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+
+        List<String> authorities = extractAuthorities(claims);
+        if (authorities.isEmpty() && role != null) {
+            authorities = List.of("ROLE_" + role);
+        }
+
+        return new ParsedToken(
+                claims.getId(),
+                claims.getSubject(),
+                userId != null ? UUID.fromString(userId) : null,
+                role,
+                tokenVersion != null ? tokenVersion.intValue() : 0,
+                claims.getExpiration(),
+                authorities
+        );
+    }
+
+    /**
+     * Revoca un token hasta su expiración, de modo que deje de ser aceptado aunque su firma sea válida.
+     *
+     * @param token Token JWT a revocar
+     * @throws JwtException si el token es inválido, está mal formado, ha expirado o ya estaba revocado
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public void revokeToken(String token) {
+        Claims claims = extractAllClaims(token);
+        denylist.revoke(claims.getId(), claims.getExpiration().getTime());
     }
 
+    /**
+     * Convierte el claim de autoridades en una lista de nombres de autoridad.
+     * Acepta tanto cadenas como objetos con la clave "authority".
+     *
+     * @param claims Claims del token
+     * @return Lista de autoridades, vacía si el claim no existe
+     */
+    private List<String> extractAuthorities(Claims claims) {
+        Object raw = claims.get("authorities");
+        if (!(raw instanceof Collection<?> values)) {
+            return Collections.emptyList();
+        }
+        List<String> authorities = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value instanceof Map<?, ?> map && map.get("authority") != null) {
+                authorities.add(map.get("authority").toString());
+            } else if (value != null) {
+                authorities.add(value.toString());
+            }
+        }
+        return authorities;
+    }
 
     /**
      * Valida un token JWT para un usuario específico.
@@ -129,7 +318,24 @@ public class JwtUtil {
      * @return true si el token es válido para el usuario, false en caso contrario
      */
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parseToken(token), userDetails);
+    }
+
+    /**
+     * Valida un token ya verificado para un usuario específico, sin volver a parsearlo.
+     *
+     * @param parsedToken Token verificado mediante {@link #parseToken(String)}
+     * @param userDetails Detalles del usuario para el que se validará el token
+     * @return true si el token es válido para el usuario, false en caso contrario
+     */
+    public boolean validateToken(ParsedToken parsedToken, UserDetails userDetails) {
+        // Un token emitido antes de un cambio de rol o estado deja de ser válido
+        if (userDetails instanceof User user && parsedToken.hasCompactClaims()
+                && parsedToken.tokenVersion() < user.getTokenVersion()) {
+            return false;
+        }
+        return parsedToken.subject() != null
+                && parsedToken.subject().equals(userDetails.getUsername())
+                && !parsedToken.isExpired();
     }
 }
@@ -0,0 +1,28 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Excepción lanzada cuando el ejecutor de verificación de contraseñas está saturado
+ * y el inicio de sesión se rechaza de inmediato en lugar de encolarse.
+ *
+ * @see RF-10: Autenticación mediante credenciales
+ */
+public class LoginThrottledException extends AuthenticationException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Obtiene el tiempo sugerido antes de reintentar.
+     *
+     * @return Segundos a esperar antes de reintentar
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
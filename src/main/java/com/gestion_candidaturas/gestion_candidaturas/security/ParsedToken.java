@@ -0,0 +1,49 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Representación inmutable de un token JWT cuya firma y expiración ya han sido verificadas.
+ * Se obtiene con una única verificación mediante {@link JwtUtil#parseToken(String)}.
+ *
+ * @param id Identificador único del token (claim jti)
+ * @param subject Username del usuario al que pertenece el token
+ * @param userId ID del usuario (claim uid), null en tokens sin claims compactos
+ * @param role Rol del usuario (claim role), null en tokens sin claims compactos
+ * @param tokenVersion Versión de los tokens del usuario en el momento de la emisión (claim ver)
+ * @param expiration Fecha de expiración del token
+ * @param authorities Autoridades del usuario incluidas en el token
+ */
+public record ParsedToken(String id, String subject, UUID userId, String role, int tokenVersion,
+                          Date expiration, List<String> authorities) {
+
+    public ParsedToken {
+        expiration = expiration != null ? new Date(expiration.getTime()) : null;
+        authorities = authorities != null ? List.copyOf(authorities) : List.of();
+    }
+
+    @Override
+    public Date expiration() {
+        return expiration != null ? new Date(expiration.getTime()) : null;
+    }
+
+    /**
+     * Verifica si el token contiene los claims compactos necesarios para el modo sin estado.
+     *
+     * @return true si incluye ID de usuario y rol, false en caso contrario
+     */
+    public boolean hasCompactClaims() {
+        return userId != null && role != null;
+    }
+
+    /**
+     * Verifica si el token ha expirado respecto al instante actual.
+     *
+     * @return true si el token ha expirado, false en caso contrario
+     */
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,192 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de control de admisión que limita la tasa de solicitudes antes de llegar a los controladores.
+ *
+ * Cada solicitud se asocia a la primera regla cuya ruta coincide y consume un token del bucket
+ * del usuario autenticado (ID del JWT) o, en /api/auth/** y solicitudes anónimas, de la IP del cliente.
+ * Las respuestas incluyen las cabeceras RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset y
+ * RateLimit-Policy; las solicitudes rechazadas reciben 429 con Retry-After.
+ *
+ * Se ejecuta después de JwtAuthenticationFilter para disponer del usuario autenticado.
+ *
+ * @see RNF-11: Seguridad mediante JWT
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH_PATTERN = "/api/auth/**";
+    private static final String THROTTLED_BODY =
+            "{\"status\":\"error\",\"error\":{\"code\":\"TOO_MANY_REQUESTS\","
+                    + "\"message\":\"Demasiadas solicitudes, inténtelo de nuevo más tarde\"}}";
+
+    private final boolean enabled;
+    private final List<Rule> rules;
+    private final RateLimiter rateLimiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    /**
+     * Constructor para inyección de la configuración.
+     *
+     * @param enabled Activa la limitación de tasa
+     * @param maxKeys Número máximo de buckets en memoria
+     * @param stripes Número de franjas del mapa de buckets
+     * @param rules Reglas por ruta con el formato "patrón=solicitudes/segundos", separadas por comas;
+     *              se aplica la primera que coincide
+     */
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${app.rate-limit.stripes:64}") int stripes,
+                           @Value("${app.rate-limit.rules:/api/auth/**=20/60,/**=300/60}") String rules) {
+        this.enabled = enabled;
+        this.rules = parseRules(rules);
+        this.rateLimiter = new RateLimiter(maxKeys, stripes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Las solicitudes preflight de CORS no consumen cuota
+        return !enabled || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Rule rule = findRule(path);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = rule.index() + ":" + clientKey(request, path);
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(key, rule.capacity(), rule.periodSeconds());
+
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        response.setHeader("RateLimit-Policy", rule.capacity() + ";w=" + rule.periodSeconds());
+
+        if (!decision.allowed()) {
+            throttled.increment();
+            rule.throttled().increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write(THROTTLED_BODY);
+            return;
+        }
+
+        allowed.increment();
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Obtiene las estadísticas del limitador.
+     *
+     * @return Mapa con solicitudes admitidas, rechazadas (total y por regla) y buckets en memoria
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("allowed", allowed.sum());
+        stats.put("throttled", throttled.sum());
+        Map<String, Long> throttledByRule = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            throttledByRule.put(rule.pattern(), rule.throttled().sum());
+        }
+        stats.put("throttledByRule", throttledByRule);
+        stats.put("buckets", rateLimiter.size());
+        stats.put("evictions", rateLimiter.getEvictions());
+        return stats;
+    }
+
+    /**
+     * Determina la clave del cliente: el ID del usuario autenticado o, en los endpoints de
+     * autenticación y en solicitudes anónimas, la IP del cliente.
+     */
+    private String clientKey(HttpServletRequest request, String path) {
+        if (!pathMatcher.match(AUTH_PATH_PATTERN, path)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            Object principal = authentication != null ? authentication.getPrincipal() : null;
+            if (principal instanceof User user && user.getId() != null) {
+                return "user:" + user.getId();
+            }
+            if (principal instanceof AuthenticatedUser authenticatedUser) {
+                return "user:" + authenticatedUser.id();
+            }
+        }
+        // Tras un proxy inverso, configurar server.forward-headers-strategy para obtener la IP real
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Rule findRule(String path) {
+        for (Rule rule : rules) {
+            if (pathMatcher.match(rule.pattern(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Interpreta las reglas con el formato "patrón=solicitudes/segundos".
+     */
+    private static List<Rule> parseRules(String value) {
+        List<Rule> parsed = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int equals = trimmed.lastIndexOf('=');
+            int slash = trimmed.lastIndexOf('/');
+            if (equals <= 0 || slash < equals) {
+                throw new IllegalArgumentException("Regla de limitación de tasa no válida: " + trimmed);
+            }
+            int capacity = Integer.parseInt(trimmed.substring(equals + 1, slash).trim());
+            long periodSeconds = Long.parseLong(trimmed.substring(slash + 1).trim());
+            if (capacity <= 0 || periodSeconds <= 0) {
+                throw new IllegalArgumentException("Regla de limitación de tasa no válida: " + trimmed);
+            }
+            parsed.add(new Rule(parsed.size(), trimmed.substring(0, equals).trim(), capacity, periodSeconds,
+                    new LongAdder()));
+        }
+        return List.copyOf(parsed);
+    }
+
+    /**
+     * Regla de limitación asociada a un patrón de ruta.
+     */
+    private record Rule(int index, String pattern, int capacity, long periodSeconds, LongAdder throttled) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de tasa por clave basado en token bucket.
+ *
+ * Cada bucket se representa con un único AtomicLong (instante teórico de llegada, algoritmo GCRA,
+ * equivalente a un token bucket) que se actualiza con CAS, por lo que admitir una solicitud no
+ * requiere bloqueos. Los buckets se guardan en un mapa particionado en franjas LRU acotadas:
+ * cada franja tiene su propio bloqueo y la memoria no crece con el número de claves distintas.
+ *
+ * @see RNF-11: Seguridad mediante JWT
+ */
+public class RateLimiter {
+
+    private final Stripe[] stripes;
+    private final LongSupplier clock;
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor con el número máximo de buckets y el reloj del sistema.
+     *
+     * @param maxKeys Número máximo de buckets en memoria
+     * @param stripeCount Número de franjas del mapa
+     */
+    public RateLimiter(int maxKeys, int stripeCount) {
+        this(maxKeys, stripeCount, System::nanoTime);
+    }
+
+    /**
+     * Constructor con un reloj explícito (en nanosegundos).
+     *
+     * @param maxKeys Número máximo de buckets en memoria
+     * @param stripeCount Número de franjas del mapa
+     * @param clock Reloj monotónico en nanosegundos
+     */
+    public RateLimiter(int maxKeys, int stripeCount, LongSupplier clock) {
+        int count = Math.max(1, stripeCount);
+        int perStripe = Math.max(1, maxKeys / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe, evictions);
+        }
+        this.clock = clock;
+    }
+
+    /**
+     * Intenta consumir un token del bucket de una clave.
+     *
+     * @param key Clave del bucket (usuario o IP, junto con la regla aplicada)
+     * @param capacity Número de solicitudes permitidas por periodo (tamaño de ráfaga)
+     * @param periodSeconds Duración del periodo en segundos
+     * @return Decisión con los datos necesarios para las cabeceras RateLimit
+     */
+    public Decision tryAcquire(String key, int capacity, long periodSeconds) {
+        long interval = TimeUnit.SECONDS.toNanos(periodSeconds) / capacity;
+        long tolerance = interval * (capacity - 1);
+        AtomicLong bucket = bucket(key);
+
+        while (true) {
+            long now = clock.getAsLong();
+            long current = bucket.get();
+            long base = current == Long.MIN_VALUE ? now : Math.max(current, now);
+
+            if (base - now > tolerance) {
+                // Bucket vacío: no se consume nada y se indica cuándo habrá un token disponible
+                return new Decision(false, capacity, 0, base - now, base - now - tolerance);
+            }
+
+            long next = base + interval;
+            if (bucket.compareAndSet(current, next)) {
+                long debt = next - now;
+                int remaining = (int) ((tolerance + interval - debt) / interval);
+                return new Decision(true, capacity, remaining, debt, 0);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el número de buckets en memoria.
+     *
+     * @return Número de buckets
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private AtomicLong bucket(String key) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % stripes.length];
+        synchronized (stripe) {
+            return stripe.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+    }
+
+    /**
+     * Resultado de un intento de consumo.
+     *
+     * @param allowed Si la solicitud se admite
+     * @param limit Capacidad del bucket
+     * @param remaining Solicitudes restantes en la ventana actual
+     * @param resetNanos Tiempo hasta que el bucket vuelve a estar lleno
+     * @param retryAfterNanos Tiempo hasta el siguiente token disponible (0 si se admite)
+     */
+    public record Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+
+        public long resetSeconds() {
+            return toSecondsCeil(resetNanos);
+        }
+
+        public long retryAfterSeconds() {
+            return Math.max(1, toSecondsCeil(retryAfterNanos));
+        }
+
+        private static long toSecondsCeil(long nanos) {
+            return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        }
+    }
+
+    /**
+     * Franja del mapa: LRU en orden de acceso con tamaño máximo.
+     */
+    private static final class Stripe extends LinkedHashMap<String, AtomicLong> {
+
+        private final int maxSize;
+        private final LongAdder evictions;
+
+        Stripe(int maxSize, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AtomicLong> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Proveedor de autenticación que ejecuta la verificación de contraseñas (BCrypt) en un
+ * ejecutor acotado, separado de los hilos de Tomcat.
+ *
+ * Una ráfaga de inicios de sesión ocupa como máximo los hilos del ejecutor; cuando además
+ * la cola está llena, la solicitud se rechaza de inmediato con {@link LoginThrottledException}
+ * (429) en lugar de consumir CPU y dejar sin hilos al resto de endpoints.
+ *
+ * @see RF-10: Autenticación mediante credenciales
+ * @see RNF-11: Seguridad mediante JWT
+ */
+public class ThrottledAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    /**
+     * Constructor con el proveedor delegado y los límites del ejecutor.
+     *
+     * @param delegate Proveedor que realiza la verificación (normalmente DaoAuthenticationProvider)
+     * @param threads Número de hilos dedicados a verificar contraseñas
+     * @param queueCapacity Número máximo de verificaciones en espera
+     * @param timeoutMillis Tiempo máximo de espera de una verificación
+     */
+    public ThrottledAuthenticationProvider(AuthenticationProvider delegate, int threads,
+                                           int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-verifier-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Autentica delegando en el ejecutor acotado.
+     *
+     * @param authentication Solicitud de autenticación
+     * @return Autenticación completada
+     * @throws LoginThrottledException si el ejecutor está saturado o la verificación no termina a tiempo
+     */
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> delegate.authenticate(authentication));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginThrottledException("Demasiados inicios de sesión simultáneos", 1);
+        }
+
+        try {
+            Authentication authenticated = result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            completed.increment();
+            return authenticated;
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timedOut.increment();
+            throw new LoginThrottledException("Tiempo de espera agotado al verificar las credenciales",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)));
+        } catch (ExecutionException e) {
+            completed.increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AuthenticationServiceException("Error al verificar las credenciales", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new AuthenticationServiceException("Verificación de credenciales interrumpida", e);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Obtiene las estadísticas del ejecutor de verificación.
+     *
+     * @return Mapa con hilos, ocupación, cola y contadores de rechazos
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        stats.put("completed", completed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        return stats;
+    }
+
+    /**
+     * Detiene el ejecutor al cerrar el contexto de la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,218 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lista en memoria de tokens revocados (por ejemplo, al cerrar sesión), identificados por su claim jti.
+ *
+ * Un filtro de Bloom delante de un conjunto exacto permite responder en O(1) y sin acceder a la BD:
+ * para la inmensa mayoría de tokens, que no están revocados, basta con consultar unos pocos bits.
+ * Cada entrada del conjunto exacto caduca con la expiración del propio token, y el filtro de Bloom
+ * se renueva por generaciones, de modo que la memoria permanece acotada.
+ *
+ * @see RF-10: Cierre de sesión seguro
+ */
+@Component
+public class TokenDenylist {
+
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final long generationMillis;
+
+    // jti -> instante de expiración del token revocado
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+
+    private final LongAdder revocations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * Constructor con la configuración por defecto.
+     */
+    public TokenDenylist() {
+        this(100_000, 0.01, 24);
+    }
+
+    /**
+     * Constructor para inyección de la configuración.
+     *
+     * @param expectedRevocations Revocaciones esperadas por generación del filtro de Bloom
+     * @param falsePositiveRate Tasa de falsos positivos objetivo del filtro de Bloom
+     * @param generationHours Duración de cada generación; debe ser al menos la validez de los tokens
+     */
+    @Autowired
+    public TokenDenylist(@Value("${app.security.jwt.denylist.expected-revocations:100000}") int expectedRevocations,
+                         @Value("${app.security.jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${app.security.jwt.denylist.generation-hours:24}") long generationHours) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.generationMillis = generationHours * 60 * 60 * 1000;
+        this.current = new BloomFilter(expectedRevocations, falsePositiveRate, System.currentTimeMillis());
+        this.previous = null;
+    }
+
+    /**
+     * Revoca un token hasta su expiración.
+     *
+     * @param jti Identificador único del token
+     * @param expiresAt Instante de expiración del token en milisegundos
+     */
+    public void revoke(String jti, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (jti == null || expiresAt <= now) {
+            return;
+        }
+        rotateIfNeeded(now);
+        revoked.put(jti, expiresAt);
+        current.add(jti);
+        revocations.increment();
+    }
+
+    /**
+     * Verifica si un token ha sido revocado.
+     *
+     * @param jti Identificador único del token
+     * @return true si el token está revocado y aún no ha expirado
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        // Camino rápido: el filtro de Bloom descarta sin falsos negativos
+        BloomFilter older = previous;
+        if (!current.mightContain(jti) && (older == null || !older.mightContain(jti))) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        if (expiresAt == null) {
+            falsePositives.increment();
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            revoked.remove(jti, expiresAt);
+            return false;
+        }
+        rejections.increment();
+        return true;
+    }
+
+    /**
+     * Elimina periódicamente las revocaciones de tokens ya expirados.
+     */
+    @Scheduled(fixedDelayString = "${app.security.jwt.denylist.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        rotateIfNeeded(now);
+    }
+
+    /**
+     * Obtiene el número de revocaciones vigentes.
+     *
+     * @return Número de tokens revocados no expirados
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Obtiene las estadísticas de uso de la lista de revocación.
+     *
+     * @return Mapa con tamaño, revocaciones, rechazos y falsos positivos del filtro de Bloom
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", revoked.size());
+        stats.put("revocations", revocations.sum());
+        stats.put("rejections", rejections.sum());
+        stats.put("bloomFalsePositives", falsePositives.sum());
+        return stats;
+    }
+
+    /**
+     * Inicia una nueva generación del filtro de Bloom cuando la actual ha cubierto su ventana.
+     * Como ningún token vive más que una generación, basta con conservar la anterior.
+     */
+    private void rotateIfNeeded(long now) {
+        if (now - current.createdAt < generationMillis) {
+            return;
+        }
+        synchronized (this) {
+            if (now - current.createdAt >= generationMillis) {
+                previous = current;
+                current = new BloomFilter(expectedRevocations, falsePositiveRate, now);
+            }
+        }
+    }
+
+    /**
+     * Filtro de Bloom concurrente sin bloqueos sobre un array de bits.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final int bitCount;
+        private final int hashCount;
+        private final long createdAt;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate, long createdAt) {
+            int n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+            this.bits = new AtomicLongArray((bitCount + 63) / 64);
+            this.createdAt = createdAt;
+        }
+
+        void add(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << (bit & 63);
+                bits.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Hash FNV-1a de 64 bits con mezcla final para repartir mejor los bits altos y bajos.
+         */
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
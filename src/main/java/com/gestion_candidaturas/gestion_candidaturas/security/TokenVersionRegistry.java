@@ -0,0 +1,119 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+
+/**
+ * Versión mínima de token aceptada para cada usuario, leída de la columna users.token_version
+ * y cacheada en memoria con un tiempo de vida corto.
+ * La base de datos es la fuente compartida por todos los nodos: un cambio de rol o de estado hecho
+ * en un nodo se aplica en él de inmediato y en los demás en cuanto caduca su entrada en caché,
+ * y se conserva tras un reinicio. En el modo sin estado evita consultar la base de datos en cada solicitud.
+ *
+ * @see RNF-11: Seguridad mediante JWT
+ */
+@Component
+public class TokenVersionRegistry {
+
+    // Versión de un usuario eliminado: ningún token la alcanza
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // Mapa en orden de acceso: la primera entrada es siempre la menos usada recientemente
+    private final LinkedHashMap<UUID, CachedVersion> versions = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Constructor con el repositorio de usuarios y los límites de la caché.
+     *
+     * @param userRepository Repositorio del que se lee la versión vigente
+     * @param maxSize Número máximo de usuarios en caché
+     * @param ttlSeconds Segundos durante los que un nodo puede aceptar tokens invalidados en otro nodo
+     */
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${app.security.jwt.token-version.cache-max-size:10000}") int maxSize,
+                                @Value("${app.security.jwt.token-version.cache-ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Verifica si la versión del token es la vigente para el usuario.
+     *
+     * @param userId ID del usuario
+     * @param tokenVersion Versión incluida en el token
+     * @return true si el token no ha quedado invalidado, false en caso contrario
+     */
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        return tokenVersion >= currentVersion(userId);
+    }
+
+    /**
+     * Registra la versión actual de los tokens de un usuario tras guardarla en la base de datos,
+     * para que este nodo la aplique sin esperar a que caduque la caché.
+     *
+     * @param userId ID del usuario
+     * @param tokenVersion Nueva versión mínima aceptada
+     */
+    public void update(UUID userId, int tokenVersion) {
+        put(userId, tokenVersion);
+    }
+
+    /**
+     * Invalida todos los tokens de un usuario (por ejemplo, al eliminarlo).
+     * Los demás nodos lo detectan al no encontrar el usuario cuando caduca su entrada.
+     *
+     * @param userId ID del usuario
+     */
+    public void revokeAll(UUID userId) {
+        put(userId, REVOKED);
+    }
+
+    private int currentVersion(UUID userId) {
+        synchronized (this) {
+            CachedVersion cached = versions.get(userId);
+            if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+                return cached.version();
+            }
+        }
+        // La consulta se hace fuera del bloqueo; un usuario inexistente no tiene tokens válidos
+        int version = userRepository.findTokenVersionById(userId).orElse(REVOKED);
+        return put(userId, version);
+    }
+
+    /**
+     * Guarda una versión en caché sin retroceder respecto a una entrada vigente: las versiones solo
+     * crecen, así que una lectura concurrente anterior al cambio no puede deshacerlo.
+     */
+    private synchronized int put(UUID userId, int version) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(userId);
+        if (cached != null && !cached.isExpired(now) && cached.version() > version) {
+            version = cached.version();
+        }
+        if (maxSize <= 0) {
+            return version;
+        }
+        versions.put(userId, new CachedVersion(version, now + ttlMillis));
+        while (versions.size() > maxSize) {
+            Iterator<UUID> eldest = versions.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        return version;
+    }
+
+    private record CachedVersion(int version, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché en memoria de los usuarios autenticados, acotada por tamaño y por tiempo de vida.
+ * Evita que el filtro JWT consulte la tabla users en cada solicitud autenticada.
+ * Las entradas se invalidan explícitamente desde UserService cuando un usuario cambia.
+ *
+ * @see RNF-11: Seguridad mediante JWT
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // Mapa en orden de acceso: la primera entrada es siempre la menos usada recientemente
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Constructor con los límites de la caché.
+     *
+     * @param maxSize Número máximo de usuarios en caché
+     * @param ttlSeconds Tiempo de vida de cada entrada en segundos
+     */
+    public UserPrincipalCache(@Value("${app.security.user-cache.max-size:1000}") int maxSize,
+                              @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Obtiene un usuario de la caché si existe y no ha expirado.
+     *
+     * @param username Nombre de usuario
+     * @return Optional con el usuario en caché, Optional vacío si no está o ha expirado
+     */
+    public synchronized Optional<User> get(String username) {
+        CacheEntry entry = entries.get(username);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(username);
+            evictions.increment();
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.user());
+    }
+
+    /**
+     * Almacena un usuario en la caché, desalojando el menos usado si se supera el tamaño máximo.
+     *
+     * @param user Usuario a almacenar
+     */
+    public synchronized void put(User user) {
+        if (maxSize <= 0) {
+            return;
+        }
+        entries.put(user.getUsername(), new CacheEntry(user, System.currentTimeMillis() + ttlMillis));
+        while (entries.size() > maxSize) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Invalida la entrada de un usuario por su nombre de usuario.
+     *
+     * @param username Nombre de usuario a invalidar
+     */
+    public synchronized void evict(String username) {
+        if (username != null && entries.remove(username) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Invalida la entrada de un usuario por su ID.
+     * Recorre la caché, lo cual es aceptable al estar acotada y ser una operación poco frecuente.
+     *
+     * @param id ID del usuario a invalidar
+     */
+    public synchronized void evictById(UUID id) {
+        if (id == null) {
+            return;
+        }
+        if (entries.values().removeIf(entry -> id.equals(entry.user().getId()))) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Vacía la caché por completo.
+     */
+    public synchronized void clear() {
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * Obtiene las estadísticas de uso de la caché.
+     *
+     * @return Mapa con tamaño, aciertos, fallos, desalojos e invalidaciones
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Entrada de la caché con su instante de expiración.
+     */
+    private record CacheEntry(User user, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.error.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Posición de un listado de candidaturas ordenado por (fecha DESC, id DESC).
+ * Se serializa como un cursor opaco en Base64 URL-safe; el cliente solo debe devolverlo tal cual.
+ * La fecha conserva la precisión completa (nanosegundos) para que la comparación de igualdad
+ * con la columna no descarte ni repita filas con la misma fecha.
+ *
+ * @param fecha Fecha de la última candidatura devuelta (null si no tenía fecha)
+ * @param id ID de la última candidatura devuelta
+ */
+public record CandidaturaCursor(Instant fecha, UUID id) {
+
+    private static final String NO_DATE = "-";
+
+    /**
+     * Crea el cursor que apunta justo después de una candidatura.
+     *
+     * @param fecha Fecha de la candidatura
+     * @param id ID de la candidatura
+     * @return Cursor
+     */
+    public static CandidaturaCursor after(Date fecha, UUID id) {
+        return new CandidaturaCursor(fecha != null ? fecha.toInstant() : null, id);
+    }
+
+    /**
+     * Serializa el cursor.
+     *
+     * @return Cursor opaco
+     */
+    public String encode() {
+        String raw = (fecha != null ? fecha.toString() : NO_DATE) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Interpreta un cursor opaco.
+     *
+     * @param cursor Cursor recibido del cliente
+     * @return Posición del listado
+     * @throws InvalidCursorException si el cursor no es válido
+     */
+    public static CandidaturaCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            String fecha = raw.substring(0, separator);
+            return new CandidaturaCursor(NO_DATE.equals(fecha) ? null : Instant.parse(fecha),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Cursor de paginación no válido");
+        }
+    }
+
+    /**
+     * Obtiene la fecha como parámetro de consulta, conservando los nanosegundos.
+     *
+     * @return Fecha del cursor
+     */
+    public Date fechaAsDate() {
+        return fecha != null ? Timestamp.from(fecha) : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadisticasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Interfaz que define el mantenimiento y la consulta de las estadísticas agregadas de candidaturas.
+ * Los métodos de registro deben invocarse dentro de la transacción que modifica la candidatura.
+ *
+ * @see RF-03: Visualización de candidaturas
+ */
+public interface CandidaturaEstadisticasService {
+
+    /**
+     * Suma una candidatura nueva a los contadores de su usuario.
+     *
+     * @param candidatura Candidatura creada
+     */
+    void registrarAlta(Candidatura candidatura);
+
+    /**
+     * Suma un lote de candidaturas nuevas de un mismo usuario, con una sentencia por contador afectado
+     * en lugar de una por candidatura.
+     *
+     * @param userId ID del usuario propietario
+     * @param altas Valores agregados de las candidaturas creadas
+     */
+    void registrarAltas(UUID userId, Collection<Candidatura.ValoresAgregados> altas);
+
+    /**
+     * Traslada una candidatura existente entre contadores si ha cambiado su estado, fecha o empresa.
+     *
+     * @param candidatura Candidatura modificada, con sus valores persistidos
+     */
+    void registrarCambio(Candidatura candidatura);
+
+    /**
+     * Traslada varias candidaturas de un mismo usuario al contador de un nuevo estado, tras un UPDATE masivo.
+     * Solo cambia la dimensión de estado; se ejecuta una sentencia por contador afectado.
+     *
+     * @param userId ID del usuario propietario
+     * @param anteriores Estado anterior de cada candidatura actualizada (puede contener null)
+     * @param nuevo Nuevo estado
+     */
+    void registrarCambiosEstado(UUID userId, Collection<EstadoCandidatura> anteriores, EstadoCandidatura nuevo);
+
+    /**
+     * Resta una candidatura eliminada de los contadores de su usuario.
+     *
+     * @param candidatura Candidatura eliminada, con sus valores persistidos
+     */
+    void registrarBaja(Candidatura candidatura);
+
+    /**
+     * Obtiene las estadísticas de un usuario leyendo solo sus contadores.
+     *
+     * @param userId ID del usuario
+     * @return Candidaturas por estado, por mes y por empresa
+     */
+    CandidaturaEstadisticasDTO getEstadisticas(UUID userId);
+
+    /**
+     * Reconstruye todos los contadores desde las candidaturas, si este nodo tiene la reconciliación activada.
+     */
+    void reconciliar();
+}
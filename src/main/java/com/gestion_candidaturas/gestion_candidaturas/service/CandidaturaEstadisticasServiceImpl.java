@@ -0,0 +1,203 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadisticasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.CandidaturaEstadistica;
+import com.gestion_candidaturas.gestion_candidaturas.model.CandidaturaEstadistica.Dimension;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.repository.CandidaturaEstadisticaRepository;
+import com.gestion_candidaturas.gestion_candidaturas.repository.EmpresaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Implementación de las estadísticas de candidaturas sobre contadores agregados.
+ * Cada alta, cambio o baja se traduce en unas pocas sentencias "INSERT ... ON DUPLICATE KEY UPDATE"
+ * en la misma transacción, y la lectura solo recorre los contadores del usuario.
+ */
+@Service
+public class CandidaturaEstadisticasServiceImpl implements CandidaturaEstadisticasService {
+
+    private static final DateTimeFormatter MES = DateTimeFormatter.ofPattern("yyyy-MM").withZone(ZoneOffset.UTC);
+
+    private final CandidaturaEstadisticaRepository estadisticaRepository;
+    private final EmpresaRepository empresaRepository;
+    private final boolean reconciliacionActivada;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param estadisticaRepository Repositorio de contadores
+     * @param empresaRepository Repositorio de empresas
+     * @param reconciliacionActivada Si este nodo reconstruye los contadores (solo uno debe hacerlo en un clúster)
+     */
+    public CandidaturaEstadisticasServiceImpl(CandidaturaEstadisticaRepository estadisticaRepository,
+                                              EmpresaRepository empresaRepository,
+                                              @Value("${app.candidaturas.stats.reconcile-enabled:false}")
+                                              boolean reconciliacionActivada) {
+        this.estadisticaRepository = estadisticaRepository;
+        this.empresaRepository = empresaRepository;
+        this.reconciliacionActivada = reconciliacionActivada;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAlta(Candidatura candidatura) {
+        aplicar(candidatura, null, candidatura.getValoresAgregados());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAltas(UUID userId, Collection<Candidatura.ValoresAgregados> altas) {
+        Map<Dimension, Map<String, Long>> deltas = new EnumMap<>(Dimension.class);
+        for (Candidatura.ValoresAgregados valores : altas) {
+            for (Dimension dimension : Dimension.values()) {
+                String valor = valor(dimension, valores);
+                if (valor != null) {
+                    deltas.computeIfAbsent(dimension, d -> new HashMap<>()).merge(valor, 1L, Long::sum);
+                }
+            }
+        }
+        deltas.forEach((dimension, porValor) -> porValor.forEach((valor, delta) ->
+                estadisticaRepository.increment(userId, dimension.name(), valor, delta)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCambio(Candidatura candidatura) {
+        aplicar(candidatura, candidatura.getValoresPersistidos(), candidatura.getValoresAgregados());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCambiosEstado(UUID userId, Collection<EstadoCandidatura> anteriores,
+                                       EstadoCandidatura nuevo) {
+        String valorNuevo = valorEstado(nuevo);
+        Map<String, Long> salidas = new HashMap<>();
+        long entradas = 0;
+        for (EstadoCandidatura anterior : anteriores) {
+            String valorAnterior = valorEstado(anterior);
+            if (!valorAnterior.equals(valorNuevo)) {
+                salidas.merge(valorAnterior, 1L, Long::sum);
+                entradas++;
+            }
+        }
+        salidas.forEach((valor, delta) ->
+                estadisticaRepository.increment(userId, Dimension.ESTADO.name(), valor, -delta));
+        if (entradas > 0) {
+            estadisticaRepository.increment(userId, Dimension.ESTADO.name(), valorNuevo, entradas);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarBaja(Candidatura candidatura) {
+        aplicar(candidatura, candidatura.getValoresPersistidos(), null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CandidaturaEstadisticasDTO getEstadisticas(UUID userId) {
+        long total = 0;
+        Map<EstadoCandidatura, Long> porEstado = new EnumMap<>(EstadoCandidatura.class);
+        for (EstadoCandidatura estado : EstadoCandidatura.values()) {
+            porEstado.put(estado, 0L);
+        }
+        Map<String, Long> porMes = new TreeMap<>();
+        Map<UUID, Long> porEmpresa = new HashMap<>();
+
+        for (CandidaturaEstadistica estadistica : estadisticaRepository.findByUserId(userId)) {
+            String valor = estadistica.getId().getValor();
+            long count = estadistica.getTotal();
+            switch (estadistica.getId().getDimension()) {
+                case ESTADO -> {
+                    total += count;
+                    if (!CandidaturaEstadisticaRepository.SIN_VALOR.equals(valor)) {
+                        porEstado.put(EstadoCandidatura.valueOf(valor), count);
+                    }
+                }
+                case MES -> {
+                    if (!CandidaturaEstadisticaRepository.SIN_VALOR.equals(valor)) {
+                        porMes.put(valor, count);
+                    }
+                }
+                case EMPRESA -> porEmpresa.put(UUID.fromString(valor), count);
+            }
+        }
+
+        // Una sola consulta para los nombres de todas las empresas del usuario
+        List<CandidaturaEstadisticasDTO.PorEmpresa> empresas = new ArrayList<>();
+        for (Empresa empresa : empresaRepository.findAllById(porEmpresa.keySet())) {
+            empresas.add(new CandidaturaEstadisticasDTO.PorEmpresa(
+                    empresa.getId(), empresa.getNombre(), porEmpresa.get(empresa.getId())));
+        }
+        empresas.sort(Comparator.comparingLong(CandidaturaEstadisticasDTO.PorEmpresa::total).reversed());
+
+        return new CandidaturaEstadisticasDTO(total, porEstado, porMes, empresas);
+    }
+
+    /**
+     * Reconstruye periódicamente los contadores para corregir cualquier desviación
+     * (por ejemplo, cambios hechos directamente en la base de datos).
+     * Solo lo hace el nodo con la reconciliación activada: varios nodos borrando y reconstruyendo
+     * la tabla a la vez se bloquearían entre sí sin aportar nada.
+     */
+    @Override
+    @Scheduled(cron = "${app.candidaturas.stats.reconcile-cron:0 0 4 * * *}")
+    @Transactional
+    public void reconciliar() {
+        if (!reconciliacionActivada) {
+            return;
+        }
+        estadisticaRepository.deleteAllCounters();
+        estadisticaRepository.rebuildByEstado();
+        estadisticaRepository.rebuildByMes();
+        estadisticaRepository.rebuildByEmpresa();
+    }
+
+    /**
+     * Mueve la candidatura de los contadores de sus valores anteriores a los de sus valores nuevos,
+     * solo en las dimensiones que han cambiado.
+     */
+    private void aplicar(Candidatura candidatura, Candidatura.ValoresAgregados antes,
+                         Candidatura.ValoresAgregados despues) {
+        UUID userId = candidatura.getUser().getId();
+        for (Dimension dimension : Dimension.values()) {
+            String valorAntes = antes != null ? valor(dimension, antes) : null;
+            String valorDespues = despues != null ? valor(dimension, despues) : null;
+            if (Objects.equals(valorAntes, valorDespues)) {
+                continue;
+            }
+            if (valorAntes != null) {
+                estadisticaRepository.increment(userId, dimension.name(), valorAntes, -1);
+            }
+            if (valorDespues != null) {
+                estadisticaRepository.increment(userId, dimension.name(), valorDespues, 1);
+            }
+        }
+        candidatura.recordarValoresPersistidos();
+    }
+
+    private static String valor(Dimension dimension, Candidatura.ValoresAgregados valores) {
+        return switch (dimension) {
+            case ESTADO -> valorEstado(valores.estado());
+            case MES -> valores.fecha() != null
+                    ? MES.format(Instant.ofEpochMilli(valores.fecha().getTime()))
+                    : CandidaturaEstadisticaRepository.SIN_VALOR;
+            case EMPRESA -> valores.empresaId() != null ? valores.empresaId().toString() : null;
+        };
+    }
+
+    private static String valorEstado(EstadoCandidatura estado) {
+        return estado != null ? estado.name() : CandidaturaEstadisticaRepository.SIN_VALOR;
+    }
+}
@@ -0,0 +1,40 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Interfaz que define la exportación de candidaturas.
+ * Las filas se leen de la base de datos y se escriben en la salida una a una, con memoria constante
+ * independientemente del número de candidaturas.
+ *
+ * @see RF-03: Visualización de candidaturas
+ */
+public interface CandidaturaExportService {
+
+    /**
+     * Exporta las candidaturas de un usuario, de la más reciente a la más antigua.
+     *
+     * @param userId ID del usuario propietario
+     * @param formato Formato de salida
+     * @param out Flujo de salida (no se cierra)
+     * @return Número de candidaturas exportadas
+     * @throws IOException si falla la escritura
+     */
+    long exportarDeUsuario(UUID userId, FormatoExportacion formato, OutputStream out) throws IOException;
+
+    /**
+     * Exporta las candidaturas de todos los usuarios que cumplen un filtro (administradores),
+     * de la más reciente a la más antigua.
+     *
+     * @param filtro Filtros del listado (el usuario es opcional)
+     * @param formato Formato de salida
+     * @param out Flujo de salida (no se cierra)
+     * @return Número de candidaturas exportadas
+     * @throws IOException si falla la escritura
+     */
+    long exportarTodas(FiltroCandidaturasDTO filtro, FormatoExportacion formato, OutputStream out) throws IOException;
+}
@@ -0,0 +1,150 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.repository.CandidaturaRepository;
+import com.gestion_candidaturas.gestion_candidaturas.repository.CandidaturaSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de la interfaz CandidaturaExportService.
+ * Recorre el flujo de proyecciones del repositorio y escribe cada fila en cuanto se lee, sin
+ * acumularlas: la memoria usada es la del búfer de escritura, tenga el usuario 10 o 100.000 candidaturas.
+ */
+@Service
+public class CandidaturaExportServiceImpl implements CandidaturaExportService {
+
+    private static final String CSV_CABECERA = "id,usuario,cargo,fecha,estado,empresa_id,empresa,notas";
+    private static final int BUFFER_SIZE = 8192;
+    // Primeros caracteres con los que una hoja de cálculo evalúa la celda como fórmula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final CandidaturaRepository candidaturaRepository;
+    private final ObjectWriter filaWriter;
+
+    @Autowired
+    public CandidaturaExportServiceImpl(CandidaturaRepository candidaturaRepository, ObjectMapper objectMapper) {
+        this.candidaturaRepository = candidaturaRepository;
+        // Sin separador entre valores raíz ni flush por fila: el salto de línea se escribe a mano
+        // y el vaciado lo marca el búfer de la respuesta
+        this.filaWriter = objectMapper.writerFor(CandidaturaExportRow.class)
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarDeUsuario(UUID userId, FormatoExportacion formato, OutputStream out) throws IOException {
+        try (Stream<CandidaturaExportRow> filas = candidaturaRepository.streamExportByUserId(userId)) {
+            return escribir(filas, formato, out);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarTodas(FiltroCandidaturasDTO filtro, FormatoExportacion formato, OutputStream out)
+            throws IOException {
+        try (Stream<CandidaturaExportRow> filas = candidaturaRepository.streamListado(
+                CandidaturaSpecifications.filtro(filtro))) {
+            return escribir(filas, formato, out);
+        }
+    }
+
+    private long escribir(Stream<CandidaturaExportRow> filas, FormatoExportacion formato, OutputStream out)
+            throws IOException {
+        return switch (formato) {
+            case JSON -> escribirJson(filas.iterator(), out);
+            case NDJSON -> escribirNdjson(filas.iterator(), out);
+            case CSV -> escribirCsv(filas.iterator(), out);
+        };
+    }
+
+    private long escribirJson(Iterator<CandidaturaExportRow> filas, OutputStream out) throws IOException {
+        long total = 0;
+        // El generador separa los elementos; el búfer se vacía a la salida cada vez que se llena
+        try (JsonGenerator generator = filaWriter.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            while (filas.hasNext()) {
+                filaWriter.writeValue(generator, filas.next());
+                total++;
+            }
+            generator.writeEndArray();
+        }
+        return total;
+    }
+
+    private long escribirNdjson(Iterator<CandidaturaExportRow> filas, OutputStream out) throws IOException {
+        long total = 0;
+        // El generador no cierra la salida: de eso se encarga el contenedor
+        try (JsonGenerator generator = filaWriter.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            while (filas.hasNext()) {
+                filaWriter.writeValue(generator, filas.next());
+                generator.writeRaw('\n');
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private long escribirCsv(Iterator<CandidaturaExportRow> filas, OutputStream out) throws IOException {
+        long total = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_CABECERA);
+        writer.write("\r\n");
+        while (filas.hasNext()) {
+            CandidaturaExportRow fila = filas.next();
+            writer.write(String.join(",",
+                    campoCsv(fila.id()),
+                    campoCsv(fila.usuario()),
+                    campoCsv(fila.cargo()),
+                    campoCsv(fila.fecha()),
+                    campoCsv(fila.estado()),
+                    campoCsv(fila.empresaId()),
+                    campoCsv(fila.empresa()),
+                    campoCsv(fila.notas())));
+            writer.write("\r\n");
+            total++;
+        }
+        // Se vacía sin cerrar para no cerrar la salida subyacente
+        writer.flush();
+        return total;
+    }
+
+    /**
+     * Formatea un campo CSV según RFC 4180: entre comillas si contiene separadores, comillas o saltos de línea.
+     * Los textos que empiezan por =, +, -, @, tabulador o retorno de carro se prefijan con un apóstrofo
+     * para que una hoja de cálculo no los interprete como fórmulas (inyección CSV, OWASP).
+     */
+    static String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor instanceof Date fecha ? fecha.toInstant().toString() : valor.toString();
+        if (!(valor instanceof Date) && !texto.isEmpty() && FORMULA_PREFIXES.indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+}
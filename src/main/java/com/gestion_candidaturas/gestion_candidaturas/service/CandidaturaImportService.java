@@ -0,0 +1,39 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaImportResultado;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.UUID;
+
+/**
+ * Interfaz que define la importación masiva de candidaturas.
+ * Las filas se leen de la entrada a medida que se insertan, por lotes, en una única transacción:
+ * las filas incorrectas se informan y se omiten, y un fichero ilegible no importa nada.
+ *
+ * @see RF-01: Permitir registrar candidaturas
+ */
+public interface CandidaturaImportService {
+
+    /**
+     * Importa candidaturas desde un CSV con cabecera (columnas cargo, fecha, estado, empresa y notas,
+     * en cualquier orden; solo empresa es obligatoria).
+     *
+     * @param userId ID del usuario propietario
+     * @param reader Contenido CSV
+     * @return Resultado de la importación
+     * @throws IOException si falla la lectura
+     */
+    CandidaturaImportResultado importarCsv(UUID userId, Reader reader) throws IOException;
+
+    /**
+     * Importa candidaturas desde un array JSON de objetos con los mismos campos que el CSV.
+     *
+     * @param userId ID del usuario propietario
+     * @param in Contenido JSON
+     * @return Resultado de la importación
+     * @throws IOException si falla la lectura
+     */
+    CandidaturaImportResultado importarJson(UUID userId, InputStream in) throws IOException;
+}
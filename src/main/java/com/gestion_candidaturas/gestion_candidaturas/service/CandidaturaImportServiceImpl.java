@@ -0,0 +1,285 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaImportResultado;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaImportResultado.ErrorFila;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaImportRow;
+import com.gestion_candidaturas.gestion_candidaturas.error.InvalidImportException;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.repository.EmpresaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementación de la importación masiva de candidaturas.
+ *
+ * Las candidaturas se persisten con el EntityManager y cada lote de hibernate.jdbc.batch_size filas se
+ * vuelca y se desconecta del contexto de persistencia, de modo que:
+ * - Hibernate agrupa los INSERT en lotes JDBC (los ID son UUID generados en la aplicación, no IDENTITY,
+ *   así que el procesamiento por lotes no se desactiva) y el driver los reescribe como INSERT multi-fila.
+ * - La memoria no crece con el tamaño del fichero.
+ * - Las empresas se resuelven por nombre una sola vez por importación; las que no existen se crean.
+ * - Los contadores de estadísticas se actualizan una vez por lote y contador, no por candidatura.
+ */
+@Service
+public class CandidaturaImportServiceImpl implements CandidaturaImportService {
+
+    private static final int MAX_TEXTO = 255;
+
+    private final EmpresaRepository empresaRepository;
+    private final CandidaturaEstadisticasService estadisticasService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long maxRows;
+    private final int maxErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CandidaturaImportServiceImpl(EmpresaRepository empresaRepository,
+                                        CandidaturaEstadisticasService estadisticasService,
+                                        ObjectMapper objectMapper,
+                                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize,
+                                        @Value("${app.candidaturas.import.max-rows:100000}") long maxRows,
+                                        @Value("${app.candidaturas.import.max-errors:1000}") int maxErrors) {
+        this.empresaRepository = empresaRepository;
+        this.estadisticasService = estadisticasService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    @Transactional
+    public CandidaturaImportResultado importarCsv(UUID userId, Reader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> cabecera = csv.leer();
+        if (cabecera == null) {
+            throw new InvalidImportException("El fichero está vacío");
+        }
+        int[] columnas = columnas(cabecera);
+
+        return importar(userId, () -> {
+            List<String> campos = csv.leer();
+            if (campos == null) {
+                return null;
+            }
+            return new CandidaturaImportRow(campo(campos, columnas[0]), campo(campos, columnas[1]),
+                    campo(campos, columnas[2]), campo(campos, columnas[3]), campo(campos, columnas[4]));
+        });
+    }
+
+    @Override
+    @Transactional
+    public CandidaturaImportResultado importarJson(UUID userId, InputStream in) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidImportException("Se esperaba un array JSON de candidaturas");
+            }
+            return importar(userId, () -> {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    return null;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new InvalidImportException("Cada elemento del array debe ser un objeto");
+                }
+                return objectMapper.readValue(parser, CandidaturaImportRow.class);
+            });
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportException("JSON no válido: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Fuente de filas de la importación.
+     */
+    @FunctionalInterface
+    private interface FuenteFilas {
+        /**
+         * @return Siguiente fila, o null al final de la entrada
+         */
+        CandidaturaImportRow siguiente() throws IOException;
+    }
+
+    private CandidaturaImportResultado importar(UUID userId, FuenteFilas fuente) throws IOException {
+        Importacion importacion = new Importacion();
+        List<Candidatura.ValoresAgregados> lote = new ArrayList<>(batchSize);
+
+        CandidaturaImportRow row;
+        while ((row = fuente.siguiente()) != null) {
+            importacion.procesadas++;
+            if (importacion.procesadas > maxRows) {
+                throw new InvalidImportException("La importación supera el máximo de " + maxRows + " filas");
+            }
+
+            Candidatura candidatura = new Candidatura();
+            String empresa;
+            try {
+                empresa = texto(row.empresa(), "empresa");
+                if (empresa == null) {
+                    throw new IllegalArgumentException("La empresa es obligatoria");
+                }
+                candidatura.setCargo(texto(row.cargo(), "cargo"));
+                candidatura.setFecha(fecha(row.fecha()));
+                candidatura.setEstado(estado(row.estado()));
+                candidatura.setNotas(texto(row.notas(), "notas"));
+            } catch (IllegalArgumentException e) {
+                importacion.error(e.getMessage(), maxErrors);
+                continue;
+            }
+
+            // Referencias sin consulta: el usuario y la empresa solo aportan su ID al INSERT
+            candidatura.setUser(entityManager.getReference(User.class, userId));
+            candidatura.setEmpresa(entityManager.getReference(Empresa.class, resolverEmpresa(empresa, importacion)));
+            entityManager.persist(candidatura);
+            lote.add(candidatura.getValoresAgregados());
+            importacion.importadas++;
+            if (lote.size() >= batchSize) {
+                volcar(userId, lote);
+            }
+        }
+        volcar(userId, lote);
+
+        return new CandidaturaImportResultado(importacion.procesadas, importacion.importadas,
+                importacion.empresasCreadas, importacion.errores, importacion.erroresOmitidos);
+    }
+
+    /**
+     * Envía el lote pendiente a la base de datos, lo desconecta del contexto de persistencia
+     * y actualiza las estadísticas del lote.
+     */
+    private void volcar(UUID userId, List<Candidatura.ValoresAgregados> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        estadisticasService.registrarAltas(userId, lote);
+        lote.clear();
+    }
+
+    /**
+     * Obtiene el ID de la empresa con ese nombre (sin distinguir mayúsculas), consultándolo solo la primera
+     * vez que aparece en la importación. Si no existe, la crea.
+     */
+    private UUID resolverEmpresa(String nombre, Importacion importacion) {
+        return importacion.empresas.computeIfAbsent(nombre.toLowerCase(Locale.ROOT), clave ->
+                empresaRepository.findFirstByNombreIgnoreCase(nombre)
+                        .map(Empresa::getId)
+                        .orElseGet(() -> {
+                            Empresa empresa = new Empresa();
+                            empresa.setNombre(nombre);
+                            entityManager.persist(empresa);
+                            importacion.empresasCreadas++;
+                            return empresa.getId();
+                        }));
+    }
+
+    /**
+     * Estado de una importación en curso.
+     */
+    private static final class Importacion {
+        private final Map<String, UUID> empresas = new HashMap<>();
+        private final List<ErrorFila> errores = new ArrayList<>();
+        private long procesadas;
+        private long importadas;
+        private long empresasCreadas;
+        private long erroresOmitidos;
+
+        private void error(String mensaje, int maxErrors) {
+            if (errores.size() < maxErrors) {
+                errores.add(new ErrorFila(procesadas, mensaje));
+            } else {
+                erroresOmitidos++;
+            }
+        }
+    }
+
+    private static int[] columnas(List<String> cabecera) {
+        String[] nombres = {"cargo", "fecha", "estado", "empresa", "notas"};
+        int[] columnas = new int[nombres.length];
+        for (int i = 0; i < nombres.length; i++) {
+            columnas[i] = -1;
+            for (int j = 0; j < cabecera.size(); j++) {
+                if (nombres[i].equalsIgnoreCase(cabecera.get(j).trim())) {
+                    columnas[i] = j;
+                    break;
+                }
+            }
+        }
+        if (columnas[3] == -1) {
+            throw new InvalidImportException("La cabecera debe incluir la columna empresa");
+        }
+        return columnas;
+    }
+
+    private static String campo(List<String> campos, int columna) {
+        return columna >= 0 && columna < campos.size() ? campos.get(columna) : null;
+    }
+
+    private static String texto(String valor, String nombre) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        String texto = valor.trim();
+        if (texto.length() > MAX_TEXTO) {
+            throw new IllegalArgumentException("El campo " + nombre + " supera los " + MAX_TEXTO + " caracteres");
+        }
+        return texto;
+    }
+
+    private static Date fecha(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        String texto = valor.trim();
+        try {
+            if (texto.length() == 10) {
+                return Date.from(LocalDate.parse(texto).atStartOfDay().toInstant(ZoneOffset.UTC));
+            }
+            return Date.from(texto.endsWith("Z") ? Instant.parse(texto) : OffsetDateTime.parse(texto).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha no válida: " + texto);
+        }
+    }
+
+    private static EstadoCandidatura estado(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return EstadoCandidatura.valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado no válido: " + valor.trim());
+        }
+    }
+}
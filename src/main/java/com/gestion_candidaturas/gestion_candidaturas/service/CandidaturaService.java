@@ -1,5 +1,12 @@
 package com.gestion_candidaturas.gestion_candidaturas.service;
 
+import com.gestion_candidaturas.gestion_candidaturas.dto.CambioEstadoMasivoDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadisticasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
 import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
 import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
 
@@ -15,11 +22,15 @@ import java.util.UUID;
 public interface CandidaturaService {
 
     /**
-     * Recupera todas las candidaturas del sistema.
+     * Recupera una página del listado de candidaturas de todos los usuarios (administradores),
+     * filtradas y ordenadas por (fecha DESC, id DESC). Devuelve proyecciones en lugar de entidades.
      *
-     * @return Lista de todas las candidaturas.
+     * @param filtro Filtros del listado (el usuario es opcional).
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página.
+     * @param limit Tamaño de página solicitado (opcional); se acota al máximo configurado.
+     * @return Página de candidaturas con el cursor de la siguiente, si existe.
      */
-    List<Candidatura> findAll();
+    CursorPage<CandidaturaExportRow> findPage(FiltroCandidaturasDTO filtro, String cursor, Integer limit);
 
     /**
      * Recupera todas las candidaturas de un usuario específico.
@@ -29,6 +40,17 @@ public interface CandidaturaService {
      */
     List<Candidatura> findByUserId(UUID userId);
 
+    /**
+     * Recupera una página del listado de candidaturas de un usuario ordenadas por (fecha DESC, id DESC).
+     * Devuelve proyecciones ligeras en lugar de entidades.
+     *
+     * @param userId ID del usuario propietario.
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página.
+     * @param limit Tamaño de página solicitado (opcional); se acota al máximo configurado.
+     * @return Página de candidaturas con el cursor de la siguiente, si existe.
+     */
+    CursorPage<CandidaturaResumen> findPageByUserId(UUID userId, String cursor, Integer limit);
+
     /**
      * Busca una candidatura por su identificador único.
      *
@@ -37,6 +59,16 @@ public interface CandidaturaService {
      */
     Optional<Candidatura> findById(UUID id);
 
+    /**
+     * Busca una candidatura de un usuario concreto. La comprobación del propietario se hace en la consulta,
+     * por lo que una candidatura ajena no llega a cargarse.
+     *
+     * @param id Identificador único de la candidatura.
+     * @param userId ID del usuario propietario.
+     * @return Optional con la candidatura si existe y es del usuario, Optional vacío si no.
+     */
+    Optional<Candidatura> findByIdAndUserId(UUID id, UUID userId);
+
     /**
      * Guarda una nueva candidatura o actualiza una existente.
      *
@@ -46,13 +78,15 @@ public interface CandidaturaService {
     Candidatura save(Candidatura candidatura);
 
     /**
-     * Actualiza el estado de una candidatura existente.
+     * Actualiza solo el estado de una candidatura, sin cargar la entidad.
+     * El propietario forma parte de la sentencia UPDATE: una candidatura de otro usuario no se modifica.
      *
      * @param id ID de la candidatura.
+     * @param userId ID del usuario propietario, o null para administradores (cualquier propietario).
      * @param estado Nuevo estado de la candidatura.
-     * @return La candidatura actualizada o null si no existe.
+     * @return El nuevo estado, o vacío si la candidatura no existe o pertenece a otro usuario.
      */
-    Candidatura updateEstado(UUID id, EstadoCandidatura estado);
+    Optional<CandidaturaEstadoDTO> updateEstado(UUID id, UUID userId, EstadoCandidatura estado);
 
     /**
      * Elimina una candidatura por su identificador.
@@ -64,11 +98,12 @@ public interface CandidaturaService {
 
     /**
      * Busca candidaturas por diversos criterios.
+     * Solo se aplican los filtros informados; los resultados se ordenan de la más reciente a la más antigua.
      *
      * @param estado Estado de la candidatura (opcional).
      * @param empresaNombre Nombre de la empresa (opcional).
      * @param fechaDesde Fecha inicial para filtrar (opcional).
-     * @param fechaHasta Fecha final para filtrar (opcional).
+     * @param fechaHasta Fecha final para filtrar, incluido el día completo (opcional).
      * @param q Texto de búsqueda general (opcional).
      * @param userId ID del usuario propietario.
      * @return Lista de candidaturas que cumplen los criterios.
@@ -76,6 +111,41 @@ public interface CandidaturaService {
     List<Candidatura> buscar(EstadoCandidatura estado, String empresaNombre,
                              Date fechaDesde, Date fechaHasta, String q, UUID userId);
 
+    /**
+     * Cambia el estado de varias candidaturas del usuario, indicadas por ID o por filtro.
+     * Las candidaturas de otros usuarios se ignoran.
+     *
+     * @param userId ID del usuario propietario.
+     * @param cambio Nuevo estado y candidaturas afectadas.
+     * @return IDs de las candidaturas que han cambiado de estado.
+     */
+    List<UUID> updateEstadoMasivo(UUID userId, CambioEstadoMasivoDTO cambio);
+
+    /**
+     * Cambia el estado de varias candidaturas de cualquier usuario, indicadas por ID o por filtro (administradores).
+     *
+     * @param cambio Nuevo estado y candidaturas afectadas.
+     * @return IDs de las candidaturas que han cambiado de estado.
+     */
+    List<UUID> updateEstadoMasivoAdmin(CambioEstadoMasivoDTO cambio);
+
+    /**
+     * Obtiene las estadísticas de las candidaturas de un usuario (por estado, mes y empresa).
+     * Se leen de los contadores agregados, sin recorrer las candidaturas.
+     *
+     * @param userId ID del usuario propietario.
+     * @return Estadísticas del usuario.
+     */
+    CandidaturaEstadisticasDTO getEstadisticas(UUID userId);
+
+    /**
+     * Verifica si existe una candidatura.
+     *
+     * @param id ID de la candidatura.
+     * @return true si existe, false en caso contrario.
+     */
+    boolean existsById(UUID id);
+
     /**
      * Verifica si un usuario es propietario de una candidatura.
      *
@@ -1,14 +1,33 @@
 package com.gestion_candidaturas.gestion_candidaturas.service;
 
+import com.gestion_candidaturas.gestion_candidaturas.dto.CambioEstadoMasivoDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadisticasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoActual;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaValoresActuales;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.error.BulkLimitExceededException;
 import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
 import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
 import com.gestion_candidaturas.gestion_candidaturas.repository.CandidaturaRepository;
+import com.gestion_candidaturas.gestion_candidaturas.repository.CandidaturaSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,18 +38,54 @@ import java.util.UUID;
 @Service
 public class CandidaturaServiceImpl implements CandidaturaService{
 
+    /**
+     * IDs por sentencia UPDATE en los cambios masivos, para no generar listas IN desmesuradas.
+     */
+    private static final int IDS_POR_UPDATE = 1000;
+
     private final CandidaturaRepository candidaturaRepository;
+    private final CandidaturaEstadisticasService estadisticasService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxBulkRows;
 
     @Autowired
-    public CandidaturaServiceImpl(CandidaturaRepository candidaturaRepository){
+    public CandidaturaServiceImpl(CandidaturaRepository candidaturaRepository,
+                                  CandidaturaEstadisticasService estadisticasService,
+                                  @Value("${app.candidaturas.page.default-size:50}") int defaultPageSize,
+                                  @Value("${app.candidaturas.page.max-size:200}") int maxPageSize,
+                                  @Value("${app.candidaturas.bulk.max-rows:10000}") int maxBulkRows){
         this.candidaturaRepository = candidaturaRepository;
+        this.estadisticasService = estadisticasService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBulkRows = maxBulkRows;
     }
 
 
+    /**
+     * Misma paginación que {@link #findPageByUserId}: la posición del cursor se añade a los filtros y
+     * la consulta recorre el índice (fecha DESC, id DESC), o (user_id, fecha DESC, id DESC) si se filtra
+     * por usuario, sin ordenar la tabla completa.
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<Candidatura> findAll() {
-        return candidaturaRepository.findAll();
+    public CursorPage<CandidaturaExportRow> findPage(FiltroCandidaturasDTO filtro, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+
+        Specification<Candidatura> spec = CandidaturaSpecifications.filtro(filtro);
+        if (cursor != null && !cursor.isBlank()) {
+            CandidaturaCursor position = CandidaturaCursor.decode(cursor);
+            spec = spec.and(CandidaturaSpecifications.despuesDe(position.fechaAsDate(), position.id()));
+        }
+        List<CandidaturaExportRow> candidaturas = candidaturaRepository.findListado(spec, pageSize + 1);
+
+        if (candidaturas.size() <= pageSize) {
+            return new CursorPage<>(candidaturas, null);
+        }
+        List<CandidaturaExportRow> page = candidaturas.subList(0, pageSize);
+        CandidaturaExportRow last = page.get(pageSize - 1);
+        return new CursorPage<>(page, CandidaturaCursor.after(last.fecha(), last.id()).encode());
     }
 
     @Override
@@ -39,35 +94,103 @@ public class CandidaturaServiceImpl implements CandidaturaService{
         return candidaturaRepository.findByUserIdOrderByFechaDesc(userId);
     }
 
+    /**
+     * Se solicita un elemento más que el tamaño de página para saber si existe una página siguiente
+     * sin ejecutar un COUNT.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CandidaturaResumen> findPageByUserId(UUID userId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<CandidaturaResumen> candidaturas;
+        if (cursor == null || cursor.isBlank()) {
+            candidaturas = candidaturaRepository.findFirstPageByUserId(userId, fetchLimit);
+        } else {
+            CandidaturaCursor position = CandidaturaCursor.decode(cursor);
+            candidaturas = position.fecha() != null
+                    ? candidaturaRepository.findPageByUserIdAfter(userId, position.fechaAsDate(), position.id(), fetchLimit)
+                    : candidaturaRepository.findUndatedPageByUserIdAfter(userId, position.id(), fetchLimit);
+        }
+
+        if (candidaturas.size() <= pageSize) {
+            return new CursorPage<>(candidaturas, null);
+        }
+        List<CandidaturaResumen> page = candidaturas.subList(0, pageSize);
+        CandidaturaResumen last = page.get(pageSize - 1);
+        return new CursorPage<>(page, CandidaturaCursor.after(last.fecha(), last.id()).encode());
+    }
+
+    private int pageSize(Integer limit) {
+        return Math.min(Math.max(limit != null ? limit : defaultPageSize, 1), maxPageSize);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Candidatura> findById(UUID id) {
         return candidaturaRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Candidatura> findByIdAndUserId(UUID id, UUID userId) {
+        return candidaturaRepository.findByIdAndUserId(id, userId);
+    }
+
+    /**
+     * Las estadísticas del usuario se actualizan en la misma transacción.
+     * Como en updateEstado, los valores anteriores se leen de la fila bloqueada y no de la entidad:
+     * esta pudo cargarse antes (por ejemplo, con open-in-view) y otra solicitud haberla cambiado después.
+     */
     @Override
     @Transactional
     public Candidatura save(Candidatura candidatura) {
-        return candidaturaRepository.save(candidatura);
+        Optional<CandidaturaValoresActuales> almacenados = candidatura.getId() != null
+                ? candidaturaRepository.lockValoresById(candidatura.getId())
+                : Optional.empty();
+        Candidatura guardada = candidaturaRepository.save(candidatura);
+        if (almacenados.isEmpty()) {
+            estadisticasService.registrarAlta(guardada);
+        } else {
+            guardada.setValoresPersistidos(almacenados.get().toValoresAgregados());
+            estadisticasService.registrarCambio(guardada);
+        }
+        return guardada;
     }
 
     @Override
     @Transactional
-    public Candidatura updateEstado(UUID id, EstadoCandidatura estado) {
-        Optional<Candidatura> optionalCandidatura = candidaturaRepository.findById(id);
-        if (optionalCandidatura.isPresent()) {
-            Candidatura candidatura = optionalCandidatura.get();
-            candidatura.setEstado(estado);
-            return candidaturaRepository.save(candidatura);
+    public Optional<CandidaturaEstadoDTO> updateEstado(UUID id, UUID userId, EstadoCandidatura estado) {
+        // El estado anterior se lee (bloqueado) solo para ajustar las estadísticas: MySQL no devuelve
+        // los valores anteriores en el UPDATE
+        Optional<CandidaturaEstadoActual> actual = userId != null
+                ? candidaturaRepository.lockEstadoByIdAndUserId(id, userId)
+                : candidaturaRepository.lockEstadoById(id);
+        if (actual.isEmpty()) {
+            return Optional.empty();
+        }
+
+        EstadoCandidatura anterior = actual.get().estado();
+        if (anterior != estado) {
+            int actualizadas = userId != null
+                    ? candidaturaRepository.updateEstadoDeUsuario(userId, List.of(id), estado)
+                    : candidaturaRepository.updateEstado(List.of(id), estado);
+            if (actualizadas > 0) {
+                estadisticasService.registrarCambiosEstado(actual.get().userId(),
+                        Collections.singletonList(anterior), estado);
+            }
         }
-        return null;
+        return Optional.of(new CandidaturaEstadoDTO(id, estado));
     }
 
     @Override
     @Transactional
     public boolean deleteById(UUID id) {
-        if (candidaturaRepository.existsById(id)) {
-            candidaturaRepository.deleteById(id);
+        Optional<Candidatura> candidatura = candidaturaRepository.findById(id);
+        if (candidatura.isPresent()) {
+            estadisticasService.registrarBaja(candidatura.get());
+            candidaturaRepository.delete(candidatura.get());
             return true;
         }
         return false;
@@ -78,19 +201,87 @@ public class CandidaturaServiceImpl implements CandidaturaService{
     public List<Candidatura> buscar(EstadoCandidatura estado, String empresaNombre,
                                     Date fechaDesde, Date fechaHasta, String q,
                                     UUID userId) {
-            // Implementación de búsqueda con criterios
-            // Utilizamos un repositorio personalizado o especificación para la búsqueda
-            return candidaturaRepository.buscarCandidaturas(estado, empresaNombre,
-                    fechaDesde, fechaHasta, q, userId);
+        // Solo se generan los predicados de los filtros informados
+        return candidaturaRepository.findAll(
+                CandidaturaSpecifications.busqueda(estado, empresaNombre, fechaDesde, fechaHasta, q, userId),
+                Sort.by(Sort.Order.desc("fecha"), Sort.Order.desc("id")));
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public boolean isOwner(UUID candidaturaId, UUID userId) {
-        Optional<Candidatura> candidatura = candidaturaRepository.findById(candidaturaId);
+    @Transactional
+    public List<UUID> updateEstadoMasivo(UUID userId, CambioEstadoMasivoDTO cambio) {
+        if (cambio.ids() != null && cambio.ids().isEmpty()) {
+            return List.of();
+        }
+        Specification<Candidatura> spec = cambio.ids() != null
+                ? CandidaturaSpecifications.delUsuario(userId).and(CandidaturaSpecifications.conIds(cambio.ids()))
+                : CandidaturaSpecifications.busqueda(cambio.filtro().estado(), cambio.filtro().empresaNombre(),
+                        cambio.filtro().fechaDesde(), cambio.filtro().fechaHasta(), cambio.filtro().q(), userId);
+        return cambiarEstado(spec, userId, cambio.estado());
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> updateEstadoMasivoAdmin(CambioEstadoMasivoDTO cambio) {
+        if (cambio.ids() != null && cambio.ids().isEmpty()) {
+            return List.of();
+        }
+        Specification<Candidatura> spec = cambio.ids() != null
+                ? CandidaturaSpecifications.conIds(cambio.ids())
+                : CandidaturaSpecifications.filtro(cambio.filtro());
+        return cambiarEstado(spec, null, cambio.estado());
+    }
+
+    /**
+     * Bloquea las candidaturas que van a cambiar, las actualiza con UPDATE por lotes de IDs (sin cargar entidades)
+     * y ajusta los contadores de estado de cada propietario con sus estados anteriores.
+     *
+     * @param spec Candidaturas afectadas
+     * @param userId Propietario exigido en el UPDATE, o null para administradores
+     * @param estado Nuevo estado
+     * @return IDs de las candidaturas actualizadas
+     */
+    private List<UUID> cambiarEstado(Specification<Candidatura> spec, UUID userId, EstadoCandidatura estado) {
+        List<CandidaturaEstadoActual> filas = candidaturaRepository.lockEstadosParaCambio(spec, estado, maxBulkRows + 1);
+        if (filas.size() > maxBulkRows) {
+            throw new BulkLimitExceededException(
+                    "El cambio de estado afecta a más de " + maxBulkRows + " candidaturas");
+        }
+
+        List<UUID> ids = new ArrayList<>(filas.size());
+        Map<UUID, List<EstadoCandidatura>> anterioresPorUsuario = new HashMap<>();
+        for (CandidaturaEstadoActual fila : filas) {
+            ids.add(fila.id());
+            anterioresPorUsuario.computeIfAbsent(fila.userId(), k -> new ArrayList<>()).add(fila.estado());
+        }
 
-        // Verificar primero si la candidatura existe, y luego si el usuario es propietario
-        return candidatura.isPresent() && candidatura.get().getUser().getId().equals(userId);
+        for (int i = 0; i < ids.size(); i += IDS_POR_UPDATE) {
+            List<UUID> lote = ids.subList(i, Math.min(i + IDS_POR_UPDATE, ids.size()));
+            if (userId != null) {
+                candidaturaRepository.updateEstadoDeUsuario(userId, lote, estado);
+            } else {
+                candidaturaRepository.updateEstado(lote, estado);
+            }
+        }
+        anterioresPorUsuario.forEach((propietario, anteriores) ->
+                estadisticasService.registrarCambiosEstado(propietario, anteriores, estado));
+        return ids;
+    }
+
+    @Override
+    public CandidaturaEstadisticasDTO getEstadisticas(UUID userId) {
+        return estadisticasService.getEstadisticas(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsById(UUID id) {
+        return candidaturaRepository.existsById(id);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isOwner(UUID candidaturaId, UUID userId) {
+        return candidaturaRepository.existsByIdAndUserId(candidaturaId, userId);
     }
 }
@@ -0,0 +1,100 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.error.InvalidImportException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de registros CSV (RFC 4180) que procesa la entrada carácter a carácter sin cargarla en memoria.
+ * Admite campos entre comillas con comas, comillas dobladas y saltos de línea, finales de línea
+ * CRLF o LF y la marca BOM que añaden algunas hojas de cálculo.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private final StringBuilder campo = new StringBuilder();
+    private boolean inicio = true;
+    private int siguiente = -2;
+
+    /**
+     * @param reader Entrada; se recomienda un lector con búfer
+     */
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lee el siguiente registro. Las líneas vacías se omiten.
+     *
+     * @return Campos del registro, o null al final de la entrada
+     * @throws IOException si falla la lectura
+     * @throws InvalidImportException si un campo entre comillas no se cierra
+     */
+    List<String> leer() throws IOException {
+        int c = leerCaracter();
+        if (inicio) {
+            inicio = false;
+            if (c == '\uFEFF') {
+                c = leerCaracter();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            c = leerCaracter();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreComillas = false;
+        while (true) {
+            if (entreComillas) {
+                if (c == -1) {
+                    throw new InvalidImportException("Campo entre comillas sin cerrar al final del fichero");
+                }
+                if (c == '"') {
+                    int d = leerCaracter();
+                    if (d == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        c = d;
+                        continue;
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int d = leerCaracter();
+                    if (d != '\n') {
+                        siguiente = d;
+                    }
+                }
+                campos.add(campo.toString());
+                return campos;
+            } else {
+                campo.append((char) c);
+            }
+            c = leerCaracter();
+        }
+    }
+
+    private int leerCaracter() throws IOException {
+        if (siguiente != -2) {
+            int c = siguiente;
+            siguiente = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
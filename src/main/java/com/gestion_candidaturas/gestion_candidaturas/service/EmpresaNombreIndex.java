@@ -0,0 +1,475 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaSugerencia;
+import com.gestion_candidaturas.gestion_candidaturas.repository.EmpresaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria de los nombres de empresa para las sugerencias del selector de empresas.
+ * Evita lanzar un "LIKE '%texto%'" sobre la tabla de empresas en cada pulsación.
+ *
+ * Los nombres se normalizan (minúsculas, sin acentos ni signos de puntuación) y se indexan de dos formas:
+ * - Un trie con el nombre completo y el resto del nombre a partir de cada palabra, para las coincidencias
+ *   por prefijo ("sant" sugiere "Banco Santander"). Cada empresa se guarda solo en el nodo donde acaba cada
+ *   término; los nodos de los primeros niveles, cuyos subárboles son grandes, guardan además las empresas
+ *   más usadas del subárbol, de modo que una consulta de una o dos letras no recorre todo el índice.
+ * - Listas de trigramas, para las coincidencias aproximadas cuando hay erratas ("santnder").
+ *
+ * Se carga al arrancar con el número de candidaturas de cada empresa, se actualiza desde EmpresaService
+ * al crear, modificar o eliminar una empresa y se recarga periódicamente para incorporar las empresas creadas
+ * por otros nodos o por la importación, y los nuevos recuentos de uso.
+ *
+ * @see RF-08: Búsqueda de empresas
+ */
+@Component
+public class EmpresaNombreIndex {
+
+    // Profundidad máxima del trie: en consultas más largas se comprueba el resto sobre los candidatos
+    private static final int MAX_PROFUNDIDAD = 16;
+    // Niveles del trie que guardan las empresas más usadas de su subárbol; por debajo se recorre el subárbol
+    private static final int PROFUNDIDAD_CON_MEJORES = 3;
+    // Empresas más usadas por nodo y tipo de término: cubre el máximo de app.empresas.suggest.max-size
+    private static final int MAX_MEJORES = 50;
+    // Fracción mínima de los trigramas de la consulta que debe contener un nombre para sugerirlo por aproximación
+    private static final double MIN_SIMILITUD = 0.5;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Calidad de una coincidencia, de peor a mejor.
+     */
+    private enum Coincidencia {
+        APROXIMADA, PALABRA, PREFIJO, EXACTA
+    }
+
+    private static final Comparator<Candidato> ORDEN = Comparator
+            .comparing(Candidato::coincidencia).reversed()
+            .thenComparing(Comparator.comparingDouble(Candidato::similitud).reversed())
+            .thenComparing(Comparator.comparingLong((Candidato c) -> c.entrada().usos()).reversed())
+            .thenComparing(c -> c.entrada().normalizado());
+
+    // Orden de las empresas más usadas de cada nodo: el mismo que ORDEN a igual coincidencia
+    private static final Comparator<Entrada> POR_USOS = Comparator
+            .comparingLong(Entrada::usos).reversed()
+            .thenComparing(Entrada::normalizado)
+            .thenComparing(Entrada::id);
+
+    private final EmpresaRepository empresaRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Indice indice = new Indice(false);
+    // Cambios recibidos mientras se recarga el índice, que se repiten sobre el índice nuevo antes de publicarlo
+    private List<Consumer<Indice>> cambiosDuranteCarga;
+
+    public EmpresaNombreIndex(EmpresaRepository empresaRepository) {
+        this.empresaRepository = empresaRepository;
+    }
+
+    /**
+     * Construye el índice con todas las empresas y lo sustituye sin bloquear las sugerencias mientras se carga.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.empresas.suggest.reload-interval-ms:600000}",
+            initialDelayString = "${app.empresas.suggest.reload-interval-ms:600000}")
+    public synchronized void cargar() {
+        escribir(() -> cambiosDuranteCarga = new ArrayList<>());
+        Indice nuevo = new Indice(true);
+        try {
+            empresaRepository.findSugerencias()
+                    .forEach(empresa -> nuevo.poner(empresa.id(), empresa.nombre(), empresa.usos()));
+            nuevo.terminarCarga();
+        } catch (RuntimeException e) {
+            escribir(() -> cambiosDuranteCarga = null);
+            throw e;
+        }
+        escribir(() -> {
+            cambiosDuranteCarga.forEach(cambio -> cambio.accept(nuevo));
+            cambiosDuranteCarga = null;
+            indice = nuevo;
+        });
+    }
+
+    /**
+     * Añade una empresa o actualiza su nombre, conservando su número de usos.
+     *
+     * @param id ID de la empresa
+     * @param nombre Nombre de la empresa
+     */
+    public void actualizar(UUID id, String nombre) {
+        aplicar(destino -> destino.poner(id, nombre, destino.usos(id)));
+    }
+
+    /**
+     * Quita una empresa del índice.
+     *
+     * @param id ID de la empresa
+     */
+    public void eliminar(UUID id) {
+        aplicar(destino -> destino.quitar(id));
+    }
+
+    /**
+     * Sugiere empresas para un texto, ordenadas por calidad de la coincidencia (nombre exacto, prefijo del nombre,
+     * prefijo de una palabra y aproximada) y, dentro de la misma calidad, por número de usos.
+     *
+     * @param q Texto escrito por el usuario
+     * @param limit Número máximo de sugerencias
+     * @return Empresas sugeridas
+     */
+    public List<EmpresaSugerencia> sugerir(String q, int limit) {
+        String consulta = normalizar(q);
+        if (consulta.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return indice.sugerir(consulta, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normaliza un nombre para indexarlo o buscarlo: sin acentos, en minúsculas y con las palabras separadas
+     * por un único espacio.
+     *
+     * @param texto Texto a normalizar
+     * @return Texto normalizado, vacío si no contiene letras ni números
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private void aplicar(Consumer<Indice> cambio) {
+        escribir(() -> {
+            cambio.accept(indice);
+            if (cambiosDuranteCarga != null) {
+                cambiosDuranteCarga.add(cambio);
+            }
+        });
+    }
+
+    private void escribir(Runnable accion) {
+        lock.writeLock().lock();
+        try {
+            accion.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Estructuras del índice. No es seguro para hilos: el acceso lo controla el cerrojo de EmpresaNombreIndex.
+     */
+    private static final class Indice {
+        private final Map<UUID, Entrada> entradas = new HashMap<>();
+        private final Nodo raiz = new Nodo();
+        private final Map<String, Set<UUID>> porTrigrama = new HashMap<>();
+        // Durante la carga completa las empresas más usadas de cada nodo se calculan una sola vez, al final
+        private boolean cargando;
+
+        private Indice(boolean cargando) {
+            this.cargando = cargando;
+        }
+
+        private void terminarCarga() {
+            for (Nodo hijo : raiz.hijos.values()) {
+                calcularMejoresSubarbol(hijo, 1);
+            }
+            cargando = false;
+        }
+
+        private void poner(UUID id, String nombre, long usos) {
+            quitar(id);
+            String normalizado = normalizar(nombre);
+            if (normalizado.isEmpty()) {
+                return;
+            }
+            Entrada entrada = new Entrada(id, nombre, normalizado, usos);
+            entradas.put(id, entrada);
+            List<String> terminos = terminos(normalizado);
+            for (int t = 0; t < terminos.size(); t++) {
+                String termino = terminos.get(t);
+                Nodo nodo = raiz;
+                for (int i = 0; i < Math.min(termino.length(), MAX_PROFUNDIDAD); i++) {
+                    nodo = nodo.hijos.computeIfAbsent(termino.charAt(i), c -> new Nodo());
+                }
+                (t == 0 ? nodo.nombres : nodo.palabras).add(id);
+                if (!cargando) {
+                    recalcularMejores(termino);
+                }
+            }
+            for (String trigrama : trigramas(" " + normalizado + " ")) {
+                porTrigrama.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+            }
+        }
+
+        private void quitar(UUID id) {
+            Entrada entrada = entradas.remove(id);
+            if (entrada == null) {
+                return;
+            }
+            List<String> terminos = terminos(entrada.normalizado());
+            for (int t = 0; t < terminos.size(); t++) {
+                quitar(raiz, terminos.get(t), 0, id, t == 0);
+            }
+            // Las listas se recalculan cuando ya no queda ningún término de la empresa en el trie
+            if (!cargando) {
+                terminos.forEach(this::recalcularMejores);
+            }
+            for (String trigrama : trigramas(" " + entrada.normalizado() + " ")) {
+                Set<UUID> ids = porTrigrama.get(trigrama);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    porTrigrama.remove(trigrama);
+                }
+            }
+        }
+
+        // Quita el ID del nodo donde acaba el término y poda las ramas que quedan vacías
+        private static void quitar(Nodo nodo, String termino, int i, UUID id, boolean nombreCompleto) {
+            if (i == Math.min(termino.length(), MAX_PROFUNDIDAD)) {
+                (nombreCompleto ? nodo.nombres : nodo.palabras).remove(id);
+                return;
+            }
+            Nodo hijo = nodo.hijos.get(termino.charAt(i));
+            if (hijo == null) {
+                return;
+            }
+            quitar(hijo, termino, i + 1, id, nombreCompleto);
+            if (hijo.isVacio()) {
+                nodo.hijos.remove(termino.charAt(i));
+            }
+        }
+
+        /**
+         * Recalcula, de abajo arriba, las empresas más usadas de los nodos con lista en el camino de un término.
+         */
+        private void recalcularMejores(String termino) {
+            List<Nodo> camino = new ArrayList<>();
+            Nodo nodo = raiz;
+            for (int i = 0; i < Math.min(termino.length(), PROFUNDIDAD_CON_MEJORES); i++) {
+                nodo = nodo.hijos.get(termino.charAt(i));
+                if (nodo == null) {
+                    break;
+                }
+                camino.add(nodo);
+            }
+            for (int i = camino.size() - 1; i >= 0; i--) {
+                calcularMejores(camino.get(i), i + 1);
+            }
+        }
+
+        // Calcula las listas de todo un subárbol, de las hojas a la raíz (carga completa)
+        private void calcularMejoresSubarbol(Nodo nodo, int profundidad) {
+            if (profundidad < PROFUNDIDAD_CON_MEJORES) {
+                for (Nodo hijo : nodo.hijos.values()) {
+                    calcularMejoresSubarbol(hijo, profundidad + 1);
+                }
+            }
+            calcularMejores(nodo, profundidad);
+        }
+
+        /**
+         * Calcula las empresas más usadas de un nodo: en el último nivel con lista recorriendo su subárbol,
+         * y en los anteriores combinando las listas de sus hijos con los términos que acaban en él.
+         */
+        private void calcularMejores(Nodo nodo, int profundidad) {
+            Seleccion nombres = new Seleccion(MAX_MEJORES);
+            Seleccion palabras = new Seleccion(MAX_MEJORES);
+            if (profundidad == PROFUNDIDAD_CON_MEJORES) {
+                recorrer(nodo, n -> {
+                    n.nombres.forEach(id -> nombres.ofrecer(entradas.get(id)));
+                    n.palabras.forEach(id -> palabras.ofrecer(entradas.get(id)));
+                });
+            } else {
+                nodo.nombres.forEach(id -> nombres.ofrecer(entradas.get(id)));
+                nodo.palabras.forEach(id -> palabras.ofrecer(entradas.get(id)));
+                for (Nodo hijo : nodo.hijos.values()) {
+                    hijo.mejoresNombres.forEach(nombres::ofrecer);
+                    hijo.mejoresPalabras.forEach(palabras::ofrecer);
+                }
+            }
+            nodo.mejoresNombres = nombres.ordenadas();
+            nodo.mejoresPalabras = palabras.ordenadas();
+        }
+
+        private static void recorrer(Nodo nodo, Consumer<Nodo> accion) {
+            accion.accept(nodo);
+            for (Nodo hijo : nodo.hijos.values()) {
+                recorrer(hijo, accion);
+            }
+        }
+
+        private long usos(UUID id) {
+            Entrada entrada = entradas.get(id);
+            return entrada != null ? entrada.usos() : 0;
+        }
+
+        private List<EmpresaSugerencia> sugerir(String consulta, int limit) {
+            Map<UUID, Candidato> candidatos = new HashMap<>();
+
+            Nodo nodo = raiz;
+            for (int i = 0; i < Math.min(consulta.length(), MAX_PROFUNDIDAD) && nodo != null; i++) {
+                nodo = nodo.hijos.get(consulta.charAt(i));
+            }
+            if (nodo != null) {
+                Set<Entrada> coincidentes = new HashSet<>();
+                if (nodo.mejoresNombres != null && limit <= MAX_MEJORES) {
+                    // Nombres exactos, y los más usados entre los prefijos del nombre y de una palabra: ninguna
+                    // otra empresa del subárbol puede quedar por delante de estas
+                    nodo.nombres.forEach(id -> coincidentes.add(entradas.get(id)));
+                    coincidentes.addAll(nodo.mejoresNombres);
+                    coincidentes.addAll(nodo.mejoresPalabras);
+                } else {
+                    recorrer(nodo, n -> {
+                        n.nombres.forEach(id -> coincidentes.add(entradas.get(id)));
+                        n.palabras.forEach(id -> coincidentes.add(entradas.get(id)));
+                    });
+                }
+                for (Entrada entrada : coincidentes) {
+                    Coincidencia coincidencia = entrada.coincidencia(consulta);
+                    if (coincidencia != null) {
+                        candidatos.put(entrada.id(), new Candidato(entrada, coincidencia, 1.0));
+                    }
+                }
+            }
+
+            // Los trigramas solo se recorren si los prefijos no bastan: sin espacio final, porque la última
+            // palabra de la consulta suele estar incompleta
+            if (candidatos.size() < limit && consulta.length() >= 3) {
+                Set<String> trigramasConsulta = trigramas(" " + consulta);
+                Map<UUID, Integer> comunes = new HashMap<>();
+                for (String trigrama : trigramasConsulta) {
+                    for (UUID id : porTrigrama.getOrDefault(trigrama, Set.of())) {
+                        comunes.merge(id, 1, Integer::sum);
+                    }
+                }
+                comunes.forEach((id, n) -> {
+                    double similitud = (double) n / trigramasConsulta.size();
+                    if (similitud >= MIN_SIMILITUD && !candidatos.containsKey(id)) {
+                        candidatos.put(id, new Candidato(entradas.get(id), Coincidencia.APROXIMADA, similitud));
+                    }
+                });
+            }
+
+            // Selección de los mejores sin ordenar todos los candidatos: la cabeza de la cola es el peor
+            PriorityQueue<Candidato> mejores = new PriorityQueue<>(limit + 1, ORDEN.reversed());
+            for (Candidato candidato : candidatos.values()) {
+                mejores.add(candidato);
+                if (mejores.size() > limit) {
+                    mejores.poll();
+                }
+            }
+            List<Candidato> ordenados = new ArrayList<>(mejores);
+            ordenados.sort(ORDEN);
+            return ordenados.stream()
+                    .map(c -> new EmpresaSugerencia(c.entrada().id(), c.entrada().nombre(), c.entrada().usos()))
+                    .toList();
+        }
+
+        // Nombre completo y resto del nombre a partir de cada palabra
+        private static List<String> terminos(String normalizado) {
+            List<String> terminos = new ArrayList<>();
+            terminos.add(normalizado);
+            for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+                terminos.add(normalizado.substring(i + 1));
+            }
+            return terminos;
+        }
+
+        private static Set<String> trigramas(String texto) {
+            Set<String> trigramas = new LinkedHashSet<>();
+            for (int i = 0; i + 3 <= texto.length(); i++) {
+                trigramas.add(texto.substring(i, i + 3));
+            }
+            return trigramas;
+        }
+    }
+
+    private static final class Nodo {
+        private final Map<Character, Nodo> hijos = new HashMap<>();
+        // Empresas cuyo nombre completo o resto a partir de una palabra acaba en este nodo
+        // (o se trunca en él, si es más largo que el trie)
+        private final Set<UUID> nombres = new HashSet<>();
+        private final Set<UUID> palabras = new HashSet<>();
+        // Solo en los primeros niveles: las empresas más usadas del subárbol, por tipo de término
+        private List<Entrada> mejoresNombres;
+        private List<Entrada> mejoresPalabras;
+
+        private boolean isVacio() {
+            return hijos.isEmpty() && nombres.isEmpty() && palabras.isEmpty();
+        }
+    }
+
+    /**
+     * Selección acotada de las empresas más usadas, sin repetidos: la cabeza de la cola es la peor.
+     */
+    private static final class Seleccion {
+        private final int maximo;
+        private final PriorityQueue<Entrada> mejores;
+        private final Set<UUID> vistas = new HashSet<>();
+
+        private Seleccion(int maximo) {
+            this.maximo = maximo;
+            this.mejores = new PriorityQueue<>(maximo + 1, POR_USOS.reversed());
+        }
+
+        private void ofrecer(Entrada entrada) {
+            if (!vistas.add(entrada.id())) {
+                return;
+            }
+            mejores.add(entrada);
+            if (mejores.size() > maximo) {
+                mejores.poll();
+            }
+        }
+
+        private List<Entrada> ordenadas() {
+            List<Entrada> ordenadas = new ArrayList<>(mejores);
+            ordenadas.sort(POR_USOS);
+            return ordenadas;
+        }
+    }
+
+    private record Entrada(UUID id, String nombre, String normalizado, long usos) {
+
+        private Coincidencia coincidencia(String consulta) {
+            if (normalizado.equals(consulta)) {
+                return Coincidencia.EXACTA;
+            }
+            if (normalizado.startsWith(consulta)) {
+                return Coincidencia.PREFIJO;
+            }
+            // Las consultas más largas que el trie llegan con candidatos que solo comparten el principio
+            return normalizado.contains(" " + consulta) ? Coincidencia.PALABRA : null;
+        }
+    }
+
+    private record Candidato(Entrada entrada, Coincidencia coincidencia, double similitud) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.gestion_candidaturas.gestion_candidaturas.service;
 
 
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaSugerencia;
 import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaWithUsersDTO;
 import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
 
@@ -52,6 +54,16 @@ public interface EmpresaService {
      */
     List<Empresa> findByNombreContaining(String nombre);
 
+    /**
+     * Sugiere empresas para el texto escrito en el selector de empresas, tolerando acentos y erratas,
+     * sin consultar la base de datos.
+     *
+     * @param q Texto escrito por el usuario
+     * @param limit Número máximo de sugerencias (opcional)
+     * @return Empresas sugeridas, de mejor a peor coincidencia
+     */
+    List<EmpresaSugerencia> sugerir(String q, Integer limit);
+
     /**
      * Busca una empresa por su nombre exacto (ignorando mayúsculas/minúsculas).
      *
@@ -61,11 +73,15 @@ public interface EmpresaService {
     Optional<Empresa> findByNombre(String nombre);
 
     /**
-     * Obtiene todas las empresas con información de los usuarios asociados a ellas.
+     * Obtiene una página de empresas, ordenadas por ID, con información de los usuarios asociados a ellas.
      * Este método es exclusivo para administradores y ofrece una visión completa
      * de qué usuarios están aplicando a qué empresas.
      *
-     * @return Lista de empresas con información de usuarios asociados
+     * @param cursor Cursor "next" devuelto por la página anterior (opcional)
+     * @param limit Tamaño de página (opcional, acotado al máximo configurado)
+     * @param minUsers Número mínimo de usuarios distintos con candidaturas en la empresa (opcional)
+     * @return Página de empresas con información de usuarios asociados y cursor de la siguiente
+     * @throws com.gestion_candidaturas.gestion_candidaturas.error.InvalidCursorException si el cursor no es válido
      */
-    List<EmpresaWithUsersDTO> findAllWithAssociatedUsers();
+    CursorPage<EmpresaWithUsersDTO> findPageWithAssociatedUsers(String cursor, Integer limit, Integer minUsers);
 }
@@ -1,17 +1,32 @@
 package com.gestion_candidaturas.gestion_candidaturas.service;
 
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaSugerencia;
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaUsuarioResumen;
 import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaWithUsersDTO;
 import com.gestion_candidaturas.gestion_candidaturas.dto.UserResumenDTO;
+import com.gestion_candidaturas.gestion_candidaturas.error.InvalidCursorException;
 import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.Reclutador;
 import com.gestion_candidaturas.gestion_candidaturas.repository.EmpresaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación de la interfaz EmpresaService que proporciona
@@ -21,10 +36,31 @@ import java.util.stream.Collectors;
 public class EmpresaServiceImpl implements EmpresaService{
 
     private final EmpresaRepository empresaRepository;
+    private final CandidaturaEstadisticasService estadisticasService;
+    private final Cache secondLevelCache;
+    private final EmpresaNombreIndex nombreIndex;
+    private final int defaultSuggestSize;
+    private final int maxSuggestSize;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     @Autowired
-    public EmpresaServiceImpl (EmpresaRepository empresaRepository){
+    public EmpresaServiceImpl (EmpresaRepository empresaRepository,
+                               CandidaturaEstadisticasService estadisticasService,
+                               EntityManagerFactory entityManagerFactory,
+                               EmpresaNombreIndex nombreIndex,
+                               @Value("${app.empresas.suggest.default-size:10}") int defaultSuggestSize,
+                               @Value("${app.empresas.suggest.max-size:50}") int maxSuggestSize,
+                               @Value("${app.empresas.page.default-size:100}") int defaultPageSize,
+                               @Value("${app.empresas.page.max-size:500}") int maxPageSize){
         this.empresaRepository = empresaRepository;
+        this.estadisticasService = estadisticasService;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.nombreIndex = nombreIndex;
+        this.defaultSuggestSize = defaultSuggestSize;
+        this.maxSuggestSize = maxSuggestSize;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
 
@@ -62,11 +98,20 @@ public class EmpresaServiceImpl implements EmpresaService{
      * 2. Garantiza que toda la operación se realiza como una unidad atómica
      * 3. Si ocurre algún error, se hará rollback automático de todos los cambios
      * 4. Maneja correctamente la concurrencia y los bloqueos de la base de datos
+     * Al confirmar se descarta la empresa de la caché de segundo nivel, de modo que la siguiente
+     * lectura la vuelve a cargar de la base de datos, y se actualiza su nombre en el índice de sugerencias.
      */
     @Override
     @Transactional
     public Empresa save(Empresa empresa) {
-        return empresaRepository.save(empresa);
+        Empresa guardada = empresaRepository.save(empresa);
+        UUID id = guardada.getId();
+        String nombre = guardada.getNombre();
+        alConfirmar(() -> {
+            secondLevelCache.evictEntityData(Empresa.class, id);
+            nombreIndex.actualizar(id, nombre);
+        });
+        return guardada;
     }
 
     /**
@@ -75,12 +120,24 @@ public class EmpresaServiceImpl implements EmpresaService{
      * 1. Es una operación que modifica datos (eliminación)
      * 2. Podría afectar múltiples tablas debido a las relaciones
      * 3. Garantiza la integridad de los datos si la eliminación falla
+     * Las candidaturas de la empresa se eliminan en cascada, por lo que se restan de las estadísticas
+     * en la misma transacción.
+     * Al confirmar se descartan de la caché de segundo nivel la empresa, sus reclutadores y los listados
+     * de reclutadores por empresa, y la empresa se quita del índice de sugerencias.
      */
     @Override
     @Transactional
     public boolean deleteById(UUID id) {
-        if (empresaRepository.existsById(id)) {
-            empresaRepository.deleteById(id);
+        Optional<Empresa> empresa = empresaRepository.findById(id);
+        if (empresa.isPresent()) {
+            empresa.get().getCandidaturas().forEach(estadisticasService::registrarBaja);
+            empresaRepository.delete(empresa.get());
+            alConfirmar(() -> {
+                secondLevelCache.evictEntityData(Empresa.class, id);
+                secondLevelCache.evictEntityData(Reclutador.class);
+                secondLevelCache.evictQueryRegion(Reclutador.CACHE_REGION_POR_EMPRESA);
+                nombreIndex.eliminar(id);
+            });
             return true;
         }
         return false;
@@ -98,6 +155,15 @@ public class EmpresaServiceImpl implements EmpresaService{
         return empresaRepository.findByNombreContainingIgnoreCase(nombre);
     }
 
+    /**
+     * Las sugerencias se resuelven en el índice en memoria, sin transacción ni consulta a la base de datos.
+     */
+    @Override
+    public List<EmpresaSugerencia> sugerir(String q, Integer limit) {
+        int size = Math.min(Math.max(limit != null ? limit : defaultSuggestSize, 1), maxSuggestSize);
+        return nombreIndex.sugerir(q, size);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Empresa> findByNombre(String nombre) {
@@ -105,35 +171,69 @@ public class EmpresaServiceImpl implements EmpresaService{
         return empresaRepository.findByNombreIgnoreCase(nombre);
     }
 
+    /**
+     * Resuelve cada página con dos consultas, sea cual sea el número de empresas:
+     * 1. Las empresas de la página, por ID y filtradas por número de usuarios con HAVING.
+     * 2. Los usuarios de esas empresas agrupados por (empresa, usuario), que se recorren una sola vez
+     *    añadiendo cada fila a su empresa.
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<EmpresaWithUsersDTO> findAllWithAssociatedUsers() {
-        // Obtenemos todas las empresas
-        List<Empresa> empresas = empresaRepository.findAll();
-
-        // Transformamos cada empresa en un DTO con información de usuarios asociados
-        return empresas.stream().map(empresa -> {
-            // Para cada empresa, obetenemos los usuarios asociados a través de candidaturas
-            List<UserResumenDTO> usuariosAsociados = empresaRepository.findUsersByEmpresaId(empresa.getId())
-                    .stream().map( resultado -> {
-                        // Cada resultado es un array de objetos [UUID, String, Long] con [id, username, conteo]
-                        Object[] datos = (Object[]) resultado;
-                        return new UserResumenDTO(
-                                (UUID) datos[0],                // ID del usuario
-                                (String) datos[1],              // Username
-                                ((Long) datos[2]).intValue()    // Número de candidaturas (convertido a int)
-                        );
-                    })
-                    .collect(Collectors.toList());
-            // Construimos el DTo completo
-            return new EmpresaWithUsersDTO(
-                    empresa.getId(),
-                    empresa.getNombre(),
-                    empresa.getCorreo(),
-                    empresa.getTelefono(),
-                    usuariosAsociados
-            );
-        }).collect(Collectors.toList());
+    public CursorPage<EmpresaWithUsersDTO> findPageWithAssociatedUsers(String cursor, Integer limit,
+                                                                        Integer minUsers) {
+        int pageSize = Math.min(Math.max(limit != null ? limit : defaultPageSize, 1), maxPageSize);
+        long minimo = Math.max(minUsers != null ? minUsers : 0, 0);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<EmpresaWithUsersDTO> empresas = cursor == null || cursor.isBlank()
+                ? empresaRepository.findFirstPageWithUsers(minimo, fetchLimit)
+                : empresaRepository.findPageWithUsersAfter(decodeCursor(cursor), minimo, fetchLimit);
+
+        String next = null;
+        if (empresas.size() > pageSize) {
+            empresas = empresas.subList(0, pageSize);
+            next = encodeCursor(empresas.get(pageSize - 1).getId());
+        }
+        if (empresas.isEmpty()) {
+            return new CursorPage<>(empresas, null);
+        }
+
+        Map<UUID, EmpresaWithUsersDTO> porId = new HashMap<>();
+        empresas.forEach(empresa -> porId.put(empresa.getId(), empresa));
+        try (Stream<EmpresaUsuarioResumen> filas = empresaRepository.streamUsuariosByEmpresaIds(porId.keySet())) {
+            filas.forEach(fila -> porId.get(fila.empresaId()).getUsuariosAsociados().add(
+                    new UserResumenDTO(fila.userId(), fila.username(), (int) fila.numeroCandidaturas())));
+        }
+        return new CursorPage<>(empresas, next);
+    }
+
+    private static String encodeCursor(UUID id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UUID decodeCursor(String cursor) {
+        try {
+            return UUID.fromString(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Cursor de paginación no válido");
+        }
+    }
 
+    /**
+     * Ejecuta una acción cuando la transacción en curso se confirma, o en el momento si no hay transacción.
+     * Si se descartara la caché antes de confirmar, otra lectura concurrente podría volver a cargar los datos
+     * antiguos; si la transacción se deshace, la caché no se toca.
+     */
+    private static void alConfirmar(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
     }
 }
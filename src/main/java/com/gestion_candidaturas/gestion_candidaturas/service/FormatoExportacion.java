@@ -0,0 +1,49 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Formatos disponibles para la exportación de candidaturas.
+ */
+public enum FormatoExportacion {
+
+    /** Un array JSON cuyos elementos se escriben a medida que se leen. */
+    JSON(MediaType.APPLICATION_JSON, "json"),
+
+    /** Un objeto JSON por línea. */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /** Valores separados por comas con cabecera (RFC 4180). */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    FormatoExportacion(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Obtiene el formato a partir de su nombre, sin distinguir mayúsculas.
+     *
+     * @param nombre Nombre del formato (json, ndjson o csv)
+     * @return Formato, o vacío si no existe
+     */
+    public static Optional<FormatoExportacion> from(String nombre) {
+        return Arrays.stream(values())
+                .filter(formato -> formato.extension.equalsIgnoreCase(nombre))
+                .findFirst();
+    }
+}
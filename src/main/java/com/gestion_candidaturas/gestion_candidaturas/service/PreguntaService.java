@@ -27,6 +27,24 @@ public interface PreguntaService {
      */
     Optional<Pregunta> findById(UUID id);
 
+    /**
+     * Busca una pregunta de un usuario concreto. La comprobación del propietario se hace en la consulta,
+     * por lo que una pregunta ajena no llega a cargarse.
+     *
+     * @param id Identificador único de la pregunta.
+     * @param userId ID del usuario propietario.
+     * @return Optional con la pregunta si existe y es del usuario, Optional vacío si no.
+     */
+    Optional<Pregunta> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Comprueba si existe una pregunta, sin cargarla.
+     *
+     * @param id Identificador único de la pregunta.
+     * @return true si existe, false en caso contrario.
+     */
+    boolean existsById(UUID id);
+
     /**
      * Guarda una nueva pregunta o actualiza una existente.
      *
@@ -36,12 +54,14 @@ public interface PreguntaService {
     Pregunta save(Pregunta pregunta);
 
     /**
-     * Elimina una pregunta por su identificador.
+     * Elimina una pregunta por su identificador con un único DELETE, sin cargarla.
+     * Si se indica un usuario, solo se elimina si es su propietario.
      *
      * @param id Identificador único de la pregunta a eliminar.
-     * @return true si se eliminó correctamente, false si no existe.
+     * @param userId ID del usuario propietario, o null para eliminarla sea de quien sea (administradores).
+     * @return true si se eliminó, false si no existe o es de otro usuario.
      */
-    boolean deleteById(UUID id);
+    boolean deleteById(UUID id, UUID userId);
 
     /**
      * Cuenta el número de preguntas asociadas a una candidatura.
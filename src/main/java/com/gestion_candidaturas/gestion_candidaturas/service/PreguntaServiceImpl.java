@@ -40,6 +40,18 @@ public class PreguntaServiceImpl implements PreguntaService{
         return preguntaRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Pregunta> findByIdAndUserId(UUID id, UUID userId) {
+        return preguntaRepository.findByIdAndUsuarioId(id, userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsById(UUID id) {
+        return preguntaRepository.existsById(id);
+    }
+
     @Override
     @Transactional
     public Pregunta save(Pregunta pregunta) {
@@ -48,12 +60,11 @@ public class PreguntaServiceImpl implements PreguntaService{
 
     @Override
     @Transactional
-    public boolean deleteById(UUID id) {
-        if (preguntaRepository.existsById(id)) {
-            preguntaRepository.deleteById(id);
-            return true;
-        }
-        return false;
+    public boolean deleteById(UUID id, UUID userId) {
+        int eliminadas = userId == null
+                ? preguntaRepository.deletePregunta(id)
+                : preguntaRepository.deletePreguntaDeUsuario(id, userId);
+        return eliminadas > 0;
     }
 
     @Override
@@ -65,7 +76,6 @@ public class PreguntaServiceImpl implements PreguntaService{
     @Override
     @Transactional(readOnly = true)
     public boolean isOwner(UUID preguntaId, UUID userId) {
-        Optional<Pregunta> pregunta = preguntaRepository.findById(preguntaId);
-        return pregunta.isPresent() && pregunta.get().getUsuario().getId().equals(userId);
+        return preguntaRepository.isPreguntaOwner(preguntaId, userId);
     }
 }
@@ -54,20 +54,9 @@ public class ReclutadorServiceImpl implements ReclutadorService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isReclutadorAssociatedWithUserCandidaturas(UUID reclutadorId, UUID userId) {
-        // Verificamos si el reclutador existe
-        Optional<Reclutador> reclutadorOpt = reclutadorRepository.findById(reclutadorId);
-        if(reclutadorOpt.isEmpty()){
-            System.out.println("El reclutador con ID " + reclutadorId + " no existe");
-            return false;
-        }
-
-        // Obtenemos el reclutador y sus candidaturas asociadas
-        Reclutador reclutador = reclutadorOpt.get();
-
-        // Verificamos si alguna de esas candidaturas pertenece al usuario
-        return reclutador.getCandidaturas().stream().anyMatch(
-                candidatura -> candidatura.getUser().getId().equals(userId));
+        return reclutadorRepository.isAsociadoACandidaturaDeUsuario(reclutadorId, userId);
     }
 
     @Override
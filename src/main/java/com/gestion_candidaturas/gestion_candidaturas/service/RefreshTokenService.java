@@ -0,0 +1,46 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+
+/**
+ * Interfaz que define las operaciones disponibles para la gestión de refresh tokens.
+ *
+ * @see RF-10: Autenticación mediante JWT
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Emite un refresh token que inicia una nueva familia de rotación.
+     *
+     * @param user Usuario autenticado
+     * @return Valor del refresh token que se entrega al cliente
+     */
+    String issue(User user);
+
+    /**
+     * Canjea un refresh token por uno nuevo de la misma familia.
+     * Si el token ya se había canjeado, se considera robado y se revoca toda la familia.
+     *
+     * @param refreshToken Valor del refresh token presentado por el cliente
+     * @return Usuario propietario y nuevo refresh token
+     * @throws org.springframework.security.authentication.BadCredentialsException si el token
+     *         no existe, ha expirado, está revocado o ya se había canjeado
+     */
+    Rotation rotate(String refreshToken);
+
+    /**
+     * Revoca la familia de rotación de un refresh token (cierre de sesión).
+     *
+     * @param refreshToken Valor del refresh token presentado por el cliente
+     */
+    void revoke(String refreshToken);
+
+    /**
+     * Resultado de una rotación de refresh token.
+     *
+     * @param user Usuario propietario del token
+     * @param refreshToken Nuevo refresh token
+     */
+    record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.RefreshToken;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Implementación de la interfaz RefreshTokenService.
+ * Un refresh es una búsqueda por hash y una firma de JWT: no ejecuta BCrypt.
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long validityDays;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   @Value("${app.security.jwt.refresh-token-validity-days:14}") long validityDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.validityDays = validityDays;
+    }
+
+    @Override
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID());
+    }
+
+    /**
+     * Se utiliza noRollbackFor porque la revocación de la familia ante una reutilización
+     * debe persistir aunque la solicitud termine con error.
+     */
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+
+        if (current.isRevoked() || current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BadCredentialsException("Refresh token expirado o revocado");
+        }
+
+        // Marcado condicional: de dos canjes concurrentes del mismo token solo uno gana
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new BadCredentialsException("Refresh token reutilizado");
+        }
+
+        User user = current.getUser();
+        if (!user.isActivo()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new BadCredentialsException("Usuario inactivo");
+        }
+        return new Rotation(user, create(user, current.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * Elimina periódicamente los refresh tokens expirados.
+     */
+    @Scheduled(cron = "${app.security.jwt.refresh-token-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private String create(User user, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(hash(value), user, familyId,
+                LocalDateTime.now().plusDays(validityDays)));
+        return value;
+    }
+
+    /**
+     * Calcula el hash SHA-256 de un token. Al ser un valor aleatorio de 256 bits no necesita sal
+     * ni un algoritmo lento, y permite buscarlo por índice.
+     */
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
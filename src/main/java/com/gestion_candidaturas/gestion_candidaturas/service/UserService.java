@@ -1,14 +1,25 @@
 package com.gestion_candidaturas.gestion_candidaturas.service;
 
+import com.gestion_candidaturas.gestion_candidaturas.error.DuplicateResourceException;
 import com.gestion_candidaturas.gestion_candidaturas.model.Role;
 import com.gestion_candidaturas.gestion_candidaturas.model.User;
 import com.gestion_candidaturas.gestion_candidaturas.repository.UserRepository;
+import com.gestion_candidaturas.gestion_candidaturas.security.AuthenticatedUser;
+import com.gestion_candidaturas.gestion_candidaturas.security.TokenVersionRegistry;
+import com.gestion_candidaturas.gestion_candidaturas.security.UserPrincipalCache;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -22,19 +33,32 @@ import java.util.UUID;
  * @see RF-11: Control de acceso basado en roles
  */
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+    // Mensajes de error de registro (los mismos que devolvían las comprobaciones previas)
+    private static final String USERNAME_IN_USE = "El nombre de usuario ya está en uso";
+    private static final String EMAIL_IN_USE = "el email ya está en uso";
+
+    // Atributo de la solicitud donde se memoriza el usuario actual
+    private static final String CURRENT_USER_ATTRIBUTE = UserService.class.getName() + ".CURRENT_USER";
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder){
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       UserPrincipalCache userPrincipalCache, TokenVersionRegistry tokenVersionRegistry){
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userPrincipalCache = userPrincipalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
     }
 
     /**
      * Carga los detalles de un usuario por su nombre de usuario.
      * Este método es requerido por Spring Security para el proceso de autenticación.
+     * Consulta primero la caché de usuarios para no acceder a la BD en cada solicitud autenticada.
      *
      * @param username Nombre de usuario a buscar
      * @return UserDetails con la información necesaria para autenticación
@@ -42,14 +66,41 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Buscar primero en la caché
+        Optional<User> cached = userPrincipalCache.get(username);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
         //Buscar usuario en la BD
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+        userPrincipalCache.put(user);
 
         // Retornar las autoridades del usuario directamente
         return user;
     }
 
+    /**
+     * Actualiza el hash de la contraseña de un usuario tras un inicio de sesión correcto.
+     * Spring Security lo invoca cuando el hash almacenado usa un coste o algoritmo anterior
+     * al configurado; la contraseña recibida ya está codificada.
+     *
+     * @param user Usuario autenticado
+     * @param newPassword Nuevo hash de la contraseña
+     * @return Usuario con el hash actualizado
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        userPrincipalCache.evict(user.getUsername());
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
+
     /**
      * Busca un usuario por su nombre de usuario.
      *
@@ -69,7 +120,17 @@ public class UserService implements UserDetailsService {
     public User save(User user){
         // Encriptar contraseña antes de guardar
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+
+        // Invalidar la caché por ID (por si cambió el username) y por username
+        userPrincipalCache.evictById(saved.getId());
+        userPrincipalCache.evict(saved.getUsername());
+
+        // Si cambió el rol o el estado, los tokens anteriores dejan de ser válidos
+        if (saved.getTokenVersion() > 0) {
+            tokenVersionRegistry.update(saved.getId(), saved.getTokenVersion());
+        }
+        return saved;
     }
 
     /**
@@ -89,18 +150,73 @@ public class UserService implements UserDetailsService {
      */
     public void deleteUserById(UUID id){
         userRepository.deleteById(id);
+        userPrincipalCache.evictById(id);
+        tokenVersionRegistry.revokeAll(id);
     }
 
     /**
      * Obtiene el usuario actualmente autenticado en el sistema.
+     * Reutiliza el usuario que el filtro JWT ya cargó como principal, por lo que no
+     * ejecuta una segunda consulta dentro de la misma solicitud. En el modo sin estado se
+     * construye a partir del principal del token y solo contiene ID, username y rol.
+     * Si el principal no es un usuario, se consulta la BD una única vez por solicitud.
      *
      * @return Usuario autenticado
      * @throws UsernameNotFoundException si el usuario no existe
      */
     public User getCurrentUser(){
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof User user) {
+            return user;
+        }
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.toUser();
+        }
+
+        // Reutilizar el usuario ya resuelto en esta solicitud
+        String username = authentication.getName();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached
+                && cached.getUsername().equals(username)) {
+            return cached;
+        }
+
+        User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * Obtiene el usuario autenticado con todos sus datos cargados desde la base de datos.
+     * Se usa cuando se necesitan datos que no viajan en el token (por ejemplo, el email).
+     *
+     * @return Usuario autenticado completo
+     * @throws UsernameNotFoundException si el usuario no existe
+     */
+    public User getCurrentUserProfile(){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return userRepository.findById(principal.id())
+                    .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + principal.username()));
+        }
+        return getCurrentUser();
+    }
+
+    /**
+     * Verifica si la versión de un token sigue vigente para el usuario.
+     * La versión se lee de la BD a lo sumo una vez por usuario durante el tiempo de vida de su caché.
+     *
+     * @param userId ID del usuario
+     * @param tokenVersion Versión incluida en el token
+     * @return true si el token no ha sido invalidado por un cambio de rol o estado
+     */
+    public boolean isTokenVersionCurrent(UUID userId, int tokenVersion){
+        return tokenVersionRegistry.isCurrent(userId, tokenVersion);
     }
 
     /**
@@ -137,12 +253,15 @@ public class UserService implements UserDetailsService {
     /**
      * Registra un nuevo usuario en el sistema con los datos proporcionados.
      * La contraseña se encripta antes de almacenarse en la base de datos.
+     * Se ejecuta un único INSERT: la unicidad del username y del email la garantizan las
+     * restricciones de la tabla users, también ante registros concurrentes.
      *
      * @param username Nombre de usuario
      * @param email Correo electrónico
      * @param password Contraseña (sin encriptar)
      * @param rolName Nombre del rol (USER, ADMIN, ROOT)
      * @return El usuario creado
+     * @throws DuplicateResourceException si el username o el email ya están en uso
      */
     public User register(String username, String email, String password, String rolName){
         // Crear nueva instancia de usuario
@@ -161,8 +280,41 @@ public class UserService implements UserDetailsService {
         }
         newUser.setRole(role);
 
-        // Guardar en la base de datos
-        return userRepository.save(newUser);
+        // Guardar en la base de datos; el flush hace que una violación de unicidad se detecte aquí
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            throw toDuplicateException(e, username);
+        }
+        userPrincipalCache.evict(saved.getUsername());
+        return saved;
+    }
+
+    /**
+     * Traduce una violación de unicidad al campo duplicado.
+     * Usa el nombre de la restricción y, si la BD tiene nombres heredados, lo averigua con una
+     * consulta; este camino solo se recorre cuando el registro ya ha fallado.
+     *
+     * @param e Excepción de integridad lanzada por el INSERT
+     * @param username Nombre de usuario que se intentó registrar
+     * @return Excepción con el campo duplicado
+     */
+    private RuntimeException toDuplicateException(DataIntegrityViolationException e, String username){
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName().toLowerCase() : "";
+
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return new DuplicateResourceException("username", USERNAME_IN_USE);
+        }
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateResourceException("email", EMAIL_IN_USE);
+        }
+        if (userRepository.existsByUsername(username)) {
+            return new DuplicateResourceException("username", USERNAME_IN_USE);
+        }
+        return new DuplicateResourceException("email", EMAIL_IN_USE);
     }
 
 }
@@ -0,0 +1,67 @@
+-- Esquema base: refleja las entidades tal y como las creaba ddl-auto=update.
+-- Las bases de datos existentes se marcan en esta versión (spring.flyway.baseline-on-migrate)
+-- y solo aplican las migraciones posteriores, por lo que esta versión no debe cambiar: lo que se añada
+-- al esquema va en una migración nueva.
+
+CREATE TABLE users (
+    id             BINARY(16)                    NOT NULL,
+    username       VARCHAR(255)                  NOT NULL,
+    password       VARCHAR(255)                  NOT NULL,
+    email          VARCHAR(255)                  NOT NULL,
+    role           ENUM ('USER', 'ADMIN', 'ROOT'),
+    activo         BIT                           NOT NULL,
+    fecha_creacion DATETIME(6)                   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE empresas (
+    id                  BINARY(16)   NOT NULL,
+    nombre              VARCHAR(255),
+    correo              VARCHAR(255),
+    telefono            VARCHAR(255),
+    fecha_cracion       DATE         NOT NULL,
+    fecha_actualizacion DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reclutadores (
+    id         BINARY(16)   NOT NULL,
+    empresa_id BINARY(16)   NOT NULL,
+    nombre     VARCHAR(255),
+    linkin_url VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reclutadores_empresa FOREIGN KEY (empresa_id) REFERENCES empresas (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE candidaturas (
+    id         BINARY(16)   NOT NULL,
+    user_id    BINARY(16)   NOT NULL,
+    empresa_id BINARY(16)   NOT NULL,
+    cargo      VARCHAR(255),
+    fecha      DATETIME(6),
+    estado     ENUM ('PENDIENTE', 'ENTREVISTA', 'ACEPTADA', 'RECHAZADA', 'ARCHIVADA', 'EN_PROCESO'),
+    notas      VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_candidaturas_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_candidaturas_empresa FOREIGN KEY (empresa_id) REFERENCES empresas (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE candidatura_reclutador (
+    candidatura_id BINARY(16) NOT NULL,
+    reclutador_id  BINARY(16) NOT NULL,
+    PRIMARY KEY (candidatura_id, reclutador_id),
+    CONSTRAINT fk_candidatura_reclutador_candidatura FOREIGN KEY (candidatura_id) REFERENCES candidaturas (id),
+    CONSTRAINT fk_candidatura_reclutador_reclutador FOREIGN KEY (reclutador_id) REFERENCES reclutadores (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE preguntas (
+    id             BINARY(16)   NOT NULL,
+    candidatura_id BINARY(16)   NOT NULL,
+    pregunta       VARCHAR(255),
+    usuario_id     BINARY(16)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_preguntas_candidatura FOREIGN KEY (candidatura_id) REFERENCES candidaturas (id),
+    CONSTRAINT fk_preguntas_usuario FOREIGN KEY (usuario_id) REFERENCES users (id)
+) ENGINE = InnoDB;
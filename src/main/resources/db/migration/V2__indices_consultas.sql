@@ -0,0 +1,18 @@
+-- Índices compuestos para las consultas habituales.
+-- ALGORITHM=INPLACE, LOCK=NONE: el índice se construye sin bloquear lecturas ni escrituras; si MySQL
+-- no pudiera hacerlo en línea, la sentencia falla en lugar de bloquear la tabla.
+
+-- Preguntas de una candidatura (sustituye al índice implícito de la clave foránea)
+ALTER TABLE preguntas
+    ADD INDEX idx_preguntas_candidatura (candidatura_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Reclutadores de una empresa y búsqueda por nombre dentro de ella
+ALTER TABLE reclutadores
+    ADD INDEX idx_reclutadores_empresa_nombre (empresa_id, nombre),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Clave inversa de la tabla de unión: candidaturas de un reclutador
+ALTER TABLE candidatura_reclutador
+    ADD INDEX idx_candidatura_reclutador_reverse (reclutador_id, candidatura_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,28 @@
+-- Contadores agregados por usuario para /api/candidaturas/stats (por estado, mes y empresa).
+-- Los mantiene la aplicación en la misma transacción que las candidaturas; un trabajo nocturno
+-- los reconstruye desde cero.
+
+CREATE TABLE candidatura_estadisticas (
+    user_id   BINARY(16)                         NOT NULL,
+    dimension ENUM ('ESTADO', 'MES', 'EMPRESA')  NOT NULL,
+    valor     VARCHAR(64)                        NOT NULL,
+    total     BIGINT                             NOT NULL,
+    PRIMARY KEY (user_id, dimension, valor),
+    CONSTRAINT fk_candidatura_estadisticas_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Carga inicial a partir de las candidaturas existentes
+INSERT INTO candidatura_estadisticas (user_id, dimension, valor, total)
+SELECT user_id, 'ESTADO', COALESCE(estado, '-'), COUNT(*)
+FROM candidaturas
+GROUP BY user_id, estado;
+
+INSERT INTO candidatura_estadisticas (user_id, dimension, valor, total)
+SELECT user_id, 'MES', COALESCE(DATE_FORMAT(fecha, '%Y-%m'), '-'), COUNT(*)
+FROM candidaturas
+GROUP BY user_id, DATE_FORMAT(fecha, '%Y-%m');
+
+INSERT INTO candidatura_estadisticas (user_id, dimension, valor, total)
+SELECT user_id, 'EMPRESA', BIN_TO_UUID(empresa_id), COUNT(*)
+FROM candidaturas
+GROUP BY user_id, empresa_id;
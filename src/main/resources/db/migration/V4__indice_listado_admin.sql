@@ -0,0 +1,5 @@
+-- Listado paginado por cursor de las candidaturas de todos los usuarios (administradores).
+-- Sin este índice, cada página ordena la tabla completa por (fecha DESC, id DESC).
+ALTER TABLE candidaturas
+    ADD INDEX idx_candidaturas_fecha_id (fecha DESC, id DESC),
+    ALGORITHM = INPLACE, LOCK = NONE;
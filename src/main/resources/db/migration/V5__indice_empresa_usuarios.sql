@@ -0,0 +1,5 @@
+-- Usuarios con candidaturas en cada empresa (GET /api/empresas/with-users).
+-- El índice cubre el agrupamiento por (empresa, usuario) sin leer las filas de candidaturas.
+ALTER TABLE candidaturas
+    ADD INDEX idx_candidaturas_empresa_user (empresa_id, user_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
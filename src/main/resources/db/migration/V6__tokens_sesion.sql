@@ -0,0 +1,22 @@
+-- Versión de token por usuario (invalida los tokens emitidos antes de un cambio de rol o de estado)
+-- y refresh tokens rotatorios.
+-- ALGORITHM=INPLACE, LOCK=NONE: la columna se añade sin bloquear lecturas ni escrituras de users.
+
+ALTER TABLE users
+    ADD COLUMN token_version INT NOT NULL DEFAULT 0,
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+CREATE TABLE refresh_tokens (
+    id         BINARY(16)  NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    user_id    BINARY(16)  NOT NULL,
+    family_id  BINARY(16)  NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    used       BIT         NOT NULL,
+    revoked    BIT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    INDEX idx_refresh_tokens_family (family_id),
+    INDEX idx_refresh_tokens_expires_at (expires_at),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- Candidaturas de un usuario: listado paginado por cursor (fecha DESC, id DESC) y filtrado por estado.
+-- ALGORITHM=INPLACE, LOCK=NONE: los índices se construyen sin bloquear lecturas ni escrituras.
+ALTER TABLE candidaturas
+    ADD INDEX idx_candidaturas_user_fecha_id (user_id, fecha DESC, id DESC),
+    ADD INDEX idx_candidaturas_user_estado_fecha (user_id, estado, fecha),
+    ALGORITHM = INPLACE, LOCK = NONE;
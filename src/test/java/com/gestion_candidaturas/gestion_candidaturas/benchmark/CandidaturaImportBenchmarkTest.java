@@ -0,0 +1,91 @@
+package com.gestion_candidaturas.gestion_candidaturas.benchmark;
+
+import com.gestion_candidaturas.gestion_candidaturas.GestionCandidaturasApplication;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaImportResultado;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.repository.EmpresaRepository;
+import com.gestion_candidaturas.gestion_candidaturas.repository.UserRepository;
+import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaImportService;
+import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Benchmark de la importación de 50.000 candidaturas frente al alta una a una
+ * (lo que hacía un cliente llamando a POST /api/candidaturas por cada fila: una transacción
+ * y una búsqueda de la empresa por candidatura).
+ * El alta una a una se mide sobre una muestra y se extrapola.
+ * Necesita una base de datos MySQL real y desechable; por defecto usa la de application.properties.
+ *
+ * Solo se ejecuta bajo demanda:
+ * mvn test -Dtest=CandidaturaImportBenchmarkTest -Dbenchmark=true [-Dspring.datasource.url=...]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CandidaturaImportBenchmarkTest {
+
+    private static final int FILAS = 50_000;
+    private static final int MUESTRA_UNA_A_UNA = 2_000;
+    private static final int EMPRESAS = 500;
+
+    @Test
+    public void compareImportAndOneByOneInserts() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GestionCandidaturasApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.jpa.show-sql=false")) {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            EmpresaRepository empresaRepository = context.getBean(EmpresaRepository.class);
+            CandidaturaService candidaturaService = context.getBean(CandidaturaService.class);
+            CandidaturaImportService importService = context.getBean(CandidaturaImportService.class);
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            String sufijo = UUID.randomUUID().toString().substring(0, 8);
+            User user = userRepository.save(new User(null, "bench-" + sufijo, "password",
+                    "bench-" + sufijo + "@example.com", Role.USER));
+            Empresa empresa = new Empresa();
+            empresa.setNombre("Bench " + sufijo);
+            UUID empresaId = empresaRepository.save(empresa).getId();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MUESTRA_UNA_A_UNA; i++) {
+                int fila = i;
+                transaction.executeWithoutResult(status -> {
+                    Empresa encontrada = empresaRepository.findById(empresaId).orElseThrow();
+                    candidaturaService.save(new Candidatura(user, encontrada, "Cargo " + fila, new Date(),
+                            EstadoCandidatura.PENDIENTE, null));
+                });
+            }
+            double unaAUnaMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            StringBuilder csv = new StringBuilder(FILAS * 64).append("empresa,cargo,fecha,estado,notas\n");
+            for (int i = 0; i < FILAS; i++) {
+                csv.append("Bench ").append(sufijo).append(' ').append(i % EMPRESAS)
+                        .append(",Cargo ").append(i).append(",2024-03-15,PENDIENTE,Importada\n");
+            }
+            start = System.nanoTime();
+            CandidaturaImportResultado resultado = importService.importarCsv(user.getId(), new StringReader(csv.toString()));
+            double importMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            double unaAUnaRowsPerSecond = MUESTRA_UNA_A_UNA / (unaAUnaMs / 1000);
+            double importRowsPerSecond = resultado.importadas() / (importMs / 1000);
+            System.out.printf("One by one: %d rows in %.0f ms (%.0f rows/s, %d rows extrapolated=%.0f s)%n",
+                    MUESTRA_UNA_A_UNA, unaAUnaMs, unaAUnaRowsPerSecond, FILAS, FILAS / unaAUnaRowsPerSecond);
+            System.out.printf("Import: %d rows (%d empresas created) in %.0f ms (%.0f rows/s), speedup=%.1fx%n",
+                    resultado.importadas(), resultado.empresasCreadas(), importMs, importRowsPerSecond,
+                    importRowsPerSecond / unaAUnaRowsPerSecond);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.gestion_candidaturas.gestion_candidaturas.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Reclutador;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Micro-benchmark del listado de candidaturas: grafo de entidades frente a proyecciones CandidaturaResumen.
+ * Mide, para una página de 50 candidaturas con 3 reclutadores cada una, los bytes asignados,
+ * la latencia y el tamaño del JSON de construir y serializar la respuesta.
+ *
+ * No incluye el coste de BD (ancho de fila, consultas de las colecciones perezosas) ni las
+ * instantáneas del contexto de persistencia, que se suman al lado de las entidades.
+ *
+ * Solo se ejecuta bajo demanda: mvn test -Dtest=CandidaturaListingBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CandidaturaListingBenchmarkTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int RECLUTADORES = 3;
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final User user = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+
+    @Test
+    public void compareEntitiesAndProjections() throws Exception {
+        Result entities = measure(() -> objectMapper.writeValueAsBytes(entityPage()));
+        Result projections = measure(() -> objectMapper.writeValueAsBytes(projectionPage()));
+
+        System.out.printf("Listing page (%d rows): entities=%.0f ns, %d B/op, %d B JSON%n",
+                PAGE_SIZE, entities.nanos, entities.allocatedBytes, entities.jsonBytes);
+        System.out.printf("Listing page (%d rows): projections=%.0f ns, %d B/op, %d B JSON%n",
+                PAGE_SIZE, projections.nanos, projections.allocatedBytes, projections.jsonBytes);
+        System.out.printf("Projections: speedup=%.2fx, allocation=%.2fx less%n",
+                entities.nanos / projections.nanos,
+                (double) entities.allocatedBytes / projections.allocatedBytes);
+    }
+
+    /**
+     * Reproduce lo que hidrataba Hibernate antes: candidatura, empresa y reclutadores gestionados.
+     */
+    private List<Candidatura> entityPage() {
+        List<Candidatura> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Empresa empresa = new Empresa(UUID.randomUUID(), "Empresa " + i, "rrhh@empresa.com", "600000000",
+                    LocalDate.now(), LocalDateTime.now(), new HashSet<>(), new HashSet<>());
+            Set<Reclutador> reclutadores = new HashSet<>();
+            for (int r = 0; r < RECLUTADORES; r++) {
+                reclutadores.add(new Reclutador(UUID.randomUUID(), empresa, "Reclutador " + r,
+                        "https://linkedin.com/in/reclutador" + r, new HashSet<>()));
+            }
+            page.add(new Candidatura(UUID.randomUUID(), user, empresa, "Cargo " + i, new Date(),
+                    EstadoCandidatura.PENDIENTE, "Notas de la candidatura " + i, reclutadores));
+        }
+        return page;
+    }
+
+    /**
+     * Reproduce lo que devuelve ahora la expresión constructora de la consulta.
+     */
+    private List<CandidaturaResumen> projectionPage() {
+        List<CandidaturaResumen> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new CandidaturaResumen(UUID.randomUUID(), "Cargo " + i, new Date(),
+                    EstadoCandidatura.PENDIENTE, UUID.randomUUID(), "Empresa " + i, RECLUTADORES));
+        }
+        return page;
+    }
+
+    private static Result measure(Callable<byte[]> operation) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        int jsonBytes = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            jsonBytes = operation.call().length;
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.call();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(elapsed / (double) ITERATIONS, allocated / ITERATIONS, jsonBytes);
+    }
+
+    private record Result(double nanos, long allocatedBytes, int jsonBytes) {
+    }
+}
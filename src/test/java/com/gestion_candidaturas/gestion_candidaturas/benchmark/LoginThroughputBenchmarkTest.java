@@ -0,0 +1,67 @@
+package com.gestion_candidaturas.gestion_candidaturas.benchmark;
+
+import com.gestion_candidaturas.gestion_candidaturas.config.PasswordEnconderConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark del rendimiento de la verificación de contraseñas (el coste dominante de /api/auth/login)
+ * para cada coste de BCrypt, expresado en inicios de sesión por segundo y por núcleo.
+ * Sirve para dimensionar app.security.login.threads y elegir app.security.password.bcrypt-strength.
+ *
+ * Solo se ejecuta bajo demanda: mvn test -Dtest=LoginThroughputBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class LoginThroughputBenchmarkTest {
+
+    private static final int[] STRENGTHS = {10, 11, 12, 13};
+    private static final long DURATION_MILLIS = 3_000;
+
+    @Test
+    public void reportLoginsPerSecondPerCore() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(cores);
+        try {
+            for (int strength : STRENGTHS) {
+                PasswordEncoder encoder = new PasswordEnconderConfig().passwordEncoder(strength);
+                String hash = encoder.encode("password123");
+                assertTrue(encoder.matches("password123", hash));
+
+                long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+                long start = System.nanoTime();
+                List<Future<Integer>> workers = new ArrayList<>();
+                for (int i = 0; i < cores; i++) {
+                    workers.add(executor.submit(() -> {
+                        int logins = 0;
+                        while (System.currentTimeMillis() < deadline) {
+                            encoder.matches("password123", hash);
+                            logins++;
+                        }
+                        return logins;
+                    }));
+                }
+                long total = 0;
+                for (Future<Integer> worker : workers) {
+                    total += worker.get();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                System.out.printf("BCrypt cost %d: %.1f logins/s total, %.1f logins/s per core (%d cores)%n",
+                        strength, total / seconds, total / seconds / cores, cores);
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
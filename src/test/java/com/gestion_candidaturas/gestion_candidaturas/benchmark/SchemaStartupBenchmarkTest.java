@@ -0,0 +1,58 @@
+package com.gestion_candidaturas.gestion_candidaturas.benchmark;
+
+import com.gestion_candidaturas.gestion_candidaturas.GestionCandidaturasApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+/**
+ * Benchmark del tiempo de arranque según la gestión del esquema: ddl-auto=update (introspección completa
+ * del esquema en cada arranque) frente a Flyway + ddl-auto=validate.
+ * Necesita una base de datos MySQL real; por defecto usa la de application.properties.
+ *
+ * Solo se ejecuta bajo demanda:
+ * mvn test -Dtest=SchemaStartupBenchmarkTest -Dbenchmark=true [-Dspring.datasource.url=...]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class SchemaStartupBenchmarkTest {
+
+    private static final int RUNS = 5;
+
+    @Test
+    public void compareUpdateAndValidateStartup() {
+        // Deja el esquema migrado antes de medir
+        boot("--spring.jpa.hibernate.ddl-auto=validate");
+
+        long[] update = new long[RUNS];
+        long[] validate = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            update[i] = boot("--spring.jpa.hibernate.ddl-auto=update", "--spring.flyway.enabled=false");
+            validate[i] = boot("--spring.jpa.hibernate.ddl-auto=validate");
+        }
+
+        long updateMs = median(update);
+        long validateMs = median(validate);
+        System.out.printf("Startup (median of %d): ddl-auto=update=%d ms, flyway+validate=%d ms, saved=%d ms%n",
+                RUNS, updateMs, validateMs, updateMs - validateMs);
+    }
+
+    private static long boot(String... args) {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(GestionCandidaturasApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args)) {
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
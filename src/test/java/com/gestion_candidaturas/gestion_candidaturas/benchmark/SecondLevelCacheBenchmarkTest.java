@@ -0,0 +1,93 @@
+package com.gestion_candidaturas.gestion_candidaturas.benchmark;
+
+import com.gestion_candidaturas.gestion_candidaturas.GestionCandidaturasApplication;
+import com.gestion_candidaturas.gestion_candidaturas.config.SecondLevelCacheStats;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.repository.UserRepository;
+import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaService;
+import com.gestion_candidaturas.gestion_candidaturas.service.EmpresaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Benchmark de la latencia del alta de una candidatura (búsqueda de la empresa y guardado, como en
+ * POST /api/candidaturas) con la caché de segundo nivel fría, vaciada antes de cada alta, y caliente.
+ * Necesita una base de datos MySQL real y desechable; por defecto usa la de application.properties.
+ *
+ * Solo se ejecuta bajo demanda:
+ * mvn test -Dtest=SecondLevelCacheBenchmarkTest -Dbenchmark=true [-Dspring.datasource.url=...]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class SecondLevelCacheBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int ALTAS = 2_000;
+
+    @Test
+    public void compareColdAndWarmCreateLatency() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GestionCandidaturasApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.jpa.show-sql=false")) {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            EmpresaService empresaService = context.getBean(EmpresaService.class);
+            CandidaturaService candidaturaService = context.getBean(CandidaturaService.class);
+            EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            String sufijo = UUID.randomUUID().toString().substring(0, 8);
+            User user = userRepository.save(new User(null, "bench-" + sufijo, "password",
+                    "bench-" + sufijo + "@example.com", Role.USER));
+            Empresa empresa = new Empresa();
+            empresa.setNombre("Bench " + sufijo);
+            UUID empresaId = empresaService.save(empresa).getId();
+
+            Runnable alta = () -> transaction.executeWithoutResult(status -> {
+                Empresa encontrada = empresaService.findById(empresaId).orElseThrow();
+                candidaturaService.save(new Candidatura(user, encontrada, "Cargo", new Date(),
+                        EstadoCandidatura.PENDIENTE, null));
+            });
+            for (int i = 0; i < WARMUP; i++) {
+                alta.run();
+            }
+
+            long[] fria = new long[ALTAS];
+            long[] caliente = new long[ALTAS];
+            for (int i = 0; i < ALTAS; i++) {
+                entityManagerFactory.getCache().evictAll();
+                fria[i] = medir(alta);
+                caliente[i] = medir(alta);
+            }
+
+            System.out.printf("Create candidatura (%d runs): cold p50=%.1f µs p99=%.1f µs, warm p50=%.1f µs p99=%.1f µs%n",
+                    ALTAS, percentil(fria, 50), percentil(fria, 99), percentil(caliente, 50), percentil(caliente, 99));
+            System.out.println("Second-level cache: " + context.getBean(SecondLevelCacheStats.class).getStats());
+        }
+    }
+
+    private static long medir(Runnable accion) {
+        long start = System.nanoTime();
+        accion.run();
+        return System.nanoTime() - start;
+    }
+
+    private static double percentil(long[] valores, int percentil) {
+        long[] sorted = valores.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentil / 100)] / 1_000.0;
+    }
+}
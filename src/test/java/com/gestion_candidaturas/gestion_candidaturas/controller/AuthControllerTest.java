@@ -3,10 +3,14 @@ package com.gestion_candidaturas.gestion_candidaturas.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gestion_candidaturas.gestion_candidaturas.dto.AuthRequest;
+import com.gestion_candidaturas.gestion_candidaturas.dto.RefreshRequest;
 import com.gestion_candidaturas.gestion_candidaturas.dto.RegisterRequest;
+import com.gestion_candidaturas.gestion_candidaturas.error.DuplicateResourceException;
 import com.gestion_candidaturas.gestion_candidaturas.model.Role;
 import com.gestion_candidaturas.gestion_candidaturas.model.User;
 import com.gestion_candidaturas.gestion_candidaturas.security.JwtUtil;
+import com.gestion_candidaturas.gestion_candidaturas.security.LoginThrottledException;
+import com.gestion_candidaturas.gestion_candidaturas.service.RefreshTokenService;
 import com.gestion_candidaturas.gestion_candidaturas.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,9 +29,11 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -54,6 +60,9 @@ public class AuthControllerTest {
     @MockitoBean
     private JwtUtil jwtUtil;
 
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
     /**
      * Verifica que el registro de un nuevo usuario sea exitoso.
      */
@@ -93,8 +102,9 @@ public class AuthControllerTest {
         registerRequest.setPassword("password123");
         registerRequest.setEmail("newuser@example.com");
 
-        // Configurar comportamiento del mock
-        when(userService.existsByUsername("existinguser")).thenReturn(true);
+        // Configurar comportamiento del mock: el INSERT viola la restricción de unicidad del username
+        when(userService.register(anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(new DuplicateResourceException("username", "El nombre de usuario ya está en uso"));
 
         // Ejecutar solicitud y verificar resultado
         mockMvc.perform(post("/api/auth/register")
@@ -150,6 +160,60 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.error").value("Credenciales inválidas"));
     }
 
+    /**
+     * Verifica que el inicio de sesión se rechace con 429 cuando la verificación de contraseñas está saturada.
+     */
+    @Test
+    public void loginShouldReturnTooManyRequestsWhenThrottled() throws Exception{
+        // Datos para el login
+        AuthRequest authRequest = new AuthRequest("testuser", "password123");
+
+        // Configurar comportamiento de los mocks
+        when(authenticationManager.authenticate(any())).thenThrow(new LoginThrottledException("Saturado", 1));
+
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    /**
+     * Verifica que un refresh token válido se canjee por un nuevo token de acceso y un nuevo refresh token.
+     */
+    @Test
+    public void refreshShouldReturnNewTokensWhenRefreshTokenIsValid() throws Exception{
+        // Configurar comportamiento de los mocks
+        User user = new User(UUID.randomUUID(), "testuser", "ecoded_password", "test@example.com", Role.USER);
+        when(refreshTokenService.rotate("old_refresh")).thenReturn(new RefreshTokenService.Rotation(user, "new_refresh"));
+        when(jwtUtil.generateToken(user)).thenReturn("new_token");
+
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("old_refresh"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new_token"))
+                .andExpect(jsonPath("$.refreshToken").value("new_refresh"));
+    }
+
+    /**
+     * Verifica que un refresh token reutilizado o inválido se rechace.
+     */
+    @Test
+    public void refreshShouldReturnUnauthorizedWhenRefreshTokenIsReused() throws Exception{
+        // Configurar comportamiento de los mocks
+        when(refreshTokenService.rotate(anyString())).thenThrow(new BadCredentialsException("Refresh token reutilizado"));
+
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("old_refresh"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Refresh token inválido o expirado"));
+    }
+
     /**
      * Verifica que se obtenga correctamente la información del usuario autenticado.
      */
@@ -158,7 +222,7 @@ public class AuthControllerTest {
     public void getCurrentUserShouldReturnUserInfoWhenAuthenticated() throws Exception{
         // Configurar comportamiento de los mocks
         User user = new User(UUID.randomUUID(), "testuser", "encoded_password", "test@example.com", Role.USER);
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserProfile()).thenReturn(user);
 
         // Ejecutar solicitud y verificar resultado
         mockMvc.perform(get("/api/auth/me"))
@@ -167,4 +231,19 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.email").value("test@example.com"))
                 .andExpect(jsonPath("$.rol").value("USER"));
     }
+
+    /**
+     * Verifica que el cierre de sesión revoque el token enviado.
+     */
+    @Test
+    @WithMockUser(username = "testuser")
+    public void logoutShouldRevokeToken() throws Exception{
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer test.jwt.token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Sesión cerrada correctamente"));
+
+        verify(jwtUtil).revokeToken("test.jwt.token");
+    }
 }
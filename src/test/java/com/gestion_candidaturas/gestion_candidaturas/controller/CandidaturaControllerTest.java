@@ -2,11 +2,22 @@ package com.gestion_candidaturas.gestion_candidaturas.controller;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CambioEstadoMasivoDTO;
 import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadisticasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaImportResultado;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
 import com.gestion_candidaturas.gestion_candidaturas.model.*;
 import com.gestion_candidaturas.gestion_candidaturas.security.JwtUtil;
+import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaExportService;
+import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaImportService;
 import com.gestion_candidaturas.gestion_candidaturas.service.CandidaturaService;
 import com.gestion_candidaturas.gestion_candidaturas.service.EmpresaService;
+import com.gestion_candidaturas.gestion_candidaturas.service.FormatoExportacion;
 import com.gestion_candidaturas.gestion_candidaturas.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,14 +27,24 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -49,6 +70,12 @@ public class CandidaturaControllerTest {
     @MockitoBean
     private EmpresaService empresaService;
 
+    @MockitoBean
+    private CandidaturaExportService exportService;
+
+    @MockitoBean
+    private CandidaturaImportService importService;
+
     @MockitoBean
     private JwtUtil jwtUtil;
 
@@ -86,49 +113,187 @@ public class CandidaturaControllerTest {
         when(userService.getCurrentUser()).thenReturn(currentUser);
         when(candidaturaService.findByUserId(currentUser.getId())).thenReturn(candidaturas);
 
-        // Ejecutar solicitud y verificar resultado
-        mockMvc.perform(get("/api/candidaturas"))
+        // Ejecutar solicitud y verificar resultado (lista completa sin paginar)
+        mockMvc.perform(get("/api/candidaturas").param("unpaged", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].cargo").value("Desarrollador Java"))
                 .andExpect(jsonPath("$[1].cargo").value("Analista de Datos"));
     }
 
     /**
-     * Verifica que un administrador pueda obtener todas las candidaturas.
+     * Verifica que por defecto las candidaturas se devuelvan paginadas con el cursor de la página siguiente.
      */
     @Test
-    @WithMockUser(roles = "ADMIN")
-    public void getAllCandidaturasShouldReturnAllCandidaturasWhenAdmin() throws Exception{
+    @WithMockUser(roles = "USER")
+    public void getCandidaturasShouldReturnCursorPage() throws Exception{
         // Datos de prueba
-        User user1 = new User(UUID.randomUUID(), "user1", "password", "user1@example.com", Role.USER);
-        User user2 = new User(UUID.randomUUID(), "user2", "password", "user2@example.com", Role.USER);
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
 
-        Empresa empresa = new Empresa();
-        empresa.setId(UUID.randomUUID());
-        empresa.setNombre("Empresa Test");
+        CandidaturaResumen resumen = new CandidaturaResumen(UUID.randomUUID(), "Desarrollador Java", new Date(),
+                EstadoCandidatura.PENDIENTE, UUID.randomUUID(), "Empresa Test", 2);
 
-        Candidatura candidatura1 = new Candidatura();
-        candidatura1.setId(UUID.randomUUID());
-        candidatura1.setUser(user1);
-        candidatura1.setEmpresa(empresa);
-        candidatura1.setCargo("Desarrollador Java");
+        // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(candidaturaService.findPageByUserId(currentUser.getId(), "cursor1", 1))
+                .thenReturn(new CursorPage<>(List.of(resumen), "cursor2"));
 
-        Candidatura candidatura2 = new Candidatura();
-        candidatura2.setId(UUID.randomUUID());
-        candidatura2.setUser(user2);
-        candidatura2.setEmpresa(empresa);
-        candidatura2.setCargo("Analista de Datos");
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(get("/api/candidaturas").param("cursor", "cursor1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].cargo").value("Desarrollador Java"))
+                .andExpect(jsonPath("$.items[0].empresaNombre").value("Empresa Test"))
+                .andExpect(jsonPath("$.items[0].numReclutadores").value(2))
+                .andExpect(jsonPath("$.next").value("cursor2"));
+    }
 
-        List<Candidatura> candidaturas = Arrays.asList(candidatura1, candidatura2);
+    /**
+     * Verifica que se devuelvan las estadísticas del usuario autenticado.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    public void getEstadisticasShouldReturnCountersOfCurrentUser() throws Exception{
+        // Datos de prueba
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+        Map<EstadoCandidatura, Long> porEstado = new EnumMap<>(EstadoCandidatura.class);
+        porEstado.put(EstadoCandidatura.PENDIENTE, 2L);
+        CandidaturaEstadisticasDTO stats = new CandidaturaEstadisticasDTO(2, porEstado, Map.of("2024-03", 2L), List.of());
 
         // Configurar comportamiento del mock
-        when(candidaturaService.findAll()).thenReturn(candidaturas);
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(candidaturaService.getEstadisticas(currentUser.getId())).thenReturn(stats);
 
         // Ejecutar solicitud y verificar resultado
-        mockMvc.perform(get("/api/candidaturas/all"))
+        mockMvc.perform(get("/api/candidaturas/stats"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].cargo").value("Desarrollador Java"))
-                .andExpect(jsonPath("$[1].cargo").value("Analista de Datos"));
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.porEstado.PENDIENTE").value(2))
+                .andExpect(jsonPath("$.porMes['2024-03']").value(2));
+    }
+
+    /**
+     * Verifica que la exportación escriba en la respuesta, de forma asíncrona, lo que genera el servicio.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    public void exportCandidaturasShouldStreamServiceOutput() throws Exception{
+        // Datos de prueba
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+        String csv = "id,usuario,cargo,fecha,estado,empresa_id,empresa,notas\r\n";
+
+        // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(csv.getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        }).when(exportService).exportarDeUsuario(eq(currentUser.getId()), eq(FormatoExportacion.CSV), any());
+
+        // Ejecutar solicitud y verificar resultado
+        MvcResult result = mockMvc.perform(get("/api/candidaturas/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"candidaturas.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(csv));
+    }
+
+    /**
+     * Verifica que un formato de exportación desconocido se rechace sin consultar el servicio.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    public void exportCandidaturasShouldRejectUnknownFormat() throws Exception{
+        mockMvc.perform(get("/api/candidaturas/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportService);
+    }
+
+    /**
+     * Verifica que la importación JSON se delegue al servicio con el usuario autenticado y devuelva los errores por fila.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    public void importCandidaturasShouldReturnResultWithRowErrors() throws Exception{
+        // Datos de prueba
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+        CandidaturaImportResultado resultado = new CandidaturaImportResultado(2, 1, 0,
+                List.of(new CandidaturaImportResultado.ErrorFila(2, "La empresa es obligatoria")), 0);
+
+        // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(importService.importarJson(eq(currentUser.getId()), any())).thenReturn(resultado);
+
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(post("/api/candidaturas/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"cargo\":\"Dev\",\"empresa\":\"Empresa Test\"},{\"cargo\":\"QA\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importadas").value(1))
+                .andExpect(jsonPath("$.errores[0].fila").value(2))
+                .andExpect(jsonPath("$.errores[0].mensaje").value("La empresa es obligatoria"));
+    }
+
+    /**
+     * Verifica que un administrador obtenga una página filtrada del listado de todos los usuarios.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void getAllCandidaturasShouldReturnFilteredPageWhenAdmin() throws Exception{
+        // Datos de prueba
+        UUID userId = UUID.randomUUID();
+        CandidaturaExportRow fila1 = new CandidaturaExportRow(UUID.randomUUID(), "user1", "Desarrollador Java",
+                new Date(), EstadoCandidatura.ENTREVISTA, UUID.randomUUID(), "Empresa Test", null);
+        CandidaturaExportRow fila2 = new CandidaturaExportRow(UUID.randomUUID(), "user1", "Analista de Datos",
+                new Date(), EstadoCandidatura.ENTREVISTA, UUID.randomUUID(), "Empresa Test", null);
+        FiltroCandidaturasDTO filtro = new FiltroCandidaturasDTO(EstadoCandidatura.ENTREVISTA, null, null, null,
+                null, userId);
+
+        // Configurar comportamiento del mock
+        when(candidaturaService.findPage(filtro, null, 2))
+                .thenReturn(new CursorPage<>(List.of(fila1, fila2), "siguiente"));
+
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(get("/api/candidaturas/all")
+                        .param("estado", "ENTREVISTA")
+                        .param("userId", userId.toString())
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].cargo").value("Desarrollador Java"))
+                .andExpect(jsonPath("$.items[1].usuario").value("user1"))
+                .andExpect(jsonPath("$.next").value("siguiente"));
+    }
+
+    /**
+     * Verifica que con stream=true el listado se escriba como un array JSON desde el servicio de exportación.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void getAllCandidaturasShouldStreamJsonArray() throws Exception{
+        // Datos de prueba
+        String json = "[{\"cargo\":\"Desarrollador Java\"}]";
+        FiltroCandidaturasDTO filtro = new FiltroCandidaturasDTO(null, "acme", null, null, null, null);
+
+        // Configurar comportamiento del mock
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).exportarTodas(eq(filtro), eq(FormatoExportacion.JSON), any());
+
+        // Ejecutar solicitud y verificar resultado
+        MvcResult result = mockMvc.perform(get("/api/candidaturas/all")
+                        .param("empresa", "acme")
+                        .param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].cargo").value("Desarrollador Java"));
+        verifyNoInteractions(candidaturaService);
     }
 
     /**
@@ -152,7 +317,8 @@ public class CandidaturaControllerTest {
         candidatura.setEstado(EstadoCandidatura.PENDIENTE);
 
         // Configurar comportamiento del mock
-        when(candidaturaService.findById(candidatura.getId())).thenReturn(Optional.of(candidatura));
+        when(candidaturaService.findByIdAndUserId(candidatura.getId(), currentUser.getId()))
+                .thenReturn(Optional.of(candidatura));
         when(userService.getCurrentUser()).thenReturn(currentUser);
 
         // Ejecutar solicitud y verificar resultado
@@ -163,6 +329,29 @@ public class CandidaturaControllerTest {
 
     }
 
+    /**
+     * Verifica que una candidatura ajena devuelva 403 sin cargarla y una inexistente 404.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    public void getCandidaturaByIdShouldDistinguishForbiddenAndNotFound() throws Exception{
+        // Datos de prueba
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+        UUID ajena = UUID.randomUUID();
+        UUID inexistente = UUID.randomUUID();
+
+        // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(candidaturaService.existsById(ajena)).thenReturn(true);
+
+        // Ejecutar solicitudes y verificar resultado
+        mockMvc.perform(get("/api/candidaturas/{id}", ajena))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/candidaturas/{id}", inexistente))
+                .andExpect(status().isNotFound());
+        verify(candidaturaService, never()).findById(any());
+    }
+
     /**
      * Verifica que un usuario pueda crear una nueva candidatura.
      */
@@ -215,38 +404,44 @@ public class CandidaturaControllerTest {
     public void updateEstadoShouldReturnUpdatedCandidatura() throws Exception{
         // Datos de prueba
         User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
-
-        Empresa empresa = new Empresa();
-        empresa.setId(UUID.randomUUID());
-        empresa.setNombre("Empresa Test");
-
-        Candidatura candidatura = new Candidatura();
-        candidatura.setId(UUID.randomUUID());
-        candidatura.setUser(currentUser);
-        candidatura.setEmpresa(empresa);
-        candidatura.setCargo("Desarrollador Java");
-        candidatura.setEstado(EstadoCandidatura.PENDIENTE);
-
-        Candidatura candidaturaActualizada = new Candidatura();
-        candidaturaActualizada.setId(UUID.randomUUID());
-        candidaturaActualizada.setUser(currentUser);
-        candidaturaActualizada.setEmpresa(empresa);
-        candidaturaActualizada.setCargo("Desarrollador Java");
-        candidaturaActualizada.setEstado(EstadoCandidatura.ENTREVISTA);
+        UUID id = UUID.randomUUID();
 
         // Configurar comportamiento del mock
-        when(candidaturaService.findById(candidatura.getId())).thenReturn(Optional.of(candidatura));
         when(userService.getCurrentUser()).thenReturn(currentUser);
-        when(candidaturaService.updateEstado(eq(candidatura.getId()), eq(EstadoCandidatura.ENTREVISTA)))
-                .thenReturn(candidaturaActualizada);
+        when(candidaturaService.updateEstado(eq(id), eq(currentUser.getId()), eq(EstadoCandidatura.ENTREVISTA)))
+                .thenReturn(Optional.of(new CandidaturaEstadoDTO(id, EstadoCandidatura.ENTREVISTA)));
 
         // Ejecutar solicitud y verificar resultado
-        mockMvc.perform(patch("/api/candidaturas/{id}/estado", candidatura.getId())
+        mockMvc.perform(patch("/api/candidaturas/{id}/estado", id)
                         .param("estado", "ENTREVISTA"))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()))
                 .andExpect(jsonPath("$.estado").value("ENTREVISTA"));
     }
 
+    /**
+     * Verifica que el cambio de estado de una candidatura ajena devuelva 403 y el de una inexistente 404.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    public void updateEstadoShouldDistinguishForbiddenAndNotFound() throws Exception{
+        // Datos de prueba
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+        UUID ajena = UUID.randomUUID();
+        UUID inexistente = UUID.randomUUID();
+
+        // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(candidaturaService.updateEstado(any(), eq(currentUser.getId()), any())).thenReturn(Optional.empty());
+        when(candidaturaService.existsById(ajena)).thenReturn(true);
+
+        // Ejecutar solicitudes y verificar resultado
+        mockMvc.perform(patch("/api/candidaturas/{id}/estado", ajena).param("estado", "ENTREVISTA"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/candidaturas/{id}/estado", inexistente).param("estado", "ENTREVISTA"))
+                .andExpect(status().isNotFound());
+    }
+
     /**
      * Verifica que el filtrado de candidaturas funcione correctamente.
      */
@@ -290,4 +485,34 @@ public class CandidaturaControllerTest {
                 .andExpect(jsonPath("$[0].estado").value("ENTREVISTA"));
 
     }
+
+    /**
+     * Verifica que el cambio de estado masivo devuelva las candidaturas actualizadas del usuario.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    public void updateEstadoMasivoShouldReturnUpdatedIds() throws Exception{
+        // Datos de prueba
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+        UUID id = UUID.randomUUID();
+        CambioEstadoMasivoDTO cambio = new CambioEstadoMasivoDTO(EstadoCandidatura.ARCHIVADA, List.of(id), null);
+
+        // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(candidaturaService.updateEstadoMasivo(eq(currentUser.getId()), any())).thenReturn(List.of(id));
+
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(patch("/api/candidaturas/estado")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cambio)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estado").value("ARCHIVADA"))
+                .andExpect(jsonPath("$.actualizadas[0]").value(id.toString()));
+
+        // Sin IDs ni filtro la solicitud no es válida
+        mockMvc.perform(patch("/api/candidaturas/estado")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"estado\":\"ARCHIVADA\"}"))
+                .andExpect(status().isBadRequest());
+    }
 }
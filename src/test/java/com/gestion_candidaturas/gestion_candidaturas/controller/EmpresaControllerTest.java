@@ -1,6 +1,7 @@
 package com.gestion_candidaturas.gestion_candidaturas.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
 import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaWithUsersDTO;
 import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
 import com.gestion_candidaturas.gestion_candidaturas.security.JwtUtil;
@@ -204,7 +205,7 @@ public class EmpresaControllerTest {
     }
 
     /**
-     * Verifica que un admin pueda ver empresas con información de usuarios.
+     * Verifica que un admin pueda ver una página de empresas con información de usuarios.
      */
     @Test
     @WithMockUser(roles ="ADMIN")
@@ -216,12 +217,14 @@ public class EmpresaControllerTest {
         );
 
         // Configurar comportamiento del mock
-        when(empresaService.findAllWithAssociatedUsers()).thenReturn(empresaWithUsers);
+        when(empresaService.findPageWithAssociatedUsers(null, 2, 1))
+                .thenReturn(new CursorPage<>(empresaWithUsers, "siguiente"));
 
         // Ejecutar solicitud y verificar resultado
-        mockMvc.perform(get("/api/empresas/with-users"))
+        mockMvc.perform(get("/api/empresas/with-users").param("limit", "2").param("minUsers", "1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].nombre").value("Empresa 1"))
-                .andExpect(jsonPath("$[1].nombre").value("Empresa 2"));
+                .andExpect(jsonPath("$.items[0].nombre").value("Empresa 1"))
+                .andExpect(jsonPath("$.items[1].nombre").value("Empresa 2"))
+                .andExpect(jsonPath("$.next").value("siguiente"));
     }
 }
@@ -143,7 +143,7 @@ public class PreguntaControllerTest {
 
         // Configurar comportamiento del mock
         when(userService.getCurrentUser()).thenReturn(currentUser);
-        when(candidaturaService.findById(candiaturaId)).thenReturn(Optional.of(candidatura));
+        when(candidaturaService.findByIdAndUserId(candiaturaId, currentUser.getId())).thenReturn(Optional.of(candidatura));
         when(preguntaService.save(any(Pregunta.class))).thenReturn(preguntaGuardada);
 
         // Ejecutar solicitud y verificar resultado
@@ -195,9 +195,9 @@ public class PreguntaControllerTest {
         preguntaActualizada.setUsuario(currentUser);
 
         // Configurar comportamiento del mock
-        when(preguntaService.findById(preguntaId)).thenReturn(Optional.of(preguntaExistente));
+        when(preguntaService.findByIdAndUserId(preguntaId, currentUser.getId())).thenReturn(Optional.of(preguntaExistente));
         when(userService.getCurrentUser()).thenReturn(currentUser);
-        when(candidaturaService.findById(candidaturaId)).thenReturn(Optional.of(candidatura));
+        when(candidaturaService.findByIdAndUserId(candidaturaId, currentUser.getId())).thenReturn(Optional.of(candidatura));
         when(preguntaService.save(any(Pregunta.class))).thenReturn(preguntaActualizada);
 
         // Ejecutar solicitud y verificar resultado
@@ -242,9 +242,8 @@ public class PreguntaControllerTest {
         updateDTO.setPregunta("¿Cuántos años de experiencia tienes en Java?");
 
         // Configurar comportamiento del mock
-        when(preguntaService.findById(preguntaId)).thenReturn(Optional.of(preguntaExistente));
+        when(preguntaService.existsById(preguntaId)).thenReturn(true);
         when(userService.getCurrentUser()).thenReturn(currentUser);
-        when(candidaturaService.findById(candidaturaId)).thenReturn(Optional.of(candidatura));
 
         // Ejecutar solicitud y verificar resultado
         mockMvc.perform(put("/api/preguntas/{id}", preguntaId)
@@ -316,8 +315,11 @@ public class PreguntaControllerTest {
         updateRequest.put("candidaturaId", UUID.randomUUID().toString());
         updateRequest.put("pregunta", "¿Cuántos años de experiencia tienes en Java?");
 
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+
         // Configurar comportamiento del mock
-        when(preguntaService.findById(preguntaId)).thenReturn(Optional.empty());
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(preguntaService.findByIdAndUserId(preguntaId, currentUser.getId())).thenReturn(Optional.empty());
 
         // Ejecutar solicitud y verificar resultado
         mockMvc.perform(put("/api/preguntas/{id}", preguntaId)
@@ -351,9 +353,8 @@ public class PreguntaControllerTest {
         pregunta.setUsuario(currentUser);
 
         // Configurar comportamiento del mock
-        when(preguntaService.findById(preguntaId)).thenReturn(Optional.of(pregunta));
         when(userService.getCurrentUser()).thenReturn(currentUser);
-        when(preguntaService.deleteById(preguntaId)).thenReturn(true);
+        when(preguntaService.deleteById(preguntaId, currentUser.getId())).thenReturn(true);
 
         // Ejecutar solicitud y verificar resultado
         mockMvc.perform(delete("/api/preguntas/{id}", preguntaId))
@@ -386,8 +387,8 @@ public class PreguntaControllerTest {
         pregunta.setUsuario(otherUser);
 
         // Configurar comportamiento del mock
-        when(preguntaService.findById(preguntaId)).thenReturn(Optional.of(pregunta));
         when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(preguntaService.existsById(preguntaId)).thenReturn(true);
 
         // Ejecutar solicitud y verificar resultado
         mockMvc.perform(delete("/api/preguntas/{id}", preguntaId))
@@ -420,9 +421,8 @@ public class PreguntaControllerTest {
         pregunta.setUsuario(preguntaOwner);
 
         // Configurar comportamiento del mock
-        when(preguntaService.findById(preguntaId)).thenReturn(Optional.of(pregunta));
         when(userService.getCurrentUser()).thenReturn(adminUser);
-        when(preguntaService.deleteById(preguntaId)).thenReturn(true);
+        when(preguntaService.deleteById(preguntaId, null)).thenReturn(true);
 
         // Ejecutar solicitud y verificar resultado
         mockMvc.perform(delete("/api/preguntas/{id}", preguntaId))
@@ -438,8 +438,11 @@ public class PreguntaControllerTest {
         // Datos de prueba
         UUID preguntaId = UUID.randomUUID();
 
+        User currentUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+
         // Configurar comportamiento del mock
-        when(preguntaService.findById(preguntaId)).thenReturn(Optional.empty());
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(preguntaService.existsById(preguntaId)).thenReturn(false);
 
         // Ejecutar solicitud y verificar resultado
         mockMvc.perform(delete("/api/preguntas/{id}", preguntaId))
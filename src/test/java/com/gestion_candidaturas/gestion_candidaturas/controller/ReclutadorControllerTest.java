@@ -24,6 +24,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -505,7 +507,11 @@ public class ReclutadorControllerTest {
         UUID reclutadorId = UUID.randomUUID();
         UUID candidaturaId = UUID.randomUUID();
 
+        UUID userId = UUID.randomUUID();
+
         // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(new User(userId, "testuser", "password", "test@example.com", Role.USER));
+        when(candidaturaService.isOwner(candidaturaId, userId)).thenReturn(true);
         when(reclutadorService.asociarACandidatura(reclutadorId, candidaturaId)).thenReturn(true);
 
         // Ejecutar solicitud y verificar resultado
@@ -524,7 +530,11 @@ public class ReclutadorControllerTest {
         UUID reclutadorId = UUID.randomUUID();
         UUID candidaturaId = UUID.randomUUID();
 
+        UUID userId = UUID.randomUUID();
+
         // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(new User(userId, "testuser", "password", "test@example.com", Role.USER));
+        when(candidaturaService.isOwner(candidaturaId, userId)).thenReturn(true);
         when(reclutadorService.asociarACandidatura(reclutadorId, candidaturaId)).thenReturn(false);
 
         // Ejecutar solicitud y verificar resultado
@@ -543,7 +553,11 @@ public class ReclutadorControllerTest {
         UUID reclutadorId = UUID.randomUUID();
         UUID candidaturaId = UUID.randomUUID();
 
+        UUID userId = UUID.randomUUID();
+
         // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(new User(userId, "testuser", "password", "test@example.com", Role.USER));
+        when(candidaturaService.isOwner(candidaturaId, userId)).thenReturn(true);
         when(reclutadorService.desasociarDeCandidatura(reclutadorId, candidaturaId)).thenReturn(true);
 
         // Ejecutar solicitud y verificar resultado
@@ -562,7 +576,11 @@ public class ReclutadorControllerTest {
         UUID reclutadorId = UUID.randomUUID();
         UUID candidaturaId = UUID.randomUUID();
 
+        UUID userId = UUID.randomUUID();
+
         // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(new User(userId, "testuser", "password", "test@example.com", Role.USER));
+        when(candidaturaService.isOwner(candidaturaId, userId)).thenReturn(true);
         when(reclutadorService.desasociarDeCandidatura(reclutadorId, candidaturaId)).thenReturn(false);
 
         // Ejecutar solicitud y verificar resultado
@@ -571,4 +589,28 @@ public class ReclutadorControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    /**
+     * Verifica que un usuario no pueda asociar reclutadores a una candidatura de otro usuario.
+     */
+    @Test
+    @WithMockUser(roles = "USER")
+    public void asociarACandidaturaShouldReturn403WhenCandidaturaBelongsToAnotherUser() throws Exception {
+        // Datos de prueba
+        UUID reclutadorId = UUID.randomUUID();
+        UUID candidaturaId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        // Configurar comportamiento del mock
+        when(userService.getCurrentUser()).thenReturn(new User(userId, "testuser", "password", "test@example.com", Role.USER));
+        when(candidaturaService.isOwner(candidaturaId, userId)).thenReturn(false);
+        when(candidaturaService.existsById(candidaturaId)).thenReturn(true);
+
+        // Ejecutar solicitud y verificar resultado
+        mockMvc.perform(post("/api/reclutador/{reclutadorId}/candidaturas/{candidaturaId}",
+                        reclutadorId, candidaturaId))
+                .andExpect(status().isForbidden());
+
+        verify(reclutadorService, never()).asociarACandidatura(any(), any());
+    }
+
 }
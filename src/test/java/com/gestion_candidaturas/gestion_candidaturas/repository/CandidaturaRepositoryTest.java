@@ -0,0 +1,221 @@
+package com.gestion_candidaturas.gestion_candidaturas.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoActual;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Reclutador;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de regresión del número de sentencias SQL al listar y serializar candidaturas.
+ * Un listado de 500 candidaturas debe resolverse con un número constante de consultas, no con 1 + N.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=100"
+})
+@ActiveProfiles("test")
+public class CandidaturaRepositoryTest {
+
+    private static final int CANDIDATURAS = 500;
+    private static final int MAX_STATEMENTS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CandidaturaRepository candidaturaRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    public void setUp() {
+        User user = entityManager.persist(new User(null, "testuser", "password", "test@example.com", Role.USER));
+        userId = user.getId();
+
+        List<Empresa> empresas = new ArrayList<>();
+        List<Reclutador> reclutadores = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Empresa empresa = new Empresa();
+            empresa.setNombre("Empresa " + i);
+            empresas.add(entityManager.persist(empresa));
+            for (int r = 0; r < 2; r++) {
+                reclutadores.add(entityManager.persist(
+                        new Reclutador(null, empresa, "Reclutador " + i + "-" + r, null, new HashSet<>())));
+            }
+        }
+
+        for (int i = 0; i < CANDIDATURAS; i++) {
+            Set<Reclutador> asociados = new HashSet<>(List.of(
+                    reclutadores.get(i % reclutadores.size()),
+                    reclutadores.get((i + 1) % reclutadores.size())));
+            entityManager.persist(new Candidatura(null, user, empresas.get(i % empresas.size()), "Cargo " + i,
+                    new Date(1_700_000_000_000L - i * 60_000L), EstadoCandidatura.PENDIENTE, null, asociados));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifica que el listado del usuario, una vez serializado, no lance una consulta por candidatura.
+     */
+    @Test
+    public void findByUserIdShouldUseConstantNumberOfStatements() throws Exception {
+        List<Candidatura> candidaturas = candidaturaRepository.findByUserIdOrderByFechaDesc(userId);
+        String json = objectMapper.writeValueAsString(candidaturas);
+
+        assertEquals(CANDIDATURAS, candidaturas.size());
+        assertTrue(json.contains("Reclutador 0-0"));
+        assertStatementsAtMost(MAX_STATEMENTS);
+    }
+
+    /**
+     * Verifica que la búsqueda filtrada, una vez serializada, no lance una consulta por candidatura.
+     * La empresa no se une en la consulta principal y se carga por lotes.
+     */
+    @Test
+    public void busquedaShouldUseConstantNumberOfStatements() throws Exception {
+        List<Candidatura> candidaturas = candidaturaRepository.findAll(
+                CandidaturaSpecifications.busqueda(EstadoCandidatura.PENDIENTE, null, null, null, "cargo", userId),
+                Sort.by(Sort.Direction.DESC, "fecha"));
+        objectMapper.writeValueAsString(candidaturas);
+
+        assertEquals(CANDIDATURAS, candidaturas.size());
+        assertStatementsAtMost(MAX_STATEMENTS + 1);
+    }
+
+    /**
+     * Verifica que el cambio masivo bloquee y actualice solo las candidaturas del propietario que cambian,
+     * sin cargar entidades y con una sentencia por paso.
+     */
+    @Test
+    public void bulkEstadoUpdateShouldOnlyTouchOwnChangingRows() {
+        User otro = entityManager.persist(new User(null, "otro", "password", "otro@example.com", Role.USER));
+        Empresa empresa = entityManager.persist(new Empresa());
+        UUID ajena = entityManager.persist(new Candidatura(null, otro, empresa, "Ajena", new Date(),
+                EstadoCandidatura.PENDIENTE, null, new HashSet<>())).getId();
+        List<UUID> propias = candidaturaRepository.findFirstPageByUserId(userId, Limit.of(3))
+                .stream().map(CandidaturaResumen::id).toList();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<UUID> ids = new ArrayList<>(propias);
+        ids.add(ajena);
+        List<CandidaturaEstadoActual> filas = candidaturaRepository.lockEstadosParaCambio(
+                CandidaturaSpecifications.delUsuario(userId).and(CandidaturaSpecifications.conIds(ids)),
+                EstadoCandidatura.ARCHIVADA, 100);
+        int actualizadas = candidaturaRepository.updateEstadoDeUsuario(userId, ids, EstadoCandidatura.ARCHIVADA);
+
+        assertEquals(3, filas.size());
+        assertTrue(filas.stream().allMatch(f -> propias.contains(f.id()) && f.estado() == EstadoCandidatura.PENDIENTE));
+        assertEquals(3, actualizadas);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertStatementsAtMost(2);
+        assertEquals(EstadoCandidatura.PENDIENTE, entityManager.find(Candidatura.class, ajena).getEstado());
+    }
+
+    /**
+     * Verifica que el listado de administradores recorra todas las candidaturas por cursor, sin repetir ni
+     * saltar filas con la misma fecha o sin fecha, con una sentencia por página y sin cargar entidades.
+     */
+    @Test
+    public void listadoShouldWalkAllRowsByKeyset() {
+        User user = entityManager.find(User.class, userId);
+        Empresa empresa = entityManager.persist(new Empresa());
+        Date empate = new Date(1_700_000_000_000L);
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new Candidatura(null, user, empresa, "Empate " + i, empate,
+                    EstadoCandidatura.PENDIENTE, null, new HashSet<>()));
+            entityManager.persist(new Candidatura(null, user, empresa, "Sin fecha " + i, null,
+                    EstadoCandidatura.PENDIENTE, null, new HashSet<>()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Set<UUID> vistas = new HashSet<>();
+        int paginas = 0;
+        CandidaturaExportRow ultima = null;
+        while (true) {
+            Specification<Candidatura> spec = Specification.where(null);
+            if (ultima != null) {
+                spec = CandidaturaSpecifications.despuesDe(ultima.fecha(), ultima.id());
+            }
+            List<CandidaturaExportRow> pagina = candidaturaRepository.findListado(spec, 7);
+            if (pagina.isEmpty()) {
+                break;
+            }
+            pagina.forEach(fila -> assertTrue(vistas.add(fila.id()), "Fila repetida: " + fila.id()));
+            ultima = pagina.get(pagina.size() - 1);
+            paginas++;
+        }
+
+        assertEquals(CANDIDATURAS + 6, vistas.size());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertStatementsAtMost(paginas + 1);
+    }
+
+    /**
+     * Verifica que las consultas con la condición de propietario no hidraten una candidatura ajena
+     * y ejecuten una sola sentencia cada una.
+     */
+    @Test
+    public void ownerScopedLookupsShouldNotLoadForeignRows() {
+        User otro = entityManager.persist(new User(null, "otro", "password", "otro@example.com", Role.USER));
+        Empresa empresa = entityManager.persist(new Empresa());
+        UUID ajena = entityManager.persist(new Candidatura(null, otro, empresa, "Ajena", new Date(),
+                EstadoCandidatura.PENDIENTE, null, new HashSet<>())).getId();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        assertTrue(candidaturaRepository.findByIdAndUserId(ajena, userId).isEmpty());
+        assertFalse(candidaturaRepository.existsByIdAndUserId(ajena, userId));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertStatementsAtMost(2);
+        assertTrue(candidaturaRepository.existsByIdAndUserId(ajena, otro.getId()));
+    }
+
+    private void assertStatementsAtMost(int max) {
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= max, "Se esperaban como máximo " + max + " sentencias y se ejecutaron " + statements);
+    }
+}
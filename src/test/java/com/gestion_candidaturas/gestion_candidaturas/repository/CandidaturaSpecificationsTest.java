@@ -0,0 +1,171 @@
+package com.gestion_candidaturas.gestion_candidaturas.repository;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la búsqueda dinámica de candidaturas.
+ * Analizan con EXPLAIN el SQL que genera Hibernate para las combinaciones de filtros habituales y
+ * comprueban que la tabla de candidaturas se recorre por índice y que las empresas solo se unen
+ * cuando se filtra por ellas.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.gestion_candidaturas.gestion_candidaturas.repository.SqlCapture"
+})
+@ActiveProfiles("test")
+public class CandidaturaSpecificationsTest {
+
+    private static final Sort ORDEN = Sort.by(Sort.Order.desc("fecha"), Sort.Order.desc("id"));
+    private static final Date DESDE = Date.from(Instant.parse("2024-01-01T00:00:00Z"));
+    private static final Date HASTA = Date.from(Instant.parse("2024-01-31T00:00:00Z"));
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CandidaturaRepository candidaturaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+
+    @BeforeEach
+    public void setUp() {
+        // Dos usuarios para que la selectividad de user_id sea realista en las estadísticas
+        for (int u = 0; u < 2; u++) {
+            User user = entityManager.persist(new User(null, "user" + u, "password", "user" + u + "@example.com", Role.USER));
+            userId = user.getId();
+            Empresa empresa = new Empresa();
+            empresa.setNombre("Empresa " + u);
+            entityManager.persist(empresa);
+            EstadoCandidatura[] estados = EstadoCandidatura.values();
+            for (int i = 0; i < 200; i++) {
+                Date fecha = Date.from(LocalDate.of(2024, 1, 1).plusDays(i % 60).atStartOfDay().toInstant(ZoneOffset.UTC));
+                entityManager.persist(new Candidatura(null, user, empresa, "Cargo " + i, fecha,
+                        estados[i % estados.length], "Notas " + i, new HashSet<>()));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Verifica que sin filtros solo se genere el predicado del usuario, sin unir empresas.
+     */
+    @Test
+    public void userOnlyShouldUseIndexWithoutJoiningEmpresas() {
+        String sql = capture(CandidaturaSpecifications.busqueda(null, null, null, null, null, userId));
+
+        assertFalse(sql.contains("empresas"), sql);
+        assertFalse(sql.contains("is null"), sql);
+        assertIndexScan(explain(sql, userId), "IDX_CANDIDATURAS_USER_");
+    }
+
+    /**
+     * Verifica que el rango de fechas recorra el índice (user_id, fecha).
+     */
+    @Test
+    public void fechaRangeShouldUseUserFechaIndex() {
+        String sql = capture(CandidaturaSpecifications.busqueda(null, null, DESDE, HASTA, null, userId));
+
+        String plan = explain(sql, userId, new Timestamp(DESDE.getTime()),
+                new Timestamp(HASTA.getTime() + 86_400_000L));
+        assertIndexScan(plan, "IDX_CANDIDATURAS_USER_FECHA_ID");
+        assertTrue(plan.contains("FECHA >="), plan);
+    }
+
+    /**
+     * Verifica que el filtro por estado, con o sin fechas, recorra el índice (user_id, estado, fecha).
+     */
+    @Test
+    public void estadoShouldUseUserEstadoFechaIndex() {
+        String sql = capture(CandidaturaSpecifications.busqueda(EstadoCandidatura.ENTREVISTA, null, null, null, null, userId));
+        assertIndexScan(explain(sql, userId, EstadoCandidatura.ENTREVISTA.name()), "IDX_CANDIDATURAS_USER_ESTADO_FECHA");
+
+        sql = capture(CandidaturaSpecifications.busqueda(EstadoCandidatura.ENTREVISTA, null, DESDE, null, null, userId));
+        assertIndexScan(explain(sql, userId, EstadoCandidatura.ENTREVISTA.name(), new Timestamp(DESDE.getTime())),
+                "IDX_CANDIDATURAS_USER_ESTADO_FECHA");
+    }
+
+    /**
+     * Verifica que el filtro por empresa sea el único que une la tabla de empresas y que el texto libre no la una.
+     */
+    @Test
+    public void onlyEmpresaFilterShouldJoinEmpresas() {
+        String sql = capture(CandidaturaSpecifications.busqueda(null, "empresa 1", null, null, null, userId));
+        assertTrue(sql.contains("join empresas"), sql);
+        assertIndexScan(explain(sql, userId, "%empresa 1%"), "IDX_CANDIDATURAS_USER_");
+
+        sql = capture(CandidaturaSpecifications.busqueda(null, null, null, null, "cargo", userId));
+        assertFalse(sql.contains("empresas"), sql);
+        assertIndexScan(explain(sql, userId, "%cargo%", "%cargo%"), "IDX_CANDIDATURAS_USER_");
+    }
+
+    /**
+     * Verifica que la fecha hasta incluya el día completo y que los comodines del texto se traten como literales.
+     */
+    @Test
+    public void busquedaShouldIncludeWholeLastDayAndEscapeWildcards() {
+        User user = entityManager.find(User.class, userId);
+        Empresa empresa = entityManager.getEntityManager()
+                .createQuery("SELECT e FROM Empresa e WHERE e.nombre = 'Empresa 1'", Empresa.class).getSingleResult();
+        entityManager.persist(new Candidatura(null, user, empresa, "Tarde", Date.from(Instant.parse("2024-01-31T18:00:00Z")),
+                EstadoCandidatura.PENDIENTE, null, new HashSet<>()));
+        entityManager.flush();
+
+        // 200 candidaturas repartidas en 60 días desde el 1 de enero: 113 en enero, más la de la tarde del 31
+        List<Candidatura> enero = candidaturaRepository.findAll(
+                CandidaturaSpecifications.busqueda(null, null, DESDE, HASTA, null, userId), ORDEN);
+        assertEquals(114, enero.size());
+
+        // Sin escapar, "100%" coincidiría con "Cargo 100"
+        List<Candidatura> comodin = candidaturaRepository.findAll(
+                CandidaturaSpecifications.busqueda(null, null, null, null, "100%", userId), ORDEN);
+        assertTrue(comodin.isEmpty());
+    }
+
+    private String capture(Specification<Candidatura> spec) {
+        SqlCapture.clear();
+        candidaturaRepository.findAll(spec, ORDEN);
+        entityManager.clear();
+        return SqlCapture.first().toLowerCase(Locale.ROOT);
+    }
+
+    private String explain(String sql, Object... params) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params).toUpperCase(Locale.ROOT);
+    }
+
+    private static void assertIndexScan(String plan, String indexPrefix) {
+        assertFalse(plan.contains("CANDIDATURAS.TABLESCAN"), plan);
+        assertTrue(plan.contains("PUBLIC." + indexPrefix), plan);
+    }
+}
@@ -0,0 +1,122 @@
+package com.gestion_candidaturas.gestion_candidaturas.repository;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaUsuarioResumen;
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaWithUsersDTO;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de las consultas de empresas con usuarios asociados: número de sentencias constante por página,
+ * sin una consulta por empresa.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class EmpresaRepositoryTest {
+
+    private static final int EMPRESAS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    private Statistics statistics;
+    private final List<Empresa> empresas = new ArrayList<>();
+    private UUID anaId;
+
+    @BeforeEach
+    public void setUp() {
+        User ana = entityManager.persist(new User(null, "ana", "password", "ana@example.com", Role.USER));
+        anaId = ana.getId();
+        User luis = entityManager.persist(new User(null, "luis", "password", "luis@example.com", Role.USER));
+        for (int i = 0; i < EMPRESAS; i++) {
+            Empresa empresa = new Empresa();
+            empresa.setNombre("Empresa " + i);
+            empresas.add(entityManager.persist(empresa));
+        }
+        // Empresa 0: ana (2 candidaturas) y luis; empresa 1: ana; el resto sin candidaturas
+        candidatura(ana, empresas.get(0));
+        candidatura(ana, empresas.get(0));
+        candidatura(luis, empresas.get(0));
+        candidatura(ana, empresas.get(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifica que el recorrido por páginas devuelva todas las empresas una vez, con dos sentencias
+     * por página (empresas y usuarios agrupados) y sin cargar entidades.
+     */
+    @Test
+    public void pagesWithUsersShouldUseTwoStatementsPerPage() {
+        List<UUID> vistas = new ArrayList<>();
+        int paginas = 0;
+        List<EmpresaUsuarioResumen> usuarios = new ArrayList<>();
+        List<EmpresaWithUsersDTO> pagina = empresaRepository.findFirstPageWithUsers(0, Limit.of(2));
+        while (!pagina.isEmpty()) {
+            paginas++;
+            pagina.forEach(empresa -> vistas.add(empresa.getId()));
+            try (Stream<EmpresaUsuarioResumen> filas = empresaRepository.streamUsuariosByEmpresaIds(
+                    pagina.stream().map(EmpresaWithUsersDTO::getId).toList())) {
+                filas.forEach(usuarios::add);
+            }
+            pagina = empresaRepository.findPageWithUsersAfter(pagina.get(pagina.size() - 1).getId(), 0, Limit.of(2));
+        }
+
+        assertEquals(EMPRESAS, vistas.size());
+        assertEquals(EMPRESAS, new HashSet<>(vistas).size());
+        assertEquals(3, usuarios.size());
+        assertTrue(usuarios.contains(new EmpresaUsuarioResumen(empresas.get(0).getId(), anaId, "ana", 2)));
+        assertEquals(0, statistics.getEntityLoadCount());
+        // La última página, vacía, solo lanza la consulta de empresas
+        assertEquals(2L * paginas + 1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Verifica que el filtro por número mínimo de usuarios distintos se aplique en la consulta.
+     */
+    @Test
+    public void minUsersShouldFilterEmpresas() {
+        List<EmpresaWithUsersDTO> conDos = empresaRepository.findFirstPageWithUsers(2, Limit.of(10));
+        List<EmpresaWithUsersDTO> conUno = empresaRepository.findFirstPageWithUsers(1, Limit.of(10));
+
+        assertEquals(List.of(empresas.get(0).getId()), conDos.stream().map(EmpresaWithUsersDTO::getId).toList());
+        assertEquals(2, conUno.size());
+        assertTrue(conUno.stream().allMatch(empresa -> empresa.getUsuariosAsociados().isEmpty()));
+    }
+
+    private void candidatura(User user, Empresa empresa) {
+        entityManager.persist(new Candidatura(null, user, empresa, "Cargo", new Date(),
+                EstadoCandidatura.PENDIENTE, null, new HashSet<>()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.gestion_candidaturas.gestion_candidaturas.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Inspector de sentencias de Hibernate que registra el SQL generado, para analizarlo con EXPLAIN en las pruebas.
+ * Se activa con spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    /**
+     * Descarta las sentencias registradas.
+     */
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Obtiene la primera sentencia registrada desde la última limpieza.
+     *
+     * @return SQL de la primera sentencia
+     */
+    public static String first() {
+        return STATEMENTS.get(0);
+    }
+}
@@ -13,12 +13,18 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -41,6 +47,7 @@ public class JwtAuthenticationFilterTest {
     private MockHttpServletResponse response;
     private MockFilterChain filterChain;
     private User testUser;
+    private ParsedToken parsedToken;
 
     @BeforeEach
     public void setUp(){
@@ -49,6 +56,8 @@ public class JwtAuthenticationFilterTest {
         response = new MockHttpServletResponse();
         filterChain = new MockFilterChain();
         testUser = new User(UUID.randomUUID(), "testUser", "password", "test@example.com", Role.USER);
+        parsedToken = new ParsedToken(UUID.randomUUID().toString(), "testuser", testUser.getId(), "USER", 0,
+                new Date(System.currentTimeMillis() + 60_000), List.of("ROLE_USER"));
 
         // Limpiar el contexto de seguridad antes de cada prueba
         SecurityContextHolder.clearContext();
@@ -63,9 +72,9 @@ public class JwtAuthenticationFilterTest {
         request.addHeader("Authorization", "Bearer valid_token");
 
         // Configurar comportamiento de los mocks
-        when(jwtUtil.extractUsername(anyString())).thenReturn("testuser");
+        when(jwtUtil.parseToken(anyString())).thenReturn(parsedToken);
         when(userService.loadUserByUsername("testuser")).thenReturn(testUser);
-        when(jwtUtil.validateToken(anyString(), any())).thenReturn(true);
+        when(jwtUtil.validateToken(any(ParsedToken.class), any())).thenReturn(true);
 
         // Ejecutar el filtro
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -97,9 +106,9 @@ public class JwtAuthenticationFilterTest {
         request.addHeader("Authorization", "Bearer invalid_token");
 
         // Configurar comportamiento de los mocks
-        when(jwtUtil.extractUsername(anyString())).thenReturn("testuser");
+        when(jwtUtil.parseToken(anyString())).thenReturn(parsedToken);
         when(userService.loadUserByUsername("testuser")).thenReturn(testUser);
-        when(jwtUtil.validateToken(anyString(), any())).thenReturn(false);
+        when(jwtUtil.validateToken(any(ParsedToken.class), any())).thenReturn(false);
 
         // Ejecutar el filtro
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -117,7 +126,7 @@ public class JwtAuthenticationFilterTest {
         request.addHeader("Authorization", "Bearer invalid_token");
 
         // Configurar comportamiento de los mocks para lanzar excepción
-        when(jwtUtil.extractUsername(anyString())).thenThrow(new RuntimeException("Test exception"));
+        when(jwtUtil.parseToken(anyString())).thenThrow(new RuntimeException("Test exception"));
 
         // Ejecutar el filtro (no debería lanzar excepción)
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -125,4 +134,38 @@ public class JwtAuthenticationFilterTest {
         // Verificar que no se haya extablecido la autenticación
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
+
+    /**
+     * Verifica que en el modo sin estado el principal se construya sin cargar el usuario.
+     */
+    @Test
+    public void shouldAuthenticateFromClaimsInStatelessMode() throws Exception {
+        request.addHeader("Authorization", "Bearer valid_token");
+
+        when(jwtUtil.parseToken(anyString())).thenReturn(parsedToken);
+        when(jwtUtil.isStatelessMode()).thenReturn(true);
+        when(userService.isTokenVersionCurrent(any(UUID.class), anyInt())).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertInstanceOf(AuthenticatedUser.class,
+                SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(userService, never()).loadUserByUsername(anyString());
+    }
+
+    /**
+     * Verifica que en el modo sin estado se rechace un token con una versión invalidada.
+     */
+    @Test
+    public void shouldRejectOutdatedTokenVersionInStatelessMode() throws Exception {
+        request.addHeader("Authorization", "Bearer outdated_token");
+
+        when(jwtUtil.parseToken(anyString())).thenReturn(parsedToken);
+        when(jwtUtil.isStatelessMode()).thenReturn(true);
+        when(userService.isTokenVersionCurrent(any(UUID.class), anyInt())).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
 }
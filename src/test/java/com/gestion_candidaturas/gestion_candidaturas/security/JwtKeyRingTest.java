@@ -0,0 +1,146 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el anillo de claves JWT.
+ * Verifica la persistencia de las claves entre instancias, la publicación de las claves nuevas
+ * antes de firmar con ellas y la rotación con periodo de gracia.
+ */
+public class JwtKeyRingTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final User testUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+
+    private static final char[] PASSWORD = "secret".toCharArray();
+
+    /**
+     * Crea el keystore compartido con una clave HS512, como haría keytool antes del primer arranque.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, PASSWORD);
+        keyStore.setEntry("k-" + System.currentTimeMillis() + "-inicial",
+                new KeyStore.SecretKeyEntry(Keys.secretKeyFor(SignatureAlgorithm.HS512)),
+                new KeyStore.PasswordProtection(PASSWORD));
+        try (OutputStream out = Files.newOutputStream(tempDir.resolve("jwt-keys.p12"))) {
+            keyStore.store(out, PASSWORD);
+        }
+    }
+
+    private JwtKeyRing newKeyRing(long rotationPeriodDays, long graceHours) {
+        return newKeyRing(rotationPeriodDays, graceHours, 0);
+    }
+
+    private JwtKeyRing newKeyRing(long rotationPeriodDays, long graceHours, long checkIntervalMs) {
+        JwtKeyRing keyRing = new JwtKeyRing("HS512", tempDir.resolve("jwt-keys.p12").toString(), "secret",
+                true, rotationPeriodDays, graceHours, checkIntervalMs);
+        keyRing.init();
+        return keyRing;
+    }
+
+    /**
+     * Verifica que un token emitido por un nodo sea válido en otro nodo (o tras un reinicio).
+     */
+    @Test
+    public void tokenShouldValidateAcrossInstancesSharingKeystore() {
+        JwtUtil node1 = new JwtUtil(newKeyRing(30, 24), false, 0);
+        JwtUtil node2 = new JwtUtil(newKeyRing(30, 24), false, 0);
+
+        String token = node1.generateToken(testUser);
+
+        assertEquals("testuser", node2.parseToken(token).subject());
+    }
+
+    /**
+     * Verifica que tras una rotación se firme con la nueva clave y la anterior siga validando.
+     */
+    @Test
+    public void rotatedKeyShouldKeepValidatingDuringGracePeriod() throws Exception {
+        JwtKeyRing keyRing = newKeyRing(0, 24);
+        JwtUtil jwtUtil = new JwtUtil(keyRing, false, 0);
+        String oldKid = keyRing.getSigningKey().kid();
+        String oldToken = jwtUtil.generateToken(testUser);
+
+        Thread.sleep(5);
+        keyRing.rotateIfNeeded();
+
+        assertNotEquals(oldKid, keyRing.getSigningKey().kid());
+        assertEquals("testuser", jwtUtil.parseToken(oldToken).subject());
+    }
+
+    /**
+     * Verifica que una clave retirada tras el periodo de gracia deje de validar tokens.
+     */
+    @Test
+    public void retiredKeyShouldNoLongerValidate() throws Exception {
+        JwtKeyRing keyRing = newKeyRing(0, 0);
+        JwtUtil jwtUtil = new JwtUtil(keyRing, false, 0);
+        String oldToken = jwtUtil.generateToken(testUser);
+
+        Thread.sleep(5);
+        keyRing.rotateIfNeeded();
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(oldToken));
+    }
+
+    /**
+     * Verifica que una clave recién generada solo valide tokens hasta que haya transcurrido un intervalo
+     * de recarga, de modo que ningún nodo firme con una clave que los demás aún no han cargado.
+     */
+    @Test
+    public void newKeyShouldNotSignUntilCheckIntervalElapses() throws Exception {
+        JwtKeyRing rotatingNode = newKeyRing(0, 24, 3_600_000);
+        String oldKid = rotatingNode.getSigningKey().kid();
+
+        Thread.sleep(5);
+        rotatingNode.rotateIfNeeded();
+        JwtKeyRing otherNode = newKeyRing(30, 24, 3_600_000);
+
+        assertEquals(oldKid, rotatingNode.getSigningKey().kid());
+        assertEquals(oldKid, otherNode.getSigningKey().kid());
+    }
+
+    /**
+     * Verifica que el arranque falle si el keystore configurado no existe, en lugar de generar
+     * una clave distinta en cada nodo.
+     */
+    @Test
+    public void initShouldFailWhenConfiguredKeystoreIsMissing() {
+        JwtKeyRing keyRing = new JwtKeyRing("HS512", tempDir.resolve("missing.p12").toString(), "secret",
+                false, 30, 24, 3_600_000);
+
+        assertThrows(IllegalStateException.class, keyRing::init);
+        assertFalse(Files.exists(tempDir.resolve("missing.p12")));
+    }
+
+    /**
+     * Verifica que sin ruta configurada se use una clave en memoria para un único nodo.
+     */
+    @Test
+    public void initWithoutKeystorePathShouldUseInMemoryKey() {
+        JwtKeyRing keyRing = new JwtKeyRing("HS512", "", "secret", false, 30, 24, 3_600_000);
+        keyRing.init();
+        JwtUtil jwtUtil = new JwtUtil(keyRing, false, 0);
+
+        assertEquals("testuser", jwtUtil.parseToken(jwtUtil.generateToken(testUser)).subject());
+    }
+}
@@ -0,0 +1,93 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el filtro de limitación de tasa.
+ */
+public class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(true, 1000, 4, "/api/auth/**=2/60,/**=3/60");
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Verifica que al agotar la cuota se responda 429 con Retry-After y cabeceras RateLimit,
+     * sin invocar al resto de la cadena.
+     */
+    @Test
+    public void shouldReturnTooManyRequestsWhenLimitIsExceeded() throws Exception {
+        MockHttpServletResponse first = perform("/api/auth/login", "10.0.0.1");
+        assertEquals(200, first.getStatus());
+        assertEquals("2", first.getHeader("RateLimit-Limit"));
+        assertEquals("1", first.getHeader("RateLimit-Remaining"));
+        assertEquals("2;w=60", first.getHeader("RateLimit-Policy"));
+
+        perform("/api/auth/login", "10.0.0.1");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse throttled = perform("/api/auth/login", "10.0.0.1", chain);
+
+        assertEquals(429, throttled.getStatus());
+        assertEquals("30", throttled.getHeader("Retry-After"));
+        assertEquals("0", throttled.getHeader("RateLimit-Remaining"));
+        assertTrue(throttled.getContentAsString().contains("TOO_MANY_REQUESTS"));
+        assertNull(chain.getRequest());
+
+        // Otra IP no se ve afectada
+        assertEquals(200, perform("/api/auth/login", "10.0.0.2").getStatus());
+        assertEquals(1L, filter.getStats().get("throttled"));
+        assertEquals(Map.of("/api/auth/**", 1L, "/**", 0L), filter.getStats().get("throttledByRule"));
+    }
+
+    /**
+     * Verifica que fuera de /api/auth/** las solicitudes autenticadas se limiten por usuario y no por IP.
+     */
+    @Test
+    public void shouldKeyAuthenticatedRequestsByUserId() throws Exception {
+        User user1 = new User(UUID.randomUUID(), "user1", "password", "user1@example.com", Role.USER);
+        User user2 = new User(UUID.randomUUID(), "user2", "password", "user2@example.com", Role.USER);
+
+        authenticate(user1);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, perform("/api/candidaturas", "10.0.0.1").getStatus());
+        }
+        assertEquals(429, perform("/api/candidaturas", "10.0.0.1").getStatus());
+
+        // Mismo origen, distinto usuario: bucket propio
+        authenticate(user2);
+        assertEquals(200, perform("/api/candidaturas", "10.0.0.1").getStatus());
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private MockHttpServletResponse perform(String uri, String remoteAddr) throws Exception {
+        return perform(uri, remoteAddr, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse perform(String uri, String remoteAddr, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,57 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el limitador de tasa token bucket.
+ */
+public class RateLimiterTest {
+
+    /**
+     * Verifica que se admita una ráfaga igual a la capacidad, se rechace la siguiente solicitud
+     * y se recupere un token al transcurrir el intervalo correspondiente.
+     */
+    @Test
+    public void shouldAllowBurstThenThrottleAndRefill() {
+        AtomicLong clock = new AtomicLong(0);
+        RateLimiter rateLimiter = new RateLimiter(100, 4, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            RateLimiter.Decision decision = rateLimiter.tryAcquire("user:1", 10, 60);
+            assertTrue(decision.allowed());
+            assertEquals(9 - i, decision.remaining());
+        }
+
+        RateLimiter.Decision throttled = rateLimiter.tryAcquire("user:1", 10, 60);
+        assertFalse(throttled.allowed());
+        assertEquals(6, throttled.retryAfterSeconds());
+
+        // Otra clave tiene su propio bucket
+        assertTrue(rateLimiter.tryAcquire("user:2", 10, 60).allowed());
+
+        // 10 solicitudes por minuto: un token cada 6 segundos
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertTrue(rateLimiter.tryAcquire("user:1", 10, 60).allowed());
+        assertFalse(rateLimiter.tryAcquire("user:1", 10, 60).allowed());
+    }
+
+    /**
+     * Verifica que el número de buckets en memoria esté acotado aunque haya muchas claves distintas.
+     */
+    @Test
+    public void shouldKeepBucketCountBounded() {
+        RateLimiter rateLimiter = new RateLimiter(64, 8);
+
+        for (int i = 0; i < 10_000; i++) {
+            rateLimiter.tryAcquire("ip:10.0." + (i / 256) + "." + (i % 256), 10, 60);
+        }
+
+        assertTrue(rateLimiter.size() <= 64);
+        assertTrue(rateLimiter.getEvictions() >= 10_000 - 64);
+    }
+}
@@ -0,0 +1,113 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.config.PasswordEnconderConfig;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el proveedor de autenticación con ejecutor acotado.
+ */
+public class ThrottledAuthenticationProviderTest {
+
+    /**
+     * Verifica que, con el ejecutor y la cola ocupados, un nuevo inicio de sesión se rechace de inmediato.
+     */
+    @Test
+    public void shouldRejectImmediatelyWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AuthenticationProvider blockingDelegate = new AuthenticationProvider() {
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return authentication;
+            }
+
+            @Override
+            public boolean supports(Class<?> authentication) {
+                return true;
+            }
+        };
+        ThrottledAuthenticationProvider provider = new ThrottledAuthenticationProvider(blockingDelegate, 1, 1, 10_000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // Un login en ejecución y otro en cola
+            callers.submit(() -> provider.authenticate(token("user1", "password")));
+            started.await(5, TimeUnit.SECONDS);
+            callers.submit(() -> provider.authenticate(token("user2", "password")));
+            while (provider.getStats().get("queued").equals(0)) {
+                Thread.sleep(5);
+            }
+
+            long start = System.nanoTime();
+            LoginThrottledException e = assertThrows(LoginThrottledException.class,
+                    () -> provider.authenticate(token("user3", "password")));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            assertTrue(e.getRetryAfterSeconds() > 0);
+            assertEquals(1L, provider.getStats().get("rejected"));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            provider.shutdown();
+        }
+    }
+
+    /**
+     * Verifica que un hash con un coste inferior al configurado se regenere tras un login correcto
+     * y que las credenciales incorrectas sigan rechazándose.
+     */
+    @Test
+    public void shouldUpgradeLegacyHashOnSuccessfulLogin() {
+        PasswordEncoder passwordEncoder = new PasswordEnconderConfig().passwordEncoder(5);
+        User user = new User(UUID.randomUUID(), "testuser",
+                new BCryptPasswordEncoder(4).encode("password"), "test@example.com", Role.USER);
+        AtomicReference<String> upgradedHash = new AtomicReference<>();
+
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
+        dao.setUserDetailsService(username -> user);
+        dao.setUserDetailsPasswordService((userDetails, newPassword) -> {
+            upgradedHash.set(newPassword);
+            return userDetails;
+        });
+        dao.setPasswordEncoder(passwordEncoder);
+        ThrottledAuthenticationProvider provider = new ThrottledAuthenticationProvider(dao, 1, 1, 10_000);
+        try {
+            assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("testuser", "wrong")));
+            assertNull(upgradedHash.get());
+
+            assertTrue(provider.authenticate(token("testuser", "password")).isAuthenticated());
+            assertNotNull(upgradedHash.get());
+            assertTrue(upgradedHash.get().startsWith("{bcrypt}$2a$05$"));
+            assertTrue(passwordEncoder.matches("password", upgradedHash.get()));
+            assertFalse(passwordEncoder.upgradeEncoding(upgradedHash.get()));
+        } finally {
+            provider.shutdown();
+        }
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return new UsernamePasswordAuthenticationToken(username, password);
+    }
+}
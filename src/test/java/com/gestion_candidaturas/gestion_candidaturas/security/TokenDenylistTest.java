@@ -0,0 +1,48 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la lista de tokens revocados.
+ */
+public class TokenDenylistTest {
+
+    /**
+     * Verifica que solo los tokens revocados se consideren revocados.
+     */
+    @Test
+    public void shouldReportOnlyRevokedTokens() {
+        TokenDenylist denylist = new TokenDenylist(1000, 0.01, 24);
+        String revokedJti = UUID.randomUUID().toString();
+
+        denylist.revoke(revokedJti, System.currentTimeMillis() + 60_000);
+
+        assertTrue(denylist.isRevoked(revokedJti));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(denylist.isRevoked(UUID.randomUUID().toString()));
+        }
+    }
+
+    /**
+     * Verifica que las revocaciones de tokens expirados se descarten y no ocupen memoria.
+     */
+    @Test
+    public void shouldDropExpiredRevocations() throws InterruptedException {
+        TokenDenylist denylist = new TokenDenylist(1000, 0.01, 24);
+        String jti = UUID.randomUUID().toString();
+
+        denylist.revoke(jti, System.currentTimeMillis() + 50);
+        denylist.revoke(UUID.randomUUID().toString(), System.currentTimeMillis() - 1);
+        assertEquals(1, denylist.size());
+
+        Thread.sleep(100);
+        denylist.purgeExpired();
+
+        assertFalse(denylist.isRevoked(jti));
+        assertEquals(0, denylist.size());
+    }
+}
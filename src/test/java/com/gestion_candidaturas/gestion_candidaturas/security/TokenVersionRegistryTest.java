@@ -0,0 +1,73 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para el registro de versiones de token.
+ * Verifica que la versión vigente se lea de la base de datos compartida y se cachee.
+ */
+public class TokenVersionRegistryTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UUID userId = UUID.randomUUID();
+
+    /**
+     * Verifica que un cambio de versión guardado por otro nodo invalide los tokens anteriores
+     * y que la versión se consulte una sola vez mientras no caduque la caché.
+     */
+    @Test
+    public void shouldRejectTokensOlderThanStoredVersion() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, 30);
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(2));
+
+        assertFalse(registry.isCurrent(userId, 1));
+        assertTrue(registry.isCurrent(userId, 2));
+        verify(userRepository, times(1)).findTokenVersionById(userId);
+    }
+
+    /**
+     * Verifica que al caducar la caché se vuelva a leer la versión de la base de datos.
+     */
+    @Test
+    public void shouldReloadVersionWhenCacheExpires() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, 0);
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(0), Optional.of(1));
+
+        assertTrue(registry.isCurrent(userId, 0));
+        assertFalse(registry.isCurrent(userId, 0));
+    }
+
+    /**
+     * Verifica que los tokens de un usuario eliminado dejen de ser válidos.
+     */
+    @Test
+    public void shouldRejectTokensOfMissingUser() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, 30);
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.empty());
+
+        assertFalse(registry.isCurrent(userId, 0));
+    }
+
+    /**
+     * Verifica que un cambio hecho en este nodo se aplique sin esperar a que caduque la caché.
+     */
+    @Test
+    public void localUpdateShouldApplyImmediately() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, 30);
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(0));
+        assertTrue(registry.isCurrent(userId, 0));
+
+        registry.update(userId, 1);
+
+        assertFalse(registry.isCurrent(userId, 0));
+        registry.revokeAll(userId);
+        assertFalse(registry.isCurrent(userId, 1));
+    }
+}
@@ -0,0 +1,84 @@
+package com.gestion_candidaturas.gestion_candidaturas.security;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la caché de usuarios autenticados.
+ * Verifica los límites de tamaño y tiempo de vida, la invalidación y los contadores.
+ */
+public class UserPrincipalCacheTest {
+
+    private User newUser(String username) {
+        return new User(UUID.randomUUID(), username, "password", username + "@example.com", Role.USER);
+    }
+
+    /**
+     * Verifica que un usuario almacenado se recupere y cuente como acierto.
+     */
+    @Test
+    public void shouldReturnCachedUserAndCountHit() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 300);
+        User user = newUser("testuser");
+
+        assertTrue(cache.get("testuser").isEmpty());
+        cache.put(user);
+
+        assertSame(user, cache.get("testuser").orElseThrow());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Verifica que se desaloje el usuario menos usado al superar el tamaño máximo.
+     */
+    @Test
+    public void shouldEvictLeastRecentlyUsedWhenFull() {
+        UserPrincipalCache cache = new UserPrincipalCache(2, 300);
+        cache.put(newUser("a"));
+        cache.put(newUser("b"));
+        cache.get("a");
+        cache.put(newUser("c"));
+
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("c").isPresent());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    /**
+     * Verifica que las entradas expiradas no se devuelvan.
+     */
+    @Test
+    public void shouldExpireEntries() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 0);
+        cache.put(newUser("testuser"));
+
+        assertTrue(cache.get("testuser").isEmpty());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    /**
+     * Verifica la invalidación explícita por username y por ID.
+     */
+    @Test
+    public void shouldEvictByUsernameAndById() {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 300);
+        User a = newUser("a");
+        User b = newUser("b");
+        cache.put(a);
+        cache.put(b);
+
+        cache.evict("a");
+        cache.evictById(b.getId());
+
+        assertTrue(cache.get("a").isEmpty());
+        assertTrue(cache.get("b").isEmpty());
+        assertEquals(2L, cache.getStats().get("invalidations"));
+    }
+}
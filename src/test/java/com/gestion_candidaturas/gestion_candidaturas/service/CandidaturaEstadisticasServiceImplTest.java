@@ -0,0 +1,143 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadisticasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.CandidaturaEstadistica;
+import com.gestion_candidaturas.gestion_candidaturas.model.CandidaturaEstadistica.Dimension;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.repository.CandidaturaEstadisticaRepository;
+import com.gestion_candidaturas.gestion_candidaturas.repository.EmpresaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de las estadísticas agregadas de candidaturas.
+ */
+public class CandidaturaEstadisticasServiceImplTest {
+
+    @Mock
+    private CandidaturaEstadisticaRepository estadisticaRepository;
+
+    @Mock
+    private EmpresaRepository empresaRepository;
+
+    private CandidaturaEstadisticasServiceImpl estadisticasService;
+    private final User user = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+    private final Empresa empresa = new Empresa();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        estadisticasService = new CandidaturaEstadisticasServiceImpl(estadisticaRepository, empresaRepository, true);
+        empresa.setId(UUID.randomUUID());
+        empresa.setNombre("Empresa Test");
+    }
+
+    /**
+     * Verifica que un alta sume uno en cada dimensión.
+     */
+    @Test
+    public void altaShouldIncrementEveryDimension() {
+        estadisticasService.registrarAlta(candidatura(EstadoCandidatura.PENDIENTE, "2024-03-15T10:00:00Z"));
+
+        verify(estadisticaRepository).increment(user.getId(), "ESTADO", "PENDIENTE", 1);
+        verify(estadisticaRepository).increment(user.getId(), "MES", "2024-03", 1);
+        verify(estadisticaRepository).increment(user.getId(), "EMPRESA", empresa.getId().toString(), 1);
+    }
+
+    /**
+     * Verifica que un lote de altas se agrupe en una sentencia por contador.
+     */
+    @Test
+    public void altasShouldIncrementEachCounterOnce() {
+        estadisticasService.registrarAltas(user.getId(), List.of(
+                candidatura(EstadoCandidatura.PENDIENTE, "2024-03-15T10:00:00Z").getValoresAgregados(),
+                candidatura(EstadoCandidatura.PENDIENTE, "2024-03-20T10:00:00Z").getValoresAgregados(),
+                candidatura(EstadoCandidatura.ENTREVISTA, "2024-04-01T10:00:00Z").getValoresAgregados()));
+
+        verify(estadisticaRepository).increment(user.getId(), "ESTADO", "PENDIENTE", 2);
+        verify(estadisticaRepository).increment(user.getId(), "ESTADO", "ENTREVISTA", 1);
+        verify(estadisticaRepository).increment(user.getId(), "MES", "2024-03", 2);
+        verify(estadisticaRepository).increment(user.getId(), "MES", "2024-04", 1);
+        verify(estadisticaRepository).increment(user.getId(), "EMPRESA", empresa.getId().toString(), 3);
+    }
+
+    /**
+     * Verifica que un cambio de estado solo traslade el contador de estado.
+     */
+    @Test
+    public void cambioShouldOnlyMoveChangedDimensions() {
+        Candidatura candidatura = candidatura(EstadoCandidatura.PENDIENTE, "2024-03-15T10:00:00Z");
+        candidatura.recordarValoresPersistidos();
+        candidatura.setEstado(EstadoCandidatura.ENTREVISTA);
+
+        estadisticasService.registrarCambio(candidatura);
+
+        verify(estadisticaRepository).increment(user.getId(), "ESTADO", "PENDIENTE", -1);
+        verify(estadisticaRepository).increment(user.getId(), "ESTADO", "ENTREVISTA", 1);
+        verify(estadisticaRepository, never()).increment(any(), eq("MES"), anyString(), anyLong());
+        verify(estadisticaRepository, never()).increment(any(), eq("EMPRESA"), anyString(), anyLong());
+    }
+
+    /**
+     * Verifica que la lectura combine los contadores con los nombres de las empresas.
+     */
+    @Test
+    public void getEstadisticasShouldBuildCountersFromAggregates() {
+        UUID userId = user.getId();
+        when(estadisticaRepository.findByUserId(userId)).thenReturn(List.of(
+                contador(Dimension.ESTADO, "PENDIENTE", 3),
+                contador(Dimension.ESTADO, "ENTREVISTA", 2),
+                contador(Dimension.MES, "2024-03", 5),
+                contador(Dimension.EMPRESA, empresa.getId().toString(), 5)));
+        when(empresaRepository.findAllById(any())).thenReturn(List.of(empresa));
+
+        CandidaturaEstadisticasDTO stats = estadisticasService.getEstadisticas(userId);
+
+        assertEquals(5, stats.total());
+        assertEquals(3, stats.porEstado().get(EstadoCandidatura.PENDIENTE));
+        assertEquals(0, stats.porEstado().get(EstadoCandidatura.ACEPTADA));
+        assertEquals(5, stats.porMes().get("2024-03"));
+        assertEquals("Empresa Test", stats.porEmpresa().get(0).empresaNombre());
+    }
+
+    /**
+     * Verifica que la reconciliación solo reconstruya los contadores en el nodo que la tiene activada.
+     */
+    @Test
+    public void reconciliarShouldOnlyRunWhenEnabled() {
+        new CandidaturaEstadisticasServiceImpl(estadisticaRepository, empresaRepository, false).reconciliar();
+        verify(estadisticaRepository, never()).deleteAllCounters();
+
+        estadisticasService.reconciliar();
+        verify(estadisticaRepository).deleteAllCounters();
+        verify(estadisticaRepository).rebuildByEstado();
+    }
+
+    private Candidatura candidatura(EstadoCandidatura estado, String fecha) {
+        return new Candidatura(user, empresa, "Cargo", Date.from(Instant.parse(fecha)), estado, null);
+    }
+
+    private CandidaturaEstadistica contador(Dimension dimension, String valor, long total) {
+        return new CandidaturaEstadistica(new CandidaturaEstadistica.Clave(user.getId(), dimension, valor), total);
+    }
+}
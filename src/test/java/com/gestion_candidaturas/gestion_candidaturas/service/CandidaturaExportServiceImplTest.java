@@ -0,0 +1,124 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaExportRow;
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.repository.CandidaturaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de la exportación de candidaturas.
+ */
+public class CandidaturaExportServiceImplTest {
+
+    private static final FiltroCandidaturasDTO TODAS = new FiltroCandidaturasDTO(null, null, null, null, null, null);
+
+    @Mock
+    private CandidaturaRepository candidaturaRepository;
+
+    private CandidaturaExportServiceImpl exportService;
+    private final UUID userId = UUID.randomUUID();
+    private final UUID empresaId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exportService = new CandidaturaExportServiceImpl(candidaturaRepository, new ObjectMapper());
+    }
+
+    /**
+     * Verifica que NDJSON escriba un objeto por línea y cierre el flujo del repositorio.
+     */
+    @Test
+    public void ndjsonShouldWriteOneObjectPerLineAndCloseStream() throws Exception {
+        AtomicBoolean cerrado = new AtomicBoolean();
+        when(candidaturaRepository.streamExportByUserId(userId)).thenReturn(Stream.of(
+                fila("Desarrollador Java", null), fila("Analista", "Notas")).onClose(() -> cerrado.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long total = exportService.exportarDeUsuario(userId, FormatoExportacion.NDJSON, out);
+
+        String[] lineas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, total);
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].startsWith("{") && lineas[0].contains("\"cargo\":\"Desarrollador Java\""), lineas[0]);
+        assertTrue(lineas[1].contains("\"notas\":\"Notas\""), lineas[1]);
+        assertTrue(cerrado.get());
+    }
+
+    /**
+     * Verifica que CSV incluya la cabecera, escape comillas, comas y saltos de línea y neutralice fórmulas.
+     */
+    @Test
+    public void csvShouldEscapeFieldsAndNeutralizeFormulas() throws Exception {
+        when(candidaturaRepository.streamListado(any())).thenReturn(Stream.of(
+                fila("Dev \"Senior\", Java", "línea 1\nlínea 2"), fila("=HYPERLINK(\"x\")", null)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long total = exportService.exportarTodas(TODAS, FormatoExportacion.CSV, out);
+
+        String[] lineas = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, total);
+        assertEquals("id,usuario,cargo,fecha,estado,empresa_id,empresa,notas", lineas[0]);
+        assertTrue(lineas[1].contains(",\"Dev \"\"Senior\"\", Java\",2024-03-15T10:00:00Z,PENDIENTE,"), lineas[1]);
+        assertTrue(lineas[1].endsWith(",\"línea 1\nlínea 2\""), lineas[1]);
+        assertTrue(lineas[2].contains(",\"'=HYPERLINK(\"\"x\"\")\","), lineas[2]);
+        assertTrue(lineas[2].endsWith(","), lineas[2]);
+    }
+
+    /**
+     * Verifica que los textos que empiezan por tabulador o retorno de carro también se neutralicen.
+     */
+    @Test
+    public void csvShouldNeutralizeTabAndCarriageReturnPrefixes() {
+        assertEquals("'\t=1+1", CandidaturaExportServiceImpl.campoCsv("\t=1+1"));
+        assertEquals("\"'\r=1+1\"", CandidaturaExportServiceImpl.campoCsv("\r=1+1"));
+        assertEquals("Dev", CandidaturaExportServiceImpl.campoCsv("Dev"));
+    }
+
+    /**
+     * Verifica que JSON escriba un único array válido, también cuando no hay filas.
+     */
+    @Test
+    public void jsonShouldWriteSingleArray() throws Exception {
+        when(candidaturaRepository.streamListado(any()))
+                .thenReturn(Stream.of(fila("Desarrollador Java", null), fila("Analista", "Notas")))
+                .thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long total = exportService.exportarTodas(TODAS, FormatoExportacion.JSON, out);
+        ByteArrayOutputStream vacio = new ByteArrayOutputStream();
+        exportService.exportarTodas(TODAS, FormatoExportacion.JSON, vacio);
+
+        JsonNode array = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(2, total);
+        assertTrue(array.isArray());
+        assertEquals("Desarrollador Java", array.get(0).get("cargo").asText());
+        assertEquals("Notas", array.get(1).get("notas").asText());
+        assertEquals("[]", vacio.toString(StandardCharsets.UTF_8));
+    }
+
+    private CandidaturaExportRow fila(String cargo, String notas) {
+        return new CandidaturaExportRow(UUID.randomUUID(), "testuser", cargo,
+                Date.from(Instant.parse("2024-03-15T10:00:00Z")), EstadoCandidatura.PENDIENTE,
+                empresaId, "Empresa Test", notas);
+    }
+}
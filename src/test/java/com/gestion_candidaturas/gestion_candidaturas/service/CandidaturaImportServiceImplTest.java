@@ -0,0 +1,138 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaImportResultado;
+import com.gestion_candidaturas.gestion_candidaturas.error.InvalidImportException;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Pruebas de la importación masiva de candidaturas sobre H2.
+ * Comprueban la resolución de empresas por nombre, los errores por fila y que los INSERT se envíen por lotes.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@ActiveProfiles("test")
+@Import(CandidaturaImportServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class CandidaturaImportServiceImplTest {
+
+    private static final int FILAS = 250;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CandidaturaImportService importService;
+
+    @MockitoBean
+    private CandidaturaEstadisticasService estadisticasService;
+
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    public void setUp() {
+        userId = entityManager.persist(new User(null, "testuser", "password", "test@example.com", Role.USER)).getId();
+        Empresa existente = new Empresa();
+        existente.setNombre("Empresa Existente");
+        entityManager.persist(existente);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifica que el CSV se importe por lotes, reutilizando las empresas existentes y omitiendo las filas incorrectas.
+     */
+    @Test
+    public void importarCsvShouldBatchInsertsAndReportRowErrors() throws Exception {
+        StringBuilder csv = new StringBuilder("empresa,cargo,fecha,estado,notas\r\n");
+        String[] empresas = {"empresa existente", "Nueva A", "Nueva B"};
+        for (int i = 1; i <= FILAS; i++) {
+            String estado = i == 10 ? "DESCONOCIDO" : "entrevista";
+            String empresa = i == 20 ? "" : empresas[i % empresas.length];
+            csv.append(empresa).append(",Cargo ").append(i).append(",2024-03-15,").append(estado)
+                    .append(",\"Notas, con coma\ny salto\"\r\n");
+        }
+
+        CandidaturaImportResultado resultado = importService.importarCsv(userId, new StringReader(csv.toString()));
+
+        assertEquals(FILAS, resultado.procesadas());
+        assertEquals(FILAS - 2, resultado.importadas());
+        assertEquals(2, resultado.empresasCreadas());
+        assertEquals(List.of(
+                new CandidaturaImportResultado.ErrorFila(10, "Estado no válido: DESCONOCIDO"),
+                new CandidaturaImportResultado.ErrorFila(20, "La empresa es obligatoria")), resultado.errores());
+
+        // Una consulta por empresa distinta y un lote JDBC por cada 50 inserciones, no una sentencia por fila
+        assertEquals(FILAS - 2 + 2, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 20,
+                "Sentencias preparadas: " + statistics.getPrepareStatementCount());
+        verify(estadisticasService, atMost(5)).registrarAltas(eq(userId), anyCollection());
+
+        List<Candidatura> candidaturas = entityManager.getEntityManager()
+                .createQuery("SELECT c FROM Candidatura c WHERE c.cargo = 'Cargo 3'", Candidatura.class)
+                .getResultList();
+        assertEquals(1, candidaturas.size());
+        assertEquals("Empresa Existente", candidaturas.get(0).getEmpresa().getNombre());
+        assertEquals(EstadoCandidatura.ENTREVISTA, candidaturas.get(0).getEstado());
+        assertEquals("Notas, con coma\ny salto", candidaturas.get(0).getNotas());
+    }
+
+    /**
+     * Verifica que el JSON se importe elemento a elemento y que un documento mal formado se rechace.
+     */
+    @Test
+    public void importarJsonShouldImportArrayAndRejectMalformedInput() throws Exception {
+        String json = "[{\"cargo\":\"Dev\",\"empresa\":\"Nueva A\",\"fecha\":\"2024-03-15T10:00:00Z\"},"
+                + "{\"cargo\":\"QA\",\"empresa\":\"Nueva A\",\"fecha\":\"15/03/2024\"}]";
+
+        CandidaturaImportResultado resultado = importService.importarJson(userId,
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, resultado.importadas());
+        assertEquals(1, resultado.empresasCreadas());
+        assertEquals("Fecha no válida: 15/03/2024", resultado.errores().get(0).mensaje());
+
+        assertThrows(InvalidImportException.class, () -> importService.importarJson(userId,
+                new ByteArrayInputStream("{\"cargo\":\"Dev\"}".getBytes(StandardCharsets.UTF_8))));
+    }
+}
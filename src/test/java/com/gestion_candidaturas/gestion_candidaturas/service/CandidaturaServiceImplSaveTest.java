@@ -0,0 +1,88 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Empresa;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Pruebas del guardado de candidaturas sobre H2 con un único contexto de persistencia para toda la
+ * solicitud, como con open-in-view: la entidad se carga y se modifica antes de llamar a save().
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CandidaturaServiceImpl.class)
+public class CandidaturaServiceImplSaveTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CandidaturaService candidaturaService;
+
+    @MockitoBean
+    private CandidaturaEstadisticasService estadisticasService;
+
+    private UUID candidaturaId;
+
+    @BeforeEach
+    public void setUp() {
+        User user = entityManager.persist(new User(null, "testuser", "password", "test@example.com", Role.USER));
+        Empresa empresa = new Empresa();
+        empresa.setNombre("Empresa Test");
+        entityManager.persist(empresa);
+        candidaturaId = entityManager.persist(new Candidatura(null, user, empresa, "Cargo", new Date(),
+                EstadoCandidatura.PENDIENTE, null, new HashSet<>())).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Verifica que las estadísticas se ajusten desde la fila almacenada en el momento de guardar y no
+     * desde la copia cargada al principio de la solicitud, ni desde los cambios pendientes de la entidad.
+     */
+    @Test
+    public void saveShouldAdjustStatisticsFromStoredRowNotFromLoadedSnapshot() {
+        AtomicReference<EstadoCandidatura> estadoAnterior = new AtomicReference<>();
+        doAnswer(invocation -> {
+            Candidatura candidatura = invocation.getArgument(0);
+            estadoAnterior.set(candidatura.getValoresPersistidos().estado());
+            return null;
+        }).when(estadisticasService).registrarCambio(any(Candidatura.class));
+
+        // La solicitud carga la candidatura en PENDIENTE...
+        Candidatura candidatura = candidaturaService.findById(candidaturaId).orElseThrow();
+        // ...otra solicitud la pasa a ENTREVISTA mientras tanto...
+        jdbcTemplate.update("UPDATE candidaturas SET estado = 'ENTREVISTA' WHERE id = ?", candidaturaId);
+        // ...y esta la guarda en ACEPTADA
+        candidatura.setEstado(EstadoCandidatura.ACEPTADA);
+        candidaturaService.save(candidatura);
+        entityManager.flush();
+
+        assertEquals(EstadoCandidatura.ENTREVISTA, estadoAnterior.get());
+        assertEquals("ACEPTADA", jdbcTemplate.queryForObject(
+                "SELECT estado FROM candidaturas WHERE id = ?", String.class, candidaturaId));
+    }
+}
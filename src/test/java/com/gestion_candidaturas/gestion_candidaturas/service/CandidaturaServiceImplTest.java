@@ -0,0 +1,214 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.CambioEstadoMasivoDTO;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaEstadoActual;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaResumen;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CandidaturaValoresActuales;
+import com.gestion_candidaturas.gestion_candidaturas.dto.CursorPage;
+import com.gestion_candidaturas.gestion_candidaturas.dto.FiltroCandidaturasDTO;
+import com.gestion_candidaturas.gestion_candidaturas.error.BulkLimitExceededException;
+import com.gestion_candidaturas.gestion_candidaturas.error.InvalidCursorException;
+import com.gestion_candidaturas.gestion_candidaturas.model.Candidatura;
+import com.gestion_candidaturas.gestion_candidaturas.model.EstadoCandidatura;
+import com.gestion_candidaturas.gestion_candidaturas.repository.CandidaturaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para el servicio de candidaturas.
+ * Verifica la paginación por cursor del listado del usuario y el mantenimiento de las estadísticas.
+ */
+public class CandidaturaServiceImplTest {
+
+    @Mock
+    private CandidaturaRepository candidaturaRepository;
+
+    @Mock
+    private CandidaturaEstadisticasService estadisticasService;
+
+    private CandidaturaServiceImpl candidaturaService;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        candidaturaService = new CandidaturaServiceImpl(candidaturaRepository, estadisticasService, 2, 3, 3);
+    }
+
+    /**
+     * Verifica que se pida un elemento extra para detectar la página siguiente y que el cursor
+     * apunte a la última candidatura devuelta.
+     */
+    @Test
+    public void findPageShouldReturnNextCursorWhenMoreResultsExist() {
+        List<CandidaturaResumen> rows = candidaturas(3);
+        when(candidaturaRepository.findFirstPageByUserId(userId, Limit.of(3))).thenReturn(rows);
+
+        CursorPage<CandidaturaResumen> page = candidaturaService.findPageByUserId(userId, null, null);
+
+        assertEquals(2, page.getItems().size());
+        CandidaturaCursor next = CandidaturaCursor.decode(page.getNext());
+        assertEquals(rows.get(1).id(), next.id());
+        assertEquals(rows.get(1).fecha().toInstant(), next.fecha());
+    }
+
+    /**
+     * Verifica que el cursor conserve los nanosegundos de la fecha y que el tamaño de página se acote.
+     */
+    @Test
+    public void findPageShouldContinueAfterCursorWithFullPrecision() {
+        Timestamp fecha = new Timestamp(1_700_000_000_000L);
+        fecha.setNanos(123_456_789);
+        UUID lastId = UUID.randomUUID();
+        String cursor = CandidaturaCursor.after(fecha, lastId).encode();
+        when(candidaturaRepository.findPageByUserIdAfter(eq(userId), eq(fecha), eq(lastId), eq(Limit.of(4))))
+                .thenReturn(List.of());
+
+        CursorPage<CandidaturaResumen> page = candidaturaService.findPageByUserId(userId, cursor, 1000);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+        verify(candidaturaRepository).findPageByUserIdAfter(userId, fecha, lastId, Limit.of(4));
+    }
+
+    /**
+     * Verifica que un cursor manipulado se rechace.
+     */
+    @Test
+    public void findPageShouldRejectInvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> candidaturaService.findPageByUserId(userId, "no-es-un-cursor", null));
+    }
+
+    /**
+     * Verifica que una candidatura nueva se sume a las estadísticas y una existente se traslade
+     * desde los valores leídos de su fila bloqueada.
+     */
+    @Test
+    public void saveShouldRegisterNewAndChangedCandidaturas() {
+        Candidatura nueva = new Candidatura();
+        when(candidaturaRepository.save(nueva)).thenReturn(nueva);
+        candidaturaService.save(nueva);
+        verify(estadisticasService).registrarAlta(nueva);
+        verify(candidaturaRepository, never()).lockValoresById(any());
+
+        Candidatura existente = new Candidatura();
+        existente.setId(UUID.randomUUID());
+        // La entidad se cargó en PENDIENTE, pero otra solicitud ya la ha pasado a ENTREVISTA
+        existente.setEstado(EstadoCandidatura.PENDIENTE);
+        existente.recordarValoresPersistidos();
+        existente.setEstado(EstadoCandidatura.ACEPTADA);
+        when(candidaturaRepository.lockValoresById(existente.getId())).thenReturn(Optional.of(
+                new CandidaturaValoresActuales(EstadoCandidatura.ENTREVISTA, null, null)));
+        when(candidaturaRepository.save(existente)).thenReturn(existente);
+        candidaturaService.save(existente);
+        verify(estadisticasService).registrarCambio(existente);
+        assertEquals(EstadoCandidatura.ENTREVISTA, existente.getValoresPersistidos().estado());
+    }
+
+    /**
+     * Verifica que una candidatura eliminada se reste de las estadísticas.
+     */
+    @Test
+    public void deleteShouldRegisterBaja() {
+        Candidatura candidatura = new Candidatura();
+        candidatura.setId(UUID.randomUUID());
+        when(candidaturaRepository.findById(candidatura.getId())).thenReturn(Optional.of(candidatura));
+
+        assertTrue(candidaturaService.deleteById(candidatura.getId()));
+
+        verify(estadisticasService).registrarBaja(candidatura);
+        verify(candidaturaRepository).delete(candidatura);
+    }
+
+    /**
+     * Verifica que el cambio de estado individual actualice sin cargar la entidad y solo cuando el estado cambia.
+     */
+    @Test
+    public void updateEstadoShouldUpdateWithoutLoadingEntity() {
+        UUID id = UUID.randomUUID();
+        when(candidaturaRepository.lockEstadoByIdAndUserId(id, userId))
+                .thenReturn(Optional.of(new CandidaturaEstadoActual(id, userId, EstadoCandidatura.PENDIENTE)));
+        when(candidaturaRepository.updateEstadoDeUsuario(userId, List.of(id), EstadoCandidatura.ENTREVISTA))
+                .thenReturn(1);
+
+        assertEquals(EstadoCandidatura.ENTREVISTA,
+                candidaturaService.updateEstado(id, userId, EstadoCandidatura.ENTREVISTA).orElseThrow().estado());
+        assertTrue(candidaturaService.updateEstado(id, userId, EstadoCandidatura.PENDIENTE).isPresent());
+
+        verify(candidaturaRepository, never()).findById(any());
+        verify(candidaturaRepository, never()).updateEstadoDeUsuario(userId, List.of(id), EstadoCandidatura.PENDIENTE);
+        verify(estadisticasService).registrarCambiosEstado(userId,
+                List.of(EstadoCandidatura.PENDIENTE), EstadoCandidatura.ENTREVISTA);
+    }
+
+    /**
+     * Verifica que el cambio masivo actualice con el propietario en el UPDATE y traslade los contadores
+     * desde los estados anteriores.
+     */
+    @Test
+    public void updateEstadoMasivoShouldUpdateOwnRowsAndMoveCounters() {
+        UUID id1 = UUID.randomUUID();
+        UUID id2 = UUID.randomUUID();
+        UUID ajena = UUID.randomUUID();
+        when(candidaturaRepository.lockEstadosParaCambio(any(), eq(EstadoCandidatura.ARCHIVADA), eq(4)))
+                .thenReturn(List.of(
+                        new CandidaturaEstadoActual(id1, userId, EstadoCandidatura.PENDIENTE),
+                        new CandidaturaEstadoActual(id2, userId, null)));
+
+        List<UUID> actualizadas = candidaturaService.updateEstadoMasivo(userId,
+                new CambioEstadoMasivoDTO(EstadoCandidatura.ARCHIVADA, List.of(id1, id2, ajena), null));
+
+        assertEquals(List.of(id1, id2), actualizadas);
+        verify(candidaturaRepository).updateEstadoDeUsuario(userId, List.of(id1, id2), EstadoCandidatura.ARCHIVADA);
+        verify(candidaturaRepository, never()).updateEstado(any(), any());
+        verify(estadisticasService).registrarCambiosEstado(userId,
+                Arrays.asList(EstadoCandidatura.PENDIENTE, null), EstadoCandidatura.ARCHIVADA);
+    }
+
+    /**
+     * Verifica que un cambio masivo que supera el límite se rechace sin actualizar nada.
+     */
+    @Test
+    public void updateEstadoMasivoShouldRejectTooManyRows() {
+        List<CandidaturaEstadoActual> filas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            filas.add(new CandidaturaEstadoActual(UUID.randomUUID(), userId, EstadoCandidatura.PENDIENTE));
+        }
+        when(candidaturaRepository.lockEstadosParaCambio(any(), any(), anyInt())).thenReturn(filas);
+
+        CambioEstadoMasivoDTO cambio = new CambioEstadoMasivoDTO(EstadoCandidatura.RECHAZADA, null,
+                new FiltroCandidaturasDTO(EstadoCandidatura.PENDIENTE, null, null, null, null, null));
+        assertThrows(BulkLimitExceededException.class, () -> candidaturaService.updateEstadoMasivoAdmin(cambio));
+        verify(candidaturaRepository, never()).updateEstado(any(), any());
+    }
+
+    private List<CandidaturaResumen> candidaturas(int count) {
+        List<CandidaturaResumen> candidaturas = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candidaturas.add(new CandidaturaResumen(UUID.randomUUID(), "Cargo " + i,
+                    new Date(1_700_000_000_000L - i * 86_400_000L), EstadoCandidatura.PENDIENTE,
+                    UUID.randomUUID(), "Empresa " + i, 0));
+        }
+        return candidaturas;
+    }
+}
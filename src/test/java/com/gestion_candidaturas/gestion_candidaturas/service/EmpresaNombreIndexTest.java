@@ -0,0 +1,156 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.dto.EmpresaSugerencia;
+import com.gestion_candidaturas.gestion_candidaturas.repository.EmpresaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias del índice en memoria de nombres de empresa.
+ */
+public class EmpresaNombreIndexTest {
+
+    @Mock
+    private EmpresaRepository empresaRepository;
+
+    private EmpresaNombreIndex index;
+    private final UUID santander = UUID.randomUUID();
+    private final UUID sanitas = UUID.randomUUID();
+    private final UUID telefonica = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(empresaRepository.findSugerencias()).thenReturn(List.of(
+                new EmpresaSugerencia(santander, "Banco Santander", 3),
+                new EmpresaSugerencia(sanitas, "Sanitas", 10),
+                new EmpresaSugerencia(telefonica, "Telefónica, S.A.", 7)));
+        index = new EmpresaNombreIndex(empresaRepository);
+        index.cargar();
+    }
+
+    /**
+     * Verifica que la normalización ignore acentos, mayúsculas y signos de puntuación.
+     */
+    @Test
+    public void normalizarShouldFoldAccentsCaseAndPunctuation() {
+        assertEquals("telefonica s a", EmpresaNombreIndex.normalizar("  Telefónica, S.A. "));
+        assertEquals("", EmpresaNombreIndex.normalizar("-- "));
+    }
+
+    /**
+     * Verifica que el prefijo del nombre vaya antes que el de una palabra interior,
+     * y que a igual coincidencia se ordene por número de usos.
+     */
+    @Test
+    public void sugerirShouldRankPrefixBeforeWordAndThenByUsage() {
+        assertEquals(List.of(sanitas, santander), ids(index.sugerir("san", 10)));
+        assertEquals(List.of(telefonica), ids(index.sugerir("TELEFONICA", 10)));
+        assertEquals(List.of(santander), ids(index.sugerir("santander", 10)));
+    }
+
+    /**
+     * Verifica que una consulta con una errata sugiera la empresa por trigramas.
+     */
+    @Test
+    public void sugerirShouldTolerateTypos() {
+        assertEquals(List.of(santander), ids(index.sugerir("santnder", 10)));
+        assertTrue(index.sugerir("xyzw", 10).isEmpty());
+    }
+
+    /**
+     * Verifica que los cambios de nombre y las bajas se apliquen al índice sin recargarlo.
+     */
+    @Test
+    public void actualizarAndEliminarShouldUpdateIndexIncrementally() {
+        index.actualizar(sanitas, "Sanitas Seguros");
+        index.eliminar(santander);
+        UUID nueva = UUID.randomUUID();
+        index.actualizar(nueva, "Seguros Ocaso");
+
+        List<EmpresaSugerencia> seguros = index.sugerir("seguros", 10);
+        assertEquals(List.of(nueva, sanitas), ids(seguros));
+        assertEquals(10, seguros.get(1).usos());
+        assertTrue(index.sugerir("santander", 10).isEmpty());
+    }
+
+    /**
+     * Verifica que las consultas de una o dos letras sobre muchas empresas devuelvan lo mismo que recorrer
+     * todas las empresas: las listas de los primeros niveles del trie no pueden dejar fuera a ninguna mejor,
+     * tampoco después de eliminar las empresas más usadas.
+     */
+    @Test
+    public void sugerirShortQueriesOverLargeIndexShouldMatchFullScan() {
+        String[] silabas = {"sa", "se", "ba", "co", "ma", "te", "ri", "lo", "nu", "di"};
+        Random random = new Random(42);
+        List<EmpresaSugerencia> empresas = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder nombre = new StringBuilder();
+            int palabras = 1 + random.nextInt(3);
+            for (int p = 0; p < palabras; p++) {
+                nombre.append(p > 0 ? " " : "");
+                for (int k = 0; k < 2 + random.nextInt(3); k++) {
+                    nombre.append(silabas[random.nextInt(silabas.length)]);
+                }
+            }
+            // Usos distintos para que el orden esperado no dependa de empates
+            empresas.add(new EmpresaSugerencia(UUID.randomUUID(), nombre.toString(), i));
+        }
+        when(empresaRepository.findSugerencias()).thenReturn(empresas);
+        index.cargar();
+
+        List<String> consultas = List.of("s", "b", "sa", "co", "di", "x");
+        for (String consulta : consultas) {
+            assertEquals(ids(esperadas(empresas, consulta, 10)), ids(index.sugerir(consulta, 10)), consulta);
+        }
+
+        // Al eliminar las más usadas, las listas de los nodos se recalculan con las siguientes
+        List<EmpresaSugerencia> restantes = new ArrayList<>(empresas);
+        for (EmpresaSugerencia empresa : esperadas(empresas, "s", 10)) {
+            index.eliminar(empresa.id());
+            restantes.remove(empresa);
+        }
+        for (String consulta : consultas) {
+            assertEquals(ids(esperadas(restantes, consulta, 10)), ids(index.sugerir(consulta, 10)), consulta);
+        }
+    }
+
+    // Recorrido completo con la misma ordenación que el índice: nombre exacto, prefijo, palabra y usos
+    private static List<EmpresaSugerencia> esperadas(List<EmpresaSugerencia> empresas, String consulta, int limit) {
+        Comparator<EmpresaSugerencia> orden = Comparator
+                .comparingInt((EmpresaSugerencia e) -> calidad(EmpresaNombreIndex.normalizar(e.nombre()), consulta))
+                .reversed()
+                .thenComparing(Comparator.comparingLong(EmpresaSugerencia::usos).reversed());
+        return empresas.stream()
+                .filter(e -> calidad(EmpresaNombreIndex.normalizar(e.nombre()), consulta) > 0)
+                .sorted(orden)
+                .limit(limit)
+                .toList();
+    }
+
+    private static int calidad(String normalizado, String consulta) {
+        if (normalizado.equals(consulta)) {
+            return 3;
+        }
+        if (normalizado.startsWith(consulta)) {
+            return 2;
+        }
+        return normalizado.contains(" " + consulta) ? 1 : 0;
+    }
+
+    private static List<UUID> ids(List<EmpresaSugerencia> sugerencias) {
+        return sugerencias.stream().map(EmpresaSugerencia::id).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.model.RefreshToken;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para el servicio de refresh tokens.
+ * Verifica la rotación y la detección de reutilización.
+ */
+public class RefreshTokenServiceImplTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenServiceImpl refreshTokenService;
+    private User testUser;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, 14);
+        testUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Verifica que al emitir un token solo se almacene su hash.
+     */
+    @Test
+    public void issueShouldStoreOnlyTheHash() {
+        String token = refreshTokenService.issue(testUser);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertNotEquals(token, captor.getValue().getTokenHash());
+        assertEquals(64, captor.getValue().getTokenHash().length());
+        assertSame(testUser, captor.getValue().getUser());
+    }
+
+    /**
+     * Verifica que un token válido se rote por uno nuevo de la misma familia.
+     */
+    @Test
+    public void rotateShouldIssueNewTokenInSameFamily() {
+        RefreshToken stored = storedToken(false);
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(stored.getId())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("refresh");
+
+        assertSame(testUser, rotation.user());
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(stored.getFamilyId(), captor.getValue().getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+
+    /**
+     * Verifica que reutilizar un token ya canjeado revoque toda la familia.
+     */
+    @Test
+    public void rotateShouldRevokeFamilyWhenTokenIsReused() {
+        RefreshToken stored = storedToken(true);
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(stored));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("refresh"));
+        verify(refreshTokenRepository).revokeFamily(stored.getFamilyId());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    /**
+     * Verifica que, de dos canjes concurrentes del mismo token, el perdedor revoque la familia.
+     */
+    @Test
+    public void rotateShouldRevokeFamilyWhenConcurrentRotationWins() {
+        RefreshToken stored = storedToken(false);
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(stored.getId())).thenReturn(0);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("refresh"));
+        verify(refreshTokenRepository).revokeFamily(stored.getFamilyId());
+    }
+
+    private RefreshToken storedToken(boolean used) {
+        RefreshToken token = new RefreshToken("hash", testUser, UUID.randomUUID(), LocalDateTime.now().plusDays(1));
+        token.setId(UUID.randomUUID());
+        token.setUsed(used);
+        return token;
+    }
+}
@@ -0,0 +1,135 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.error.DuplicateResourceException;
+import com.gestion_candidaturas.gestion_candidaturas.repository.UserRepository;
+import com.gestion_candidaturas.gestion_candidaturas.security.TokenVersionRegistry;
+import com.gestion_candidaturas.gestion_candidaturas.security.UserPrincipalCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas del registro concurrente de usuarios sobre H2.
+ * Cada registro se confirma en su propia transacción, de modo que la unicidad la decide
+ * la restricción real de la tabla users y no una simulación.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserService.class, UserPrincipalCache.class, TokenVersionRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserServiceRegistroConcurrenteTest {
+
+    private static final int HILOS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setUp() {
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded_password");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Sin la transacción de la prueba no hay rollback: limpiar lo confirmado
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Verifica que registros concurrentes con el mismo username creen una única fila:
+     * el resto falla por la restricción de unicidad y recibe el mensaje de username en uso.
+     */
+    @Test
+    public void concurrentDuplicateUsernamesShouldCreateOnlyOneUser() throws Exception {
+        List<DuplicateResourceException> errores = registrarEnParalelo(i -> "sameuser", i -> "user" + i + "@example.com");
+
+        assertEquals(1, userRepository.count());
+        assertEquals(HILOS - 1, errores.size());
+        for (DuplicateResourceException e : errores) {
+            assertEquals("username", e.getField());
+            assertEquals("El nombre de usuario ya está en uso", e.getMessage());
+        }
+    }
+
+    /**
+     * Verifica que registros concurrentes con el mismo email creen una única fila
+     * y que el resto reciba el mensaje de email en uso.
+     */
+    @Test
+    public void concurrentDuplicateEmailsShouldCreateOnlyOneUser() throws Exception {
+        List<DuplicateResourceException> errores = registrarEnParalelo(i -> "user" + i, i -> "same@example.com");
+
+        assertEquals(1, userRepository.count());
+        assertEquals(HILOS - 1, errores.size());
+        for (DuplicateResourceException e : errores) {
+            assertEquals("email", e.getField());
+            assertEquals("el email ya está en uso", e.getMessage());
+        }
+    }
+
+    /**
+     * Lanza los registros a la vez desde varios hilos y devuelve los errores de duplicado.
+     */
+    private List<DuplicateResourceException> registrarEnParalelo(IntFunction<String> username,
+                                                                 IntFunction<String> email)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger creados = new AtomicInteger();
+        List<DuplicateResourceException> errores = new ArrayList<>();
+        List<Future<?>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < HILOS; i++) {
+                int n = i;
+                resultados.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.register(username.apply(n), email.apply(n), "password123", "USER");
+                        creados.incrementAndGet();
+                    } catch (DuplicateResourceException e) {
+                        synchronized (errores) {
+                            errores.add(e);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> resultado : resultados) {
+                resultado.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, creados.get());
+        return errores;
+    }
+}
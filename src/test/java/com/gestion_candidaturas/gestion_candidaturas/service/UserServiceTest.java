@@ -0,0 +1,134 @@
+package com.gestion_candidaturas.gestion_candidaturas.service;
+
+import com.gestion_candidaturas.gestion_candidaturas.error.DuplicateResourceException;
+import com.gestion_candidaturas.gestion_candidaturas.model.Role;
+import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.repository.UserRepository;
+import com.gestion_candidaturas.gestion_candidaturas.security.TokenVersionRegistry;
+import com.gestion_candidaturas.gestion_candidaturas.security.UserPrincipalCache;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para el servicio de usuarios.
+ * Verifica el número de consultas a la tabla users al resolver el usuario actual y al registrar.
+ */
+public class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private UserService userService;
+    private User testUser;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userService = new UserService(userRepository, passwordEncoder,
+                new UserPrincipalCache(10, 300), new TokenVersionRegistry(userRepository, 100, 30));
+        testUser = new User(UUID.randomUUID(), "testuser", "password", "test@example.com", Role.USER);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Verifica que un GET autenticado con la caché caliente no consulte la tabla users:
+     * ni el filtro (caché de principales) ni el controlador (principal reutilizado).
+     */
+    @Test
+    public void warmAuthenticatedRequestShouldNotQueryUsers() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Primera solicitud: calienta la caché
+        userService.loadUserByUsername("testuser");
+
+        // Segunda solicitud: filtro + varias llamadas del controlador
+        User principal = (User) userService.loadUserByUsername("testuser");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        assertSame(principal, userService.getCurrentUser());
+        assertSame(principal, userService.getCurrentUser());
+
+        // Una única consulta en total, la de la primera solicitud
+        verify(userRepository, times(1)).findByUsername(anyString());
+    }
+
+    /**
+     * Verifica que, si el principal no es un usuario, se consulte la BD una sola vez por solicitud.
+     */
+    @Test
+    public void getCurrentUserShouldQueryOncePerRequestWhenPrincipalIsNotUser() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("testuser", null, testUser.getAuthorities()));
+
+        userService.getCurrentUser();
+        userService.getCurrentUser();
+        userService.getCurrentUser();
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    /**
+     * Verifica que el principal cargado por el filtro se reutilice sin consultar la BD.
+     */
+    @Test
+    public void getCurrentUserShouldReusePrincipal() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(testUser, null, testUser.getAuthorities()));
+
+        assertSame(testUser, userService.getCurrentUser());
+
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    /**
+     * Verifica que, con nombres de restricción heredados, el campo duplicado se averigüe tras el fallo.
+     */
+    @Test
+    public void registerShouldDetectDuplicateEmailWithLegacyConstraintName() {
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded_password");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), "UK6dotkott2kjsp8vw4d0m25fb7")));
+        when(userRepository.existsByUsername("newuser")).thenReturn(false);
+
+        DuplicateResourceException e = assertThrows(DuplicateResourceException.class,
+                () -> userService.register("newuser", "taken@example.com", "password123", "USER"));
+
+        assertEquals("email", e.getField());
+        assertEquals("el email ya está en uso", e.getMessage());
+    }
+}
@@ -3,11 +3,15 @@ package com.gestion_candidaturas.gestion_candidaturas.util;
 
 import com.gestion_candidaturas.gestion_candidaturas.model.Role;
 import com.gestion_candidaturas.gestion_candidaturas.model.User;
+import com.gestion_candidaturas.gestion_candidaturas.security.JwtKeyRing;
 import com.gestion_candidaturas.gestion_candidaturas.security.JwtUtil;
+import com.gestion_candidaturas.gestion_candidaturas.security.ParsedToken;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -99,4 +103,90 @@ public class JwtUtilTest {
 
         assertFalse(isValid);
     }
+
+    /**
+     * Verifica que el token se pueda verificar una sola vez y obtener todo su contenido.
+     */
+    @Test
+    public void shouldParseTokenOnce() {
+        String token = jwtUtil.generateToken(testUser);
+
+        ParsedToken parsedToken = jwtUtil.parseToken(token);
+
+        assertEquals("testuser", parsedToken.subject());
+        assertNotNull(parsedToken.id());
+        assertTrue(parsedToken.expiration().after(new Date()));
+        assertEquals(List.of("ROLE_USER"), parsedToken.authorities());
+        assertTrue(jwtUtil.validateToken(parsedToken, testUser));
+    }
+
+    /**
+     * Verifica que un token manipulado sea rechazado al parsearlo.
+     */
+    @Test
+    public void shouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken(testUser);
+        String otherToken = jwtUtil.generateToken(new User(
+                UUID.randomUUID(), "anotheruser", "password", "another@example.com", Role.ADMIN));
+
+        // Sustituir el payload por el de otro token manteniendo la firma original
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + otherToken.split("\\.")[1] + "." + parts[2];
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(tampered));
+    }
+
+    /**
+     * Verifica que un token deje de ser válido cuando cambia el rol del usuario.
+     */
+    @Test
+    public void shouldNotValidateTokenAfterRoleChange() {
+        String token = jwtUtil.generateToken(testUser);
+
+        testUser.setRole(Role.ADMIN);
+
+        assertFalse(jwtUtil.validateToken(token, testUser));
+    }
+
+    /**
+     * Verifica que el modo sin estado emita los claims compactos.
+     */
+    @Test
+    public void shouldEmitCompactClaimsInStatelessMode() {
+        JwtUtil statelessJwtUtil = new JwtUtil(true, 0);
+        ParsedToken parsedToken = statelessJwtUtil.parseToken(statelessJwtUtil.generateToken(testUser));
+
+        assertTrue(parsedToken.hasCompactClaims());
+        assertEquals(testUser.getId(), parsedToken.userId());
+        assertEquals("USER", parsedToken.role());
+        assertEquals(List.of("ROLE_USER"), parsedToken.authorities());
+    }
+
+    /**
+     * Verifica que se rechacen los tokens emitidos en una época anterior a la configurada.
+     */
+    @Test
+    public void shouldRejectTokenFromPreviousEpoch() {
+        JwtKeyRing keyRing = JwtKeyRing.ephemeral();
+        String oldEpochToken = new JwtUtil(keyRing, false, 0).generateToken(testUser);
+
+        JwtUtil newEpochJwtUtil = new JwtUtil(keyRing, false, 1);
+
+        assertThrows(JwtException.class, () -> newEpochJwtUtil.parseToken(oldEpochToken));
+        assertEquals("testuser", newEpochJwtUtil.parseToken(newEpochJwtUtil.generateToken(testUser)).subject());
+    }
+
+    /**
+     * Verifica que un token revocado deje de ser aceptado sin afectar a otros tokens del usuario.
+     */
+    @Test
+    public void shouldRejectRevokedToken() {
+        String revokedToken = jwtUtil.generateToken(testUser);
+        String otherToken = jwtUtil.generateToken(testUser);
+
+        jwtUtil.revokeToken(revokedToken);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(revokedToken));
+        assertEquals("testuser", jwtUtil.parseToken(otherToken).subject());
+    }
 }